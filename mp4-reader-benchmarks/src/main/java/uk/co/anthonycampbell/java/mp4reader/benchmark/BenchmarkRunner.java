@@ -0,0 +1,66 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, reporting throughput along with the allocation profile of the
+ * GC profiler, gc.alloc.rate.norm being the bytes allocated per operation. The JMH
+ * command line options are accepted, for example a benchmark name pattern.
+ * 
+ * The benchmarks are a standalone project, not a module of the reader build, as they
+ * need the reader jar and its test jar (for the MP4 generator) installed first. A plain
+ * build of the reader never compiles them, so build them in two steps:
+ * 
+ * <pre>
+ * mvn install
+ * cd mp4-reader-benchmarks
+ * mvn package
+ * java -jar target/benchmarks.jar
+ * </pre>
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public final class BenchmarkRunner {
+	
+	/**
+	 * Constructor.
+	 */
+	private BenchmarkRunner() {
+		// Entry point only
+	}
+	
+	/**
+	 * Run the benchmarks.
+	 * 
+	 * @param args - JMH command line options.
+	 * @throws CommandLineOptionException - Invalid command line options.
+	 * @throws RunnerException - Unable to run the benchmarks.
+	 */
+	public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,68 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Benchmark of the MP4 time stamp conversions and the item list date parse.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateBenchmark {
+	
+	// Benchmark properties, not constants so they are not folded away
+	public long mp4Time = 3393561600L;
+	public BigInteger bigMp4Time = BigInteger.valueOf(3393561600L);
+	public String itemDate = "2011-07-22T07:00:00Z";
+	
+	@Benchmark
+	public Date generateDate() {
+		return Util.generateDate(this.bigMp4Time);
+	}
+	
+	@Benchmark
+	public Instant toInstant() {
+		return Util.toInstant(this.mp4Time);
+	}
+	
+	@Benchmark
+	public Instant parseDate() {
+		return Util.parseDate(this.itemDate);
+	}
+}
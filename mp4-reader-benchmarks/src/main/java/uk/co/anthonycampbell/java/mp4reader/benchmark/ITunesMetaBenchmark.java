@@ -0,0 +1,140 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Benchmark of the iTunes meta property list (iTunMOVI) parse, comparing the
+ * streaming parser of {@link Util#parseITunesMeta(String)} with the document
+ * parse it replaced.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ITunesMetaBenchmark {
+	
+	// Number of people listed under each role
+	@Param({ "4", "64" })
+	public int people;
+	
+	// Benchmark properties
+	private String xml;
+	
+	/**
+	 * Build the property list, laid out the way iTunes writes it.
+	 */
+	@Setup
+	public void setUp() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		builder.append("<!DOCTYPE plist PUBLIC \"-//Apple//DTD PLIST 1.0//EN\" ");
+		builder.append("\"http://www.apple.com/DTDs/PropertyList-1.0.dtd\">\n");
+		builder.append("<plist version=\"1.0\">\n<dict>\n");
+		
+		for (final String role : new String[] { "cast", "directors", "producers", "screenwriters" }) {
+			builder.append("\t<key>").append(role).append("</key>\n\t<array>\n");
+			for (int i = 0; i < this.people; ++i) {
+				builder.append("\t\t<dict>\n\t\t\t<key>name</key>\n\t\t\t<string>");
+				builder.append(role).append(' ').append(i).append("</string>\n\t\t</dict>\n");
+			}
+			builder.append("\t</array>\n");
+		}
+		
+		builder.append("\t<key>studio</key>\n\t<string>Studio</string>\n");
+		builder.append("</dict>\n</plist>\n");
+		
+		this.xml = builder.toString();
+	}
+	
+	@Benchmark
+	public Map<String, List<String>> stream() {
+		return Util.parseITunesMeta(this.xml);
+	}
+	
+	@Benchmark
+	public Map<String, List<String>> document() throws Exception {
+		return parseDocument(this.xml);
+	}
+	
+	/**
+	 * The document parse replaced by the streaming parser, a new factory per call and
+	 * a walk of the whole document. The external DTD is not loaded so the benchmark
+	 * does not depend on the network.
+	 * 
+	 * @param xml - the XML to parse.
+	 * @return map of the top level dictionary keys to their values.
+	 * @throws Exception - Unable to parse the XML.
+	 */
+	private static Map<String, List<String>> parseDocument(final String xml) throws Exception {
+		final Map<String, List<String>> iTunesMap = new HashMap<>();
+		
+		final InputSource inputSource = new InputSource();
+		inputSource.setCharacterStream(new StringReader(xml));
+		
+		final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		final DocumentBuilder builder = factory.newDocumentBuilder();
+		final Document document = builder.parse(inputSource);
+		
+		final NodeList plists = document.getElementsByTagName("plist");
+		for (int i = 0; i < plists.getLength(); ++i) {
+			final NodeList nodes = ((Element) plists.item(i)).getChildNodes();
+			
+			for (int j = 0; j < nodes.getLength(); ++j) {
+				final Node node = nodes.item(j);
+				
+				if (node.getNodeType() == Node.ELEMENT_NODE && "dict".equals(node.getNodeName())) {
+					iTunesMap.putAll(Util.parseDictionary(node));
+				}
+			}
+		}
+		
+		return iTunesMap;
+	}
+}
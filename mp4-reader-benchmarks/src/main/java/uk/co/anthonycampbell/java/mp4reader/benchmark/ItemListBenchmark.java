@@ -0,0 +1,78 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.co.anthonycampbell.java.mp4reader.box.item.IlstBox;
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+
+/**
+ * Benchmark of the item list (ilst) parse: the common text items and an iTunes movie
+ * property list (iTunMOVI), read from memory.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemListBenchmark {
+	
+	// Number of people listed under each role of the property list
+	@Param({ "4", "64" })
+	public int people;
+	
+	// Benchmark properties
+	private ByteBuffer itemList;
+	
+	/**
+	 * Build the item list.
+	 * 
+	 * @throws IOException - Unable to build the item list.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		final MP4Generator generator = new MP4Generator();
+		generator.setPeople(this.people);
+		
+		this.itemList = ByteBuffer.wrap(generator.itemListBox());
+	}
+	
+	@Benchmark
+	public IlstBox itemList() throws IOException {
+		return (IlstBox) new MP4Reader(new BufferSource(this.itemList.duplicate())).nextBox();
+	}
+}
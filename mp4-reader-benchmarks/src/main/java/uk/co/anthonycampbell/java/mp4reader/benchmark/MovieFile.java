@@ -0,0 +1,69 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+
+/**
+ * Writes the movies parsed by the benchmarks to temporary files.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public final class MovieFile {
+	
+	/**
+	 * Constructor.
+	 */
+	private MovieFile() {
+		// Static helpers only
+	}
+	
+	/**
+	 * Write a movie with the provided number of samples to a temporary file, deleted
+	 * when the JVM exits.
+	 * 
+	 * @param samples - the number of samples in the track.
+	 * @return the movie file.
+	 * @throws IOException - Unable to write the movie file.
+	 */
+	public static File write(final int samples) throws IOException {
+		final MP4Generator generator = new MP4Generator();
+		generator.setSamples(samples);
+		
+		return write(generator);
+	}
+	
+	/**
+	 * Write the movie of the provided generator to a temporary file, deleted when the
+	 * JVM exits.
+	 * 
+	 * @param generator - the movie generator.
+	 * @return the movie file.
+	 * @throws IOException - Unable to write the movie file.
+	 */
+	public static File write(final MP4Generator generator) throws IOException {
+		final File file = File.createTempFile("mp4-reader-benchmark", ".m4v");
+		file.deleteOnExit();
+		
+		generator.write(file);
+		
+		return file;
+	}
+}
@@ -0,0 +1,113 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+
+/**
+ * Benchmark of {@link MP4Reader#nextBox()} dispatch: small known and unknown boxes
+ * read from memory, so the box type lookup and construction dominate. Scores are
+ * per box, so with the GC profiler gc.alloc.rate.norm of nextFreeBox is the header
+ * path allocation of a single box.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NextBoxBenchmark {
+	
+	// Number of boxes read per invocation
+	private static final int BOXES = 10000;
+	
+	// Benchmark properties
+	private ByteBuffer boxes;
+	private ByteBuffer freeBoxes;
+	
+	/**
+	 * Build the boxes, cycling through file type, free space, skip and unknown boxes.
+	 * 
+	 * @throws IOException - Unable to build the boxes.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		final byte[][] cycle = new byte[][] {
+				MP4Generator.box("ftyp", new byte[] { 'M', '4', 'V', ' ', 0, 0, 2, 0, 'i', 's', 'o', 'm' }),
+				MP4Generator.box("free", new byte[8]),
+				MP4Generator.box("skip", new byte[8]),
+				MP4Generator.box("abcd", new byte[8]) };
+		
+		final byte[][] boxes = new byte[BOXES][];
+		for (int i = 0; i < BOXES; ++i) {
+			boxes[i] = cycle[i % cycle.length];
+		}
+		
+		this.boxes = ByteBuffer.wrap(MP4Generator.concat(boxes));
+		
+		final byte[][] freeBoxes = new byte[BOXES][];
+		for (int i = 0; i < BOXES; ++i) {
+			freeBoxes[i] = cycle[1];
+		}
+		
+		this.freeBoxes = ByteBuffer.wrap(MP4Generator.concat(freeBoxes));
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BOXES)
+	public void nextBox(final Blackhole blackhole) throws IOException {
+		final MP4Reader reader = new MP4Reader(new BufferSource(this.boxes.duplicate()));
+		
+		Box box;
+		while ((box = reader.nextBox()) != null) {
+			blackhole.consume(box);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BOXES)
+	public void nextFreeBox(final Blackhole blackhole) throws IOException {
+		final MP4Reader reader = new MP4Reader(new BufferSource(this.freeBoxes.duplicate()));
+		
+		Box box;
+		while ((box = reader.nextBox()) != null) {
+			blackhole.consume(box);
+		}
+	}
+}
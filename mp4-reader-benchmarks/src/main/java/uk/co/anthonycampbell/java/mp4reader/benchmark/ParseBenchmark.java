@@ -0,0 +1,113 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.ParseStatistics;
+
+/**
+ * Benchmark of an end to end parse of a movie file, building every box or only the
+ * file type and movie boxes, with the movie box before or after the media data. The
+ * parse is also measured collecting statistics, to show their overhead.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+	
+	// Number of samples in the track
+	@Param({ "1000", "100000" })
+	public int samples;
+	
+	// Whether the movie box precedes the media data
+	@Param({ "true", "false" })
+	public boolean movieFirst;
+	
+	// Benchmark properties
+	private File file;
+	
+	/**
+	 * Write the movie.
+	 * 
+	 * @throws IOException - Unable to write the movie.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		final MP4Generator generator = new MP4Generator();
+		generator.setSamples(this.samples);
+		generator.setMovieFirst(this.movieFirst);
+		
+		this.file = MovieFile.write(generator);
+	}
+	
+	@Benchmark
+	public MP4 parse() throws IOException {
+		final MP4Reader reader = new MP4Reader(this.file);
+		try {
+			return reader.parse();
+		} finally {
+			reader.close();
+		}
+	}
+	
+	@Benchmark
+	public ParseStatistics parseWithStatistics() throws IOException {
+		final MP4Reader reader = new MP4Reader(this.file);
+		final ParseStatistics statistics = new ParseStatistics();
+		try {
+			reader.setParseStatistics(statistics);
+			reader.parse();
+			
+			return statistics;
+		} finally {
+			reader.close();
+		}
+	}
+	
+	@Benchmark
+	public MP4 parseMetaData() throws IOException {
+		final MP4Reader reader = new MP4Reader(this.file);
+		try {
+			return reader.parseMetaData();
+		} finally {
+			reader.close();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Benchmark of a full parse at different log levels. Boxes are only described when
+ * debug logging is enabled, so the parse takes as long with logging switched off as
+ * at the default INFO level. At FINE every box is described, but the messages are
+ * dropped by the console handler, so the difference is the cost of describing.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseLoggingBenchmark {
+	
+	// Log level of the reader, as a java.util.logging level name
+	@Param({ "OFF", "INFO", "FINE" })
+	public String level;
+	
+	// Benchmark properties
+	private Logger logger;
+	private File file;
+	private Box movie;
+	
+	/**
+	 * Write the movie and set the log level. The logger is kept so its level is not
+	 * lost to garbage collection.
+	 * 
+	 * @throws IOException - Unable to write the movie.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		this.logger = Logger.getLogger("uk.co.anthonycampbell.java.mp4reader");
+		this.logger.setLevel(Level.parse(this.level));
+		
+		this.file = MovieFile.write(1000);
+		
+		final MP4Reader reader = new MP4Reader(this.file);
+		try {
+			reader.nextBox();
+			this.movie = reader.nextBox();
+		} finally {
+			reader.close();
+		}
+	}
+	
+	@Benchmark
+	public MP4 parse() throws IOException {
+		final MP4Reader reader = new MP4Reader(this.file);
+		try {
+			return reader.parse();
+		} finally {
+			reader.close();
+		}
+	}
+	
+	@Benchmark
+	public String describe() {
+		return Util.printFields(this.movie);
+	}
+}
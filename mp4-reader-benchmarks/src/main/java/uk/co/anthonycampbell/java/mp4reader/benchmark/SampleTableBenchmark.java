@@ -0,0 +1,103 @@
+package uk.co.anthonycampbell.java.mp4reader.benchmark;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.co.anthonycampbell.java.mp4reader.box.sample.StszBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.SttsBox;
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+
+/**
+ * Benchmark of the sample size (stsz) and time to sample (stts) table decode,
+ * reading each box from memory and walking all of its entries.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampleTableBenchmark {
+	
+	// Number of table entries
+	@Param({ "1000", "1000000" })
+	public int entries;
+	
+	// Benchmark properties
+	private ByteBuffer sampleSizes;
+	private ByteBuffer sampleTimes;
+	
+	/**
+	 * Build the sample tables.
+	 * 
+	 * @throws IOException - Unable to build the sample tables.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		final MP4Generator generator = new MP4Generator();
+		generator.setSamples(this.entries);
+		generator.setTimeEntries(this.entries);
+		
+		this.sampleSizes = ByteBuffer.wrap(generator.sampleSizeBox(0));
+		this.sampleTimes = ByteBuffer.wrap(generator.timeToSampleBox());
+	}
+	
+	@Benchmark
+	public long sampleSizes() throws IOException {
+		final StszBox stszBox = (StszBox) new MP4Reader(new BufferSource(
+				this.sampleSizes.duplicate())).nextBox();
+		
+		long total = 0;
+		for (int i = 0; i < stszBox.getNumberOfEntries(); ++i) {
+			total += stszBox.getBlockSize(i);
+		}
+		
+		return total;
+	}
+	
+	@Benchmark
+	public long sampleTimes() throws IOException {
+		final SttsBox sttsBox = (SttsBox) new MP4Reader(new BufferSource(
+				this.sampleTimes.duplicate())).nextBox();
+		
+		long total = 0;
+		for (int i = 0; i < sttsBox.getNumberOfEntries(); ++i) {
+			total += sttsBox.getFrameCount(i) * sttsBox.getDuration(i);
+		}
+		
+		return total;
+	}
+}
@@ -18,17 +18,13 @@ package uk.co.anthonycampbell.java.mp4reader;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Calendar;
-import java.util.Collection;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import uk.co.anthonycampbell.java.mp4reader.filter.MP4Filter;
 import uk.co.anthonycampbell.java.mp4reader.reader.MP4;
-import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.scanner.LibraryScanner;
+import uk.co.anthonycampbell.java.mp4reader.scanner.ScanListener;
 
 /**
  * Main class to run / test the MP4 reader utility.
@@ -41,46 +37,32 @@ public class Main {
 	private static final Logger log = LoggerFactory.getLogger(Main.class.getName());
 
 	/**
-	 * Main method.
+	 * Main method. Scans the directory provided as the first argument, or the
+	 * current directory, for MP4 files.
 	 * 
 	 * @param args - command line argument.
 	 * @throws IOException Unexpected exception.
+	 * @throws InterruptedException Interrupted while scanning.
 	 */
-	public static void main(final String[] args) throws IOException {
+	public static void main(final String[] args) throws IOException, InterruptedException {
 		log.info("Begin...\n");
 		
-		final File directory = new File(".");				
-		final Collection<File> files =
-				FileUtils.listFiles(directory, new MP4Filter(), TrueFileFilter.TRUE);
+		final File directory = new File((args.length > 0) ? args[0] : ".");
+		final long startTime = System.currentTimeMillis();
 		
-		for (final File file : files) {
-//			final long startTime = Calendar.getInstance().getTimeInMillis();
+		final long found = new LibraryScanner().scan(directory, new ScanListener() {
+			@Override
+			public void parsed(final File file, final MP4 mp4) {
+				log.info("- " + mp4);
+			}
 
-//			final MP4Reader reader = new MP4Reader(file);
-//			final MP4Reader reader = new MP4Reader(new File("./Set Up.m4v"));
-//			final MP4 mp4 = reader.parse();
-//			reader.close();
-			
-//			log.info("- " + mp4);
-			
-//			break; // One file for now
-		}
+			@Override
+			public void failed(final File file, final Throwable cause) {
+				log.warn("Unable to parse file! (file=" + file + ", cause=" + cause + ")");
+			}
+		});
 		
-		final MP4Reader reader = new MP4Reader(new File("./src/main/resources/mp4/Green.m4v"));
-		final MP4 mp4 = reader.parse();
-		reader.close();
-		log.info("- " + mp4);
-		
-		log.info("End");
-	}
-	
-	/**
-	 * Utility method to kill the parser if its taking too long!
-	 * 
-	 * @param startTime - parse start time.
-	 * @return whether project is taking too long.
-	 */
-	private static boolean tooSlow(final long startTime) {
-		return (Calendar.getInstance().getTimeInMillis() - startTime) > (1000 * 5);
+		log.info("End (files=" + found + ", time=" + (System.currentTimeMillis() - startTime) +
+				"ms)");
 	}
 }
@@ -17,6 +17,7 @@ package uk.co.anthonycampbell.java.mp4reader.box.common;
  */
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,13 +40,14 @@ public abstract class AbstractBox implements Box {
 	protected final MP4Reader reader;
 	protected final long startPosition;
 	protected final long totalSize;
+	protected final int fourcc;
 	protected final String boxName;
 	protected final BoxType boxType;
 	
 	/**
 	 * Constructor.
 	 * 
-	 * @parqm reader - Instance of the MP4 file reader.
+	 * @param reader - Instance of the MP4 file reader.
 	 * @param totalSize - Total box size, including box header (8 bytes).
 	 * @param boxName - name of the box type.
 	 * @param boxType - box type ENUM.
@@ -53,18 +55,35 @@ public abstract class AbstractBox implements Box {
 	 */
 	public AbstractBox(final MP4Reader reader, final long totalSize, final String boxName,
 			final BoxType boxType) throws IOException {
-		// Validate
-		if (reader == null || reader.available() == 0) {
+		this(reader, totalSize, (boxType != null) ? boxType.getFourcc() : BoxType.toFourcc(boxName),
+				boxName, boxType);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - Instance of the MP4 file reader.
+	 * @param totalSize - Total box size, including box header (8 bytes).
+	 * @param fourcc - box type code.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable to read from provided stream.
+	 */
+	protected AbstractBox(final MP4Reader reader, final long totalSize, final int fourcc,
+			final String boxName, final BoxType boxType) throws IOException {
+		// Validate, empty boxes may end the stream
+		if (reader == null || (totalSize > 0 && reader.available() == 0)) {
 			throw new IllegalArgumentException("Provided MP4 file reader is invalid! (reader=" +
 					reader + ")");
 		}
 		
-		log.debug("Creating box '" + boxName + "'...");
+		log.debug("Creating box '{}'...", boxName);
 		
 		// Persist box properties
 		this.reader = reader;
 		this.startPosition = reader.bytesRead() - 8;
 		this.totalSize = totalSize + 8;
+		this.fourcc = fourcc;
 		this.boxName = boxName;
 		this.boxType = boxType;
 	}
@@ -79,6 +98,11 @@ public abstract class AbstractBox implements Box {
 		return this.totalSize;
 	}
 
+	@Override
+	public int getFourcc() {
+		return this.fourcc;
+	}
+
 	@Override
 	public String getBoxName() {
 		return this.boxName;
@@ -97,7 +121,9 @@ public abstract class AbstractBox implements Box {
 	 */
 	protected long bytesRemaining() {
 		final long bytesRemaining = (this.startPosition + this.totalSize) - this.reader.bytesRead();		
-		log.trace("- '" + boxName + "' " + bytesRemaining + " bytes remaining...");		
+		if (log.isTraceEnabled()) {
+			log.trace("- '" + boxName + "' " + bytesRemaining + " bytes remaining...");
+		}
 		return bytesRemaining;
 	}
 	
@@ -118,11 +144,66 @@ public abstract class AbstractBox implements Box {
 	 */
 	protected void skip(final long numberOfBytes) throws IOException {
 		if (numberOfBytes > 0) {
-			log.trace("Skipping box " + numberOfBytes + " bytes...");
+			if (log.isTraceEnabled()) {
+				log.trace("Skipping box " + numberOfBytes + " bytes...");
+			}
 			this.reader.skip(numberOfBytes);
 		}
 	}
 
+	/**
+	 * Helper method to open a new reader on the file being read, positioned at the
+	 * provided offset. Used by boxes which defer reading their entries until first
+	 * accessed, after the original reader may have been closed.
+	 * 
+	 * @param position - the position to move the new reader to.
+	 * @return the new reader, to be closed by the caller.
+	 * @throws IOException - Unable to open the file.
+	 */
+	protected MP4Reader openReader(final long position) throws IOException {
+		final MP4Reader entryReader = new MP4Reader(this.reader.getFile(), this.reader.getSourceType());
+		entryReader.seek(position);
+		
+		return entryReader;
+	}
+
+	/**
+	 * Helper method to read a table of 32-bit entries. When the reader defers sample
+	 * tables the entries are left in the stream, to be read on first access.
+	 * 
+	 * @param numberOfInts - the number of integers in the table.
+	 * @return the table of entries.
+	 * @throws IOException - Unable to read the entries.
+	 */
+	protected DeferredInts readTable(final int numberOfInts) throws IOException {
+		final long position = this.reader.bytesRead();
+		final int[] ints = this.reader.isLazySampleTables() ? null : this.reader.readInts(numberOfInts);
+		
+		return new DeferredInts(this, position, numberOfInts, ints);
+	}
+
+	/**
+	 * Helper method to read deferred 32-bit entries with a new reader.
+	 * 
+	 * @param position - the position of the first entry.
+	 * @param numberOfInts - the number of integers to read.
+	 * @return array of 32-bit integers.
+	 * @throws UncheckedIOException - Unable to read the entries.
+	 */
+	protected int[] readDeferredInts(final long position, final int numberOfInts) {
+		try {
+			final MP4Reader entryReader = openReader(position);
+			try {
+				return entryReader.readInts(numberOfInts);
+			} finally {
+				entryReader.close();
+			}
+		} catch (final IOException ioe) {
+			throw new UncheckedIOException("Unable to read deferred '" + this.boxName +
+					"' entries! (position=" + position + ")", ioe);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return Util.printFields(this, AbstractBox.class);
@@ -40,6 +40,13 @@ public interface Box {
 	 */
 	public long getTotalSize();
 
+	/**
+	 * 32-bit box type code as it appears in the file.
+	 * 
+	 * @return - box type code.
+	 */
+	public int getFourcc();
+
 	/**
 	 * Box type name.
 	 * 
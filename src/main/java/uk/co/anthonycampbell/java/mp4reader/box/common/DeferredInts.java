@@ -0,0 +1,79 @@
+package uk.co.anthonycampbell.java.mp4reader.box.common;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.UncheckedIOException;
+
+/**
+ * Table of 32-bit box entries. The entries are read with their box, or decoded on
+ * first access when the reader defers sample tables.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public final class DeferredInts {
+	
+	// Declare properties
+	private final AbstractBox box;
+	private final long position;
+	private final int numberOfInts;
+	private volatile int[] ints;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param box - the box holding the entries.
+	 * @param position - the position of the first entry.
+	 * @param numberOfInts - the number of integers in the table.
+	 * @param ints - the entries already read, or null to decode them on first access.
+	 */
+	DeferredInts(final AbstractBox box, final long position, final int numberOfInts,
+			final int[] ints) {
+		this.box = box;
+		this.position = position;
+		this.numberOfInts = numberOfInts;
+		this.ints = ints;
+	}
+	
+	/**
+	 * Return the entries, decoding them with a new reader on first access. The
+	 * returned array is shared and must not be modified.
+	 * 
+	 * @return array of 32-bit integers.
+	 * @throws UncheckedIOException - Unable to read the deferred entries.
+	 */
+	public int[] get() {
+		int[] ints = this.ints;
+		if (ints == null) {
+			synchronized (this) {
+				ints = this.ints;
+				if (ints == null) {
+					ints = this.box.readDeferredInts(this.position, this.numberOfInts);
+					this.ints = ints;
+				}
+			}
+		}
+		
+		return ints;
+	}
+	
+	/**
+	 * @return whether the entries have been read.
+	 */
+	public boolean isRead() {
+		return this.ints != null;
+	}
+}
@@ -18,6 +18,8 @@ package uk.co.anthonycampbell.java.mp4reader.box.common;
 
 import java.io.IOException;
 
+import org.apache.commons.lang3.StringUtils;
+
 import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
 import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
 import uk.co.anthonycampbell.java.mp4reader.util.Util;
@@ -61,10 +63,10 @@ public class HdlrBox extends AbstractBox implements Box {
 		this.quicktimeFlags = reader.readHex(4);
 		this.quicktimeFlagMask = reader.readHex(4);
 		
-		// Component type
+		// Component type, null terminated
 		final long bytesRemaining = bytesRemaining();
-		if (bytesRemaining() > 1 && bytesRemaining < Integer.MAX_VALUE) {
-			this.componentType = reader.readString(Long.valueOf(bytesRemaining() + 1).intValue());
+		if (bytesRemaining > 1 && bytesRemaining < Integer.MAX_VALUE) {
+			this.componentType = StringUtils.stripEnd(reader.readString((int) bytesRemaining), "\0");
 		} else {
 			this.componentType = "";
 		}
@@ -0,0 +1,127 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 movie fragment random access box (mfra), usually found
+ * at the end of a fragmented file.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MfraBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(MfraBox.class.getName());
+	
+	// Declare box properties
+	protected final List<TfraBox> trackRandomAccess;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public MfraBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		// Prepare defaults
+		this.trackRandomAccess = new ArrayList<>();
+		
+		// Parse inner boxes
+		while (bytesRemaining() > 0) {
+			final Box nextBox = reader.nextBox();
+			
+			// Validate
+			if (nextBox != null) {
+				if (nextBox instanceof TfraBox &&
+						BoxType.TRACK_FRAGMENT_RANDOM_ACCESS == nextBox.getBoxType()) {
+					this.trackRandomAccess.add((TfraBox) nextBox);
+				}
+				
+				log.debug("- '{}' -> {}", boxName, nextBox);
+			}
+		}
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the track fragment random access boxes (tfra).
+	 */
+	public List<TfraBox> getTrackRandomAccess() {
+		return this.trackRandomAccess;
+	}
+	
+	/**
+	 * @param trackId - the track ID.
+	 * @return the track fragment random access box (tfra) of the provided track, or null
+	 * 		when the track has none.
+	 */
+	public TfraBox getTrackRandomAccess(final long trackId) {
+		for (final TfraBox tfraBox : this.trackRandomAccess) {
+			if (tfraBox.getTrackId() == trackId) {
+				return tfraBox;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Find the movie fragment to start reading from to reach the provided time, in
+	 * other words the fragment holding the last sync sample of the track at or before
+	 * that time.
+	 * 
+	 * @param trackId - the track ID.
+	 * @param time - the presentation time, in the media time scale of the track.
+	 * @return the file offset of the movie fragment (moof), or -1 when not found.
+	 */
+	public long findFragment(final long trackId, final long time) {
+		final TfraBox tfraBox = getTrackRandomAccess(trackId);
+		final int entry = (tfraBox != null) ? tfraBox.findEntry(time) : -1;
+		
+		return (entry >= 0) ? tfraBox.getMoofOffset(entry) : -1;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
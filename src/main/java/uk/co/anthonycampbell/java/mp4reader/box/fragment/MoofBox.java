@@ -0,0 +1,126 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 movie fragment box (moof).
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MoofBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(MoofBox.class.getName());
+	
+	// Declare box properties
+	protected final long sequenceNumber;
+	protected final List<TrafBox> trackFragments;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public MoofBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		// Prepare defaults
+		long sequenceNumber = 0;
+		this.trackFragments = new ArrayList<>();
+		
+		// Parse inner boxes
+		while (bytesRemaining() > 0) {
+			final Box nextBox = reader.nextBox();
+			
+			// Validate
+			if (nextBox != null) {
+				if (nextBox instanceof MfhdBox && BoxType.MOVIE_FRAGMENT_HEADER == nextBox.getBoxType()) {
+					sequenceNumber = ((MfhdBox) nextBox).getSequenceNumber();
+				
+				} else if (nextBox instanceof TrafBox && BoxType.TRACK_FRAGMENT == nextBox.getBoxType()) {
+					this.trackFragments.add((TrafBox) nextBox);
+				}
+				
+				log.debug("- '{}' -> {}", boxName, nextBox);
+			}
+		}
+		
+		this.sequenceNumber = sequenceNumber;
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the sequence number.
+	 */
+	public long getSequenceNumber() {
+		return this.sequenceNumber;
+	}
+	
+	/**
+	 * @return the track fragments (traf), in file order.
+	 */
+	public List<TrafBox> getTrackFragments() {
+		return this.trackFragments;
+	}
+	
+	/**
+	 * Resolve the file offset of the first sample of the provided run. Runs are offset
+	 * from the base data offset of their track fragment header, or from the start of
+	 * this movie fragment when no base data offset is present.
+	 * 
+	 * @param trackFragment - the track fragment holding the run.
+	 * @param trackRun - the track fragment run.
+	 * @return the absolute file offset of the first sample of the run.
+	 */
+	public long getDataOffset(final TrafBox trackFragment, final TrunBox trackRun) {
+		final TfhdBox header = trackFragment.getHeader();
+		final long baseDataOffset = (header != null &&
+				header.isFlagSet(TfhdBox.BASE_DATA_OFFSET_PRESENT)) ?
+						header.getBaseDataOffset() : this.startPosition;
+		
+		return baseDataOffset + trackRun.getDataOffset();
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
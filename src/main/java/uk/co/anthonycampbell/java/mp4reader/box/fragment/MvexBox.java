@@ -0,0 +1,110 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 movie extends box (mvex). Its presence in the movie box
+ * signals the file holds movie fragments.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MvexBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(MvexBox.class.getName());
+	
+	// Declare box properties
+	protected final List<TrexBox> trackExtends;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public MvexBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		// Prepare defaults
+		this.trackExtends = new ArrayList<>();
+		
+		// Parse inner boxes
+		while (bytesRemaining() > 0) {
+			final Box nextBox = reader.nextBox();
+			
+			// Validate
+			if (nextBox != null) {
+				if (nextBox instanceof TrexBox && BoxType.TRACK_EXTENDS == nextBox.getBoxType()) {
+					this.trackExtends.add((TrexBox) nextBox);
+				}
+				
+				log.debug("- '{}' -> {}", boxName, nextBox);
+			}
+		}
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the track extends boxes (trex).
+	 */
+	public List<TrexBox> getTrackExtends() {
+		return this.trackExtends;
+	}
+	
+	/**
+	 * @param trackId - the track ID.
+	 * @return the track extends box (trex) of the provided track, or null when the
+	 * 		track has none.
+	 */
+	public TrexBox getTrackExtends(final long trackId) {
+		for (final TrexBox trexBox : this.trackExtends) {
+			if (trexBox.getTrackId() == trackId) {
+				return trexBox;
+			}
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
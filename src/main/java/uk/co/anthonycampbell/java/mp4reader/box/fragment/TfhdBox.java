@@ -0,0 +1,184 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 track fragment header box (tfhd). Default values which
+ * are not present fall back to the track extends box (trex) of the movie.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class TfhdBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(TfhdBox.class.getName());
+	
+	/** Flag set when the base data offset is present. */
+	public static final int BASE_DATA_OFFSET_PRESENT = 0x000001;
+	
+	/** Flag set when the sample description index is present. */
+	public static final int SAMPLE_DESCRIPTION_INDEX_PRESENT = 0x000002;
+	
+	/** Flag set when the default sample duration is present. */
+	public static final int DEFAULT_SAMPLE_DURATION_PRESENT = 0x000008;
+	
+	/** Flag set when the default sample size is present. */
+	public static final int DEFAULT_SAMPLE_SIZE_PRESENT = 0x000010;
+	
+	/** Flag set when the default sample flags are present. */
+	public static final int DEFAULT_SAMPLE_FLAGS_PRESENT = 0x000020;
+	
+	/** Flag set when the fragment holds no samples for its duration. */
+	public static final int DURATION_IS_EMPTY = 0x010000;
+	
+	/** Flag set when data offsets are relative to the start of the movie fragment. */
+	public static final int DEFAULT_BASE_IS_MOOF = 0x020000;
+	
+	// Declare box properties
+	protected final short version;
+	protected final long flags;
+	protected final long trackId;
+	protected final long baseDataOffset;
+	protected final long sampleDescriptionIndex;
+	protected final long defaultSampleDuration;
+	protected final long defaultSampleSize;
+	protected final long defaultSampleFlags;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public TfhdBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		this.version = reader.readUnsignedByte();
+		this.flags = reader.readHex();
+		this.trackId = reader.readUnsignedInt();
+		
+		// Optional fields, in flag order
+		this.baseDataOffset = isFlagSet(BASE_DATA_OFFSET_PRESENT) ? reader.readLong().longValue() : 0;
+		this.sampleDescriptionIndex = isFlagSet(SAMPLE_DESCRIPTION_INDEX_PRESENT) ?
+				reader.readUnsignedInt() : 0;
+		this.defaultSampleDuration = isFlagSet(DEFAULT_SAMPLE_DURATION_PRESENT) ?
+				reader.readUnsignedInt() : 0;
+		this.defaultSampleSize = isFlagSet(DEFAULT_SAMPLE_SIZE_PRESENT) ? reader.readUnsignedInt() : 0;
+		this.defaultSampleFlags = isFlagSet(DEFAULT_SAMPLE_FLAGS_PRESENT) ?
+				reader.readUnsignedInt() : 0;
+		
+		log.trace("- trackId: {}", this.trackId);
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @param flag - the flag to check.
+	 * @return whether the provided flag is set.
+	 */
+	public boolean isFlagSet(final int flag) {
+		return (this.flags & flag) != 0;
+	}
+	
+	/**
+	 * @return the version.
+	 */
+	public short getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * @return the hex flags.
+	 */
+	public long getFlags() {
+		return this.flags;
+	}
+	
+	/**
+	 * @return the hex flags string.
+	 */
+	public String getFlagsHexString() {
+		return Long.toHexString(this.flags);
+	}
+	
+	/**
+	 * @return the track ID.
+	 */
+	public long getTrackId() {
+		return this.trackId;
+	}
+	
+	/**
+	 * @return the base data offset, or zero when not present.
+	 */
+	public long getBaseDataOffset() {
+		return this.baseDataOffset;
+	}
+	
+	/**
+	 * @return the sample description index, or zero when not present.
+	 */
+	public long getSampleDescriptionIndex() {
+		return this.sampleDescriptionIndex;
+	}
+	
+	/**
+	 * @return the default sample duration, or zero when not present.
+	 */
+	public long getDefaultSampleDuration() {
+		return this.defaultSampleDuration;
+	}
+	
+	/**
+	 * @return the default sample size, or zero when not present.
+	 */
+	public long getDefaultSampleSize() {
+		return this.defaultSampleSize;
+	}
+	
+	/**
+	 * @return the default sample flags, or zero when not present.
+	 */
+	public long getDefaultSampleFlags() {
+		return this.defaultSampleFlags;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
@@ -0,0 +1,190 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 track fragment random access box (tfra), the sync
+ * samples of a track with the movie fragment (moof) holding each of them.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class TfraBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(TfraBox.class.getName());
+	
+	// Declare box properties
+	protected final short version;
+	protected final long flags;
+	protected final long trackId;
+	protected final long numberOfEntries;
+	private final long[] times;
+	private final long[] moofOffsets;
+	private final int[] sampleNumbers;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public TfraBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		this.version = reader.readUnsignedByte();
+		this.flags = reader.readHex();
+		this.trackId = reader.readUnsignedInt();
+		
+		// Byte lengths of the traf, trun and sample numbers, less one
+		final int lengths = reader.readInt();
+		final int trafNumberLength = ((lengths >> 4) & 0x3) + 1;
+		final int trunNumberLength = ((lengths >> 2) & 0x3) + 1;
+		final int sampleNumberLength = (lengths & 0x3) + 1;
+		final int entrySize = ((this.version == 1) ? 16 : 8) +
+				trafNumberLength + trunNumberLength + sampleNumberLength;
+		
+		this.numberOfEntries = reader.readUnsignedInt();
+		final int entries = (int) Math.min(this.numberOfEntries, bytesRemaining() / entrySize);
+		this.times = new long[entries];
+		this.moofOffsets = new long[entries];
+		this.sampleNumbers = new int[entries];
+		
+		for (int i = 0; i < entries; ++i) {
+			if (this.version == 1) {
+				this.times[i] = reader.readLong().longValue();
+				this.moofOffsets[i] = reader.readLong().longValue();
+			} else {
+				this.times[i] = reader.readUnsignedInt();
+				this.moofOffsets[i] = reader.readUnsignedInt();
+			}
+			
+			reader.skip(trafNumberLength + trunNumberLength);
+			this.sampleNumbers[i] = (int) reader.readHex(sampleNumberLength);
+		}
+		
+		log.trace("- trackId: {}", this.trackId);
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the version.
+	 */
+	public short getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * @return the hex flags.
+	 */
+	public long getFlags() {
+		return this.flags;
+	}
+	
+	/**
+	 * @return the hex flags string.
+	 */
+	public String getFlagsHexString() {
+		return Long.toHexString(this.flags);
+	}
+	
+	/**
+	 * @return the track ID.
+	 */
+	public long getTrackId() {
+		return this.trackId;
+	}
+	
+	/**
+	 * @return the number of entries.
+	 */
+	public long getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the presentation time of the entry's sync sample, in the media time scale.
+	 */
+	public long getTime(final int index) {
+		return this.times[index];
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the file offset of the movie fragment (moof) holding the entry's sync sample.
+	 */
+	public long getMoofOffset(final int index) {
+		return this.moofOffsets[index];
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the sync sample number in its track fragment run, numbered from one.
+	 */
+	public int getSampleNumber(final int index) {
+		return this.sampleNumbers[index];
+	}
+	
+	/**
+	 * Find the last entry at or before the provided time. Entries are stored in
+	 * ascending time order, so this is a binary search.
+	 * 
+	 * @param time - the presentation time, in the media time scale.
+	 * @return the entry index, or -1 when there are no entries.
+	 */
+	public int findEntry(final long time) {
+		int low = 0;
+		int high = this.times.length - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			if (this.times[middle] <= time) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		
+		// Before the first entry, start from the first one
+		return (this.times.length > 0) ? Math.max(high, 0) : -1;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
@@ -0,0 +1,179 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 track fragment box (traf), the sample runs of one track
+ * in a movie fragment.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class TrafBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(TrafBox.class.getName());
+	
+	// Declare box properties
+	protected final TfhdBox header;
+	protected final TfdtBox decodeTime;
+	protected final List<TrunBox> trackRuns;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public TrafBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		// Prepare defaults
+		TfhdBox header = null;
+		TfdtBox decodeTime = null;
+		this.trackRuns = new ArrayList<>();
+		
+		// Parse inner boxes
+		while (bytesRemaining() > 0) {
+			final Box nextBox = reader.nextBox();
+			
+			// Validate
+			if (nextBox != null) {
+				if (nextBox instanceof TfhdBox && BoxType.TRACK_FRAGMENT_HEADER == nextBox.getBoxType()) {
+					header = (TfhdBox) nextBox;
+				
+				} else if (nextBox instanceof TfdtBox &&
+						BoxType.TRACK_FRAGMENT_DECODE_TIME == nextBox.getBoxType()) {
+					decodeTime = (TfdtBox) nextBox;
+				
+				} else if (nextBox instanceof TrunBox && BoxType.TRACK_FRAGMENT_RUN == nextBox.getBoxType()) {
+					this.trackRuns.add((TrunBox) nextBox);
+				}
+				
+				log.debug("- '{}' -> {}", boxName, nextBox);
+			}
+		}
+		
+		this.header = header;
+		this.decodeTime = decodeTime;
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the track fragment header box (tfhd).
+	 */
+	public TfhdBox getHeader() {
+		return this.header;
+	}
+	
+	/**
+	 * @return the track fragment decode time box (tfdt), or null when not present.
+	 */
+	public TfdtBox getDecodeTime() {
+		return this.decodeTime;
+	}
+	
+	/**
+	 * @return the track fragment runs (trun), in file order.
+	 */
+	public List<TrunBox> getTrackRuns() {
+		return this.trackRuns;
+	}
+	
+	/**
+	 * @return the track ID, or zero without a track fragment header.
+	 */
+	public long getTrackId() {
+		return (this.header != null) ? this.header.getTrackId() : 0;
+	}
+	
+	/**
+	 * @return the decode time of the first sample, in the media time scale, or zero
+	 * 		without a track fragment decode time box.
+	 */
+	public long getBaseMediaDecodeTime() {
+		return (this.decodeTime != null) ? this.decodeTime.getBaseMediaDecodeTime() : 0;
+	}
+	
+	/**
+	 * Resolve the duration of the provided sample from the run, the track fragment
+	 * header and the track extends box, in that order.
+	 * 
+	 * @param trackRun - the track fragment run.
+	 * @param sample - the sample index in the run, from zero.
+	 * @param trackExtends - the track extends box of the movie, may be null.
+	 * @return the sample duration, in the media time scale.
+	 */
+	public long getSampleDuration(final TrunBox trackRun, final int sample,
+			final TrexBox trackExtends) {
+		final long defaultDuration;
+		if (this.header != null && this.header.isFlagSet(TfhdBox.DEFAULT_SAMPLE_DURATION_PRESENT)) {
+			defaultDuration = this.header.getDefaultSampleDuration();
+		} else {
+			defaultDuration = (trackExtends != null) ? trackExtends.getDefaultSampleDuration() : 0;
+		}
+		
+		return trackRun.getSampleDuration(sample, defaultDuration);
+	}
+	
+	/**
+	 * Resolve the size of the provided sample from the run, the track fragment header
+	 * and the track extends box, in that order.
+	 * 
+	 * @param trackRun - the track fragment run.
+	 * @param sample - the sample index in the run, from zero.
+	 * @param trackExtends - the track extends box of the movie, may be null.
+	 * @return the sample size in bytes.
+	 */
+	public long getSampleSize(final TrunBox trackRun, final int sample, final TrexBox trackExtends) {
+		final long defaultSize;
+		if (this.header != null && this.header.isFlagSet(TfhdBox.DEFAULT_SAMPLE_SIZE_PRESENT)) {
+			defaultSize = this.header.getDefaultSampleSize();
+		} else {
+			defaultSize = (trackExtends != null) ? trackExtends.getDefaultSampleSize() : 0;
+		}
+		
+		return trackRun.getSampleSize(sample, defaultSize);
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
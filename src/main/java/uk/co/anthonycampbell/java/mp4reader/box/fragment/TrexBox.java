@@ -0,0 +1,141 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 track extends box (trex), the default sample values
+ * for the fragments of a track.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class TrexBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(TrexBox.class.getName());
+	
+	// Declare box properties
+	protected final short version;
+	protected final long flags;
+	protected final long trackId;
+	protected final long defaultSampleDescriptionIndex;
+	protected final long defaultSampleDuration;
+	protected final long defaultSampleSize;
+	protected final long defaultSampleFlags;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public TrexBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		this.version = reader.readUnsignedByte();
+		this.flags = reader.readHex();
+		this.trackId = reader.readUnsignedInt();
+		this.defaultSampleDescriptionIndex = reader.readUnsignedInt();
+		this.defaultSampleDuration = reader.readUnsignedInt();
+		this.defaultSampleSize = reader.readUnsignedInt();
+		this.defaultSampleFlags = reader.readUnsignedInt();
+		
+		log.trace("- trackId: {}", this.trackId);
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the version.
+	 */
+	public short getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * @return the hex flags.
+	 */
+	public long getFlags() {
+		return this.flags;
+	}
+	
+	/**
+	 * @return the hex flags string.
+	 */
+	public String getFlagsHexString() {
+		return Long.toHexString(this.flags);
+	}
+	
+	/**
+	 * @return the track ID.
+	 */
+	public long getTrackId() {
+		return this.trackId;
+	}
+	
+	/**
+	 * @return the default sample description index.
+	 */
+	public long getDefaultSampleDescriptionIndex() {
+		return this.defaultSampleDescriptionIndex;
+	}
+	
+	/**
+	 * @return the default sample duration.
+	 */
+	public long getDefaultSampleDuration() {
+		return this.defaultSampleDuration;
+	}
+	
+	/**
+	 * @return the default sample size.
+	 */
+	public long getDefaultSampleSize() {
+		return this.defaultSampleSize;
+	}
+	
+	/**
+	 * @return the default sample flags.
+	 */
+	public long getDefaultSampleFlags() {
+		return this.defaultSampleFlags;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
@@ -0,0 +1,241 @@
+package uk.co.anthonycampbell.java.mp4reader.box.fragment;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 track fragment run box (trun), a run of contiguous
+ * samples in a track fragment.
+ * 
+ * Only the per sample fields flagged as present are stored, packed into a single
+ * array of 32-bit values per sample. Fields which are not present fall back to the
+ * defaults of the track fragment header (tfhd).
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class TrunBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(TrunBox.class.getName());
+	
+	/** Flag set when the data offset is present. */
+	public static final int DATA_OFFSET_PRESENT = 0x000001;
+	
+	/** Flag set when the first sample flags are present. */
+	public static final int FIRST_SAMPLE_FLAGS_PRESENT = 0x000004;
+	
+	/** Flag set when every sample holds its duration. */
+	public static final int SAMPLE_DURATION_PRESENT = 0x000100;
+	
+	/** Flag set when every sample holds its size. */
+	public static final int SAMPLE_SIZE_PRESENT = 0x000200;
+	
+	/** Flag set when every sample holds its flags. */
+	public static final int SAMPLE_FLAGS_PRESENT = 0x000400;
+	
+	/** Flag set when every sample holds its composition time offset. */
+	public static final int SAMPLE_COMPOSITION_TIME_OFFSET_PRESENT = 0x000800;
+	
+	// Declare box properties
+	protected final short version;
+	protected final long flags;
+	protected final long sampleCount;
+	protected final int dataOffset;
+	protected final long firstSampleFlags;
+	protected final int numberOfEntries;
+	private final int fieldsPerSample;
+	private final int[] entries;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public TrunBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		this.version = reader.readUnsignedByte();
+		this.flags = reader.readHex();
+		this.sampleCount = reader.readUnsignedInt();
+		this.dataOffset = isFlagSet(DATA_OFFSET_PRESENT) ? reader.readInt() : 0;
+		this.firstSampleFlags = isFlagSet(FIRST_SAMPLE_FLAGS_PRESENT) ? reader.readUnsignedInt() : 0;
+		
+		// Per sample fields, in flag order
+		this.fieldsPerSample = Integer.bitCount((int) (this.flags & (SAMPLE_DURATION_PRESENT |
+				SAMPLE_SIZE_PRESENT | SAMPLE_FLAGS_PRESENT | SAMPLE_COMPOSITION_TIME_OFFSET_PRESENT)));
+		this.numberOfEntries = (this.fieldsPerSample > 0) ?
+				(int) Math.min(this.sampleCount, bytesRemaining() / (this.fieldsPerSample * 4)) :
+				(int) Math.min(this.sampleCount, Integer.MAX_VALUE);
+		this.entries = reader.readInts(this.fieldsPerSample * this.numberOfEntries);
+		
+		log.trace("- sampleCount: {}", this.sampleCount);
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @param flag - the flag to check.
+	 * @return whether the provided flag is set.
+	 */
+	public boolean isFlagSet(final int flag) {
+		return (this.flags & flag) != 0;
+	}
+	
+	/**
+	 * @return the version.
+	 */
+	public short getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * @return the hex flags.
+	 */
+	public long getFlags() {
+		return this.flags;
+	}
+	
+	/**
+	 * @return the hex flags string.
+	 */
+	public String getFlagsHexString() {
+		return Long.toHexString(this.flags);
+	}
+	
+	/**
+	 * @return the sample count.
+	 */
+	public long getSampleCount() {
+		return this.sampleCount;
+	}
+	
+	/**
+	 * @return the number of sample entries read.
+	 */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+	
+	/**
+	 * @return the data offset, relative to the base data offset of the track fragment,
+	 * 		or zero when not present.
+	 */
+	public int getDataOffset() {
+		return this.dataOffset;
+	}
+	
+	/**
+	 * @return the first sample flags, or zero when not present.
+	 */
+	public long getFirstSampleFlags() {
+		return this.firstSampleFlags;
+	}
+	
+	/**
+	 * @param sample - the sample index in this run, from zero.
+	 * @param defaultDuration - the duration used when not present in this run.
+	 * @return the sample duration.
+	 */
+	public long getSampleDuration(final int sample, final long defaultDuration) {
+		return isFlagSet(SAMPLE_DURATION_PRESENT) ?
+				field(sample, SAMPLE_DURATION_PRESENT) & 0xFFFFFFFFL : defaultDuration;
+	}
+	
+	/**
+	 * @param sample - the sample index in this run, from zero.
+	 * @param defaultSize - the size used when not present in this run.
+	 * @return the sample size in bytes.
+	 */
+	public long getSampleSize(final int sample, final long defaultSize) {
+		return isFlagSet(SAMPLE_SIZE_PRESENT) ?
+				field(sample, SAMPLE_SIZE_PRESENT) & 0xFFFFFFFFL : defaultSize;
+	}
+	
+	/**
+	 * @param sample - the sample index in this run, from zero.
+	 * @param defaultFlags - the flags used when not present in this run.
+	 * @return the sample flags.
+	 */
+	public long getSampleFlags(final int sample, final long defaultFlags) {
+		if (sample == 0 && isFlagSet(FIRST_SAMPLE_FLAGS_PRESENT)) {
+			return this.firstSampleFlags;
+		}
+		
+		return isFlagSet(SAMPLE_FLAGS_PRESENT) ?
+				field(sample, SAMPLE_FLAGS_PRESENT) & 0xFFFFFFFFL : defaultFlags;
+	}
+	
+	/**
+	 * @param sample - the sample index in this run, from zero.
+	 * @return the composition time offset, or zero when not present.
+	 */
+	public long getSampleCompositionOffset(final int sample) {
+		if (!isFlagSet(SAMPLE_COMPOSITION_TIME_OFFSET_PRESENT)) {
+			return 0;
+		}
+		
+		// Signed from version one
+		final int offset = field(sample, SAMPLE_COMPOSITION_TIME_OFFSET_PRESENT);
+		return (this.version != 0) ? offset : offset & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * Helper method to read a per sample field.
+	 * 
+	 * @param sample - the sample index in this run.
+	 * @param field - the flag of the field.
+	 * @return the raw 32-bit field value.
+	 */
+	private int field(final int sample, final int field) {
+		// Validate
+		if (sample < 0 || sample >= this.numberOfEntries) {
+			throw new IndexOutOfBoundsException("Provided sample is invalid! (sample=" + sample +
+					", numberOfEntries=" + this.numberOfEntries + ")");
+		}
+		
+		// Position of the field amongst the fields present
+		final int index = Integer.bitCount((int) (this.flags & (field - 1) &
+				(SAMPLE_DURATION_PRESENT | SAMPLE_SIZE_PRESENT | SAMPLE_FLAGS_PRESENT)));
+		
+		return this.entries[(sample * this.fieldsPerSample) + index];
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
@@ -46,6 +46,22 @@ public class UnknownBox extends AbstractBox implements UnusedBox {
 		// Clean up
 		skip();
 	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param fourcc - box type code.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public UnknownBox(final MP4Reader reader, final long remainingOffset, final int fourcc)
+			throws IOException {
+		super(reader, remainingOffset, fourcc, BoxType.toName(fourcc), null);
+		
+		// Clean up
+		skip();
+	}
 	
 	@Override
 	public String toString() {
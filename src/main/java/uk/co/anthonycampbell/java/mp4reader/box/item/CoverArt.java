@@ -0,0 +1,224 @@
+package uk.co.anthonycampbell.java.mp4reader.box.item;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Handle to a cover art image held in an Apple cover item box (covr). Only the
+ * position of the image in the file is kept, the image itself is read or mapped
+ * on demand, so parsed files do not hold their artwork on the heap.
+ * 
+ * Images read from a provided source rather than a file are copied when parsed,
+ * as there is nothing to read them back from.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class CoverArt {
+	
+	// Declare properties
+	private final File file;
+	private final long offset;
+	private final int length;
+	private final Format format;
+	private final byte[] data;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param file - the file holding the image.
+	 * @param offset - the file offset of the image.
+	 * @param length - the image length in bytes.
+	 * @param format - the image format.
+	 */
+	public CoverArt(final File file, final long offset, final int length, final Format format) {
+		// Validate
+		if (file == null || offset < 0 || length < 0) {
+			throw new IllegalArgumentException("Provided cover art position is invalid! (file=" +
+					file + ", offset=" + offset + ", length=" + length + ")");
+		}
+		
+		this.file = file;
+		this.offset = offset;
+		this.length = length;
+		this.format = (format != null) ? format : Format.UNKNOWN;
+		this.data = null;
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param offset - the offset of the image in the source.
+	 * @param data - the image.
+	 * @param format - the image format.
+	 */
+	public CoverArt(final long offset, final byte[] data, final Format format) {
+		// Validate
+		if (data == null) {
+			throw new IllegalArgumentException("Provided cover art data is invalid! (data=" +
+					data + ")");
+		}
+		
+		this.file = null;
+		this.offset = offset;
+		this.length = data.length;
+		this.format = (format != null) ? format : Format.UNKNOWN;
+		this.data = data;
+	}
+	
+	/**
+	 * @return the file holding the image, or null when the image was copied.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * @return the offset of the image in the file.
+	 */
+	public long getOffset() {
+		return this.offset;
+	}
+	
+	/**
+	 * @return the image length in bytes.
+	 */
+	public int getLength() {
+		return this.length;
+	}
+	
+	/**
+	 * @return the image format.
+	 */
+	public Format getFormat() {
+		return this.format;
+	}
+	
+	/**
+	 * Read the image onto the heap. Every call reads the image again.
+	 * 
+	 * @return the image.
+	 * @throws IOException - Unable to read the image.
+	 */
+	public byte[] getBytes() throws IOException {
+		if (this.data != null) {
+			return this.data.clone();
+		}
+		
+		final byte[] bytes = new byte[this.length];
+		final FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+		
+		try {
+			final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, this.offset + buffer.position()) < 0) {
+					throw new IOException("Cover art lies outside of the file! (offset=" +
+							this.offset + ", length=" + this.length + ")");
+				}
+			}
+		} finally {
+			IOUtils.closeQuietly(channel);
+		}
+		
+		return bytes;
+	}
+	
+	/**
+	 * Get the image without copying it onto the heap. The image is memory mapped,
+	 * and the mapping stays valid after the file is closed.
+	 * 
+	 * @return read-only buffer holding the image.
+	 * @throws IOException - Unable to map the image.
+	 */
+	public ByteBuffer getBuffer() throws IOException {
+		if (this.data != null) {
+			return ByteBuffer.wrap(this.data).asReadOnlyBuffer();
+		}
+		
+		final FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+		
+		try {
+			if (this.offset + this.length > channel.size()) {
+				throw new IOException("Cover art lies outside of the file! (offset=" +
+						this.offset + ", length=" + this.length + ")");
+			}
+			
+			return channel.map(MapMode.READ_ONLY, this.offset, this.length).asReadOnlyBuffer();
+		} finally {
+			IOUtils.closeQuietly(channel);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + " (format=" + this.format + ", offset=" +
+				this.offset + ", length=" + this.length + ")";
+	}
+	
+	/**
+	 * ENUM to represent the cover art image formats, identified by the flags of the
+	 * data box holding the image.
+	 * 
+	 * @author Anthony Campbell - anthonycampbell.co.uk
+	 */
+	public enum Format {
+		JPEG(13),
+		PNG(14),
+		BMP(27),
+		UNKNOWN(-1);
+		
+		// Declare properties
+		private final int id;
+		
+		/**
+		 * Constructor.
+		 * 
+		 * @param id - the data box flags.
+		 */
+		private Format(final int id) {
+			this.id = id;
+		}
+		
+		/**
+		 * @return the data box flags.
+		 */
+		public int getId() {
+			return this.id;
+		}
+		
+		/**
+		 * @param id - the data box flags.
+		 * @return the matching format, or UNKNOWN.
+		 */
+		public static Format forId(final long id) {
+			for (final Format format : values()) {
+				if (format.id == id) {
+					return format;
+				}
+			}
+			
+			return UNKNOWN;
+		}
+	}
+}
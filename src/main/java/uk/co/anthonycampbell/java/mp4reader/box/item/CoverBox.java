@@ -0,0 +1,115 @@
+package uk.co.anthonycampbell.java.mp4reader.box.item;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 Apple cover item box (covr). Each data box it holds
+ * is one image, recorded as a {@link CoverArt} handle rather than read.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class CoverBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(CoverBox.class.getName());
+	
+	// Declare box properties
+	protected final List<CoverArt> covers;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public CoverBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		// Prepare defaults
+		this.covers = new ArrayList<>();
+		
+		// Only the data box headers are read
+		while (bytesRemaining() >= 16) {
+			final long startPosition = reader.bytesRead();
+			final long size = reader.readUnsignedInt();
+			final int fourcc = reader.readInt();
+			
+			// Validate
+			if (size < 8 || size - 8 > bytesRemaining()) {
+				log.warn("Invalid cover data box size! (size=" + size + ", position=" +
+						startPosition + ")");
+				break;
+			}
+			
+			if (BoxType.APPLE_ITEM_DATA.getFourcc() == fourcc && size >= 16) {
+				reader.readUnsignedByte();
+				final CoverArt.Format format = CoverArt.Format.forId(reader.readHex());
+				reader.skip(4);
+				
+				final long offset = reader.bytesRead();
+				final int length = (int) (size - 16);
+				
+				// Without a file to read back from the image is copied
+				if (reader.getFile() != null) {
+					this.covers.add(new CoverArt(reader.getFile(), offset, length, format));
+				} else {
+					this.covers.add(new CoverArt(offset, reader.readBytes(length), format));
+				}
+				
+				log.debug("- '{}' -> {}", boxName, this.covers.get(this.covers.size() - 1));
+			}
+			
+			reader.seek(startPosition + size);
+		}
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the cover art images, in file order.
+	 */
+	public List<CoverArt> getCovers() {
+		return this.covers;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
@@ -17,8 +17,7 @@ package uk.co.anthonycampbell.java.mp4reader.box.item;
  */
 
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -48,10 +47,10 @@ public class IlstBox extends AbstractBox implements Box {
 	// Declare box properties
 	protected final String title;
 	protected final String show;
-	protected final Date date;
+	protected final Instant date;
 	protected final Rating rating;
 	protected final String genre;
-	protected final byte[] cover;
+	protected final List<CoverArt> covers;
 	protected final String description;
 	protected final String synopsis;
 	protected final MediaType mediaType;
@@ -92,10 +91,10 @@ public class IlstBox extends AbstractBox implements Box {
 		// Set defaults
 		String title = "";
 		String show = "";
-		Date date = new Date();
+		Instant date = null;
 		Rating rating = Rating.UNKNOWN;
 		String genre = "";
-		byte[] cover = new byte[0];
+		List<CoverArt> covers = new ArrayList<>();
 		String description = "";
 		String synopsis = "";
 		MediaType mediaType = MediaType.UNKNOWN;
@@ -141,9 +140,8 @@ public class IlstBox extends AbstractBox implements Box {
 							
 						case APPLE_ITEM_CREATION:
 							final String creationDateString = new String(data);
-							try {
-								date = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").parse(creationDateString);
-							} catch (final ParseException pe) {
+							date = Util.parseDate(creationDateString);
+							if (date == null) {
 								log.error("Creation date value is invalid! (creationDateString=" +
 										creationDateString + ")");
 							}
@@ -154,10 +152,6 @@ public class IlstBox extends AbstractBox implements Box {
 							genre = new String(data);
 							break;
 							
-						case APPLE_ITEM_COVER:
-							cover = data;
-							break;
-							
 						case APPLE_ITEM_DESCRIPTION:
 							description = new String(data);
 							break;
@@ -309,7 +303,12 @@ public class IlstBox extends AbstractBox implements Box {
 					}
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);	
+			
+			} else if (nextBox instanceof CoverBox) {
+				covers.addAll(((CoverBox) nextBox).getCovers());
+				
+				log.debug("- '{}' -> {}", boxName, nextBox);
 			}
 		}
 
@@ -318,7 +317,7 @@ public class IlstBox extends AbstractBox implements Box {
 		this.date = date;
 		this.rating = rating;
 		this.genre = genre;
-		this.cover = cover;
+		this.covers = covers;
 		this.description = description;
 		this.synopsis = synopsis;
 		this.mediaType = mediaType;
@@ -362,9 +361,16 @@ public class IlstBox extends AbstractBox implements Box {
 	}
 
 	/**
-	 * @return the creation date.
+	 * @return the creation date, or the current date when the item list has none.
 	 */
 	public Date getDate() {
+		return (this.date != null) ? Date.from(this.date) : new Date();
+	}
+	
+	/**
+	 * @return the creation time, or null when the item list has none.
+	 */
+	public Instant getDateTime() {
 		return this.date;
 	}
 
@@ -383,10 +389,17 @@ public class IlstBox extends AbstractBox implements Box {
 	}
 	
 	/**
-	 * @return the cover.
+	 * @return the first cover art image, or null without cover art.
+	 */
+	public CoverArt getCover() {
+		return (this.covers.isEmpty()) ? null : this.covers.get(0);
+	}
+	
+	/**
+	 * @return the cover art images, in file order.
 	 */
-	public byte[] getCover() {
-		return this.cover;
+	public List<CoverArt> getCovers() {
+		return this.covers;
 	}
 	
 	/**
@@ -64,7 +64,7 @@ public class ItemBox extends AbstractBox implements Box {
 		if (bytesRemaining() >= 8) {
 			final Box nextBox = reader.nextBox();
 
-			log.debug("- '" + boxType + "' -> " + nextBox);
+			log.debug("- '{}' -> {}", boxType, nextBox);
 			
 			// Validate
 			if (nextBox != null) {
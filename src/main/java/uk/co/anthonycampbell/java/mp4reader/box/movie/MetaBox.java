@@ -73,7 +73,7 @@ public class MetaBox extends AbstractBox implements Box {
 					metaData = (IlstBox) nextBox;			
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);	
 			}
 		}
 		
@@ -27,6 +27,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MvexBox;
 import uk.co.anthonycampbell.java.mp4reader.box.item.IlstBox;
 import uk.co.anthonycampbell.java.mp4reader.box.track.TrakBox;
 import uk.co.anthonycampbell.java.mp4reader.box.user.UdtaBox;
@@ -51,6 +52,7 @@ public class MoovBox extends AbstractBox implements Box {
 	protected final BigInteger duration;
 	protected final SortedSet<TrakBox> trackSet;
 	protected final IlstBox metaData;
+	protected final MvexBox movieExtends;
 	
 	/**
 	 * Constructor.
@@ -72,6 +74,7 @@ public class MoovBox extends AbstractBox implements Box {
 		BigInteger duration = new BigInteger("0");
 		this.trackSet = new TreeSet<>();
 		IlstBox metaData = null;
+		MvexBox movieExtends = null;
 		
 		// Parse inner boxes
 		while (bytesRemaining() > 0) {
@@ -83,14 +86,8 @@ public class MoovBox extends AbstractBox implements Box {
 						BoxType.MOVIE_PRESENTATION_HEADER == nextBox.getBoxType()) {
 					final MvhdBox mvhdBox = (MvhdBox) nextBox;
 
-					final BigInteger bigCreationDate = mvhdBox.getCreationDate();
-					final BigInteger bigModifiedDate = mvhdBox.getModifiedDate();
-					if (bigCreationDate != null) {
-						creationDate = Util.generateDate(bigCreationDate);
-					}
-					if (bigModifiedDate != null) {
-						modifiedDate = Util.generateDate(bigModifiedDate);
-					}
+					creationDate = Date.from(mvhdBox.getCreationTime());
+					modifiedDate = Date.from(mvhdBox.getModificationTime());
 
 					timeScale = mvhdBox.getTimeScale();
 					duration = mvhdBox.getDuration();
@@ -100,9 +97,12 @@ public class MoovBox extends AbstractBox implements Box {
 					
 				} else if (nextBox instanceof UdtaBox && BoxType.USER_DATA == nextBox.getBoxType()) {
 					metaData = ((UdtaBox) nextBox).getMetaData();
+					
+				} else if (nextBox instanceof MvexBox && BoxType.MOVIE_EXTENDS == nextBox.getBoxType()) {
+					movieExtends = (MvexBox) nextBox;
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);	
 			}
 		}
 
@@ -111,6 +111,7 @@ public class MoovBox extends AbstractBox implements Box {
 		this.timeScale = timeScale;
 		this.duration = duration;
 		this.metaData = metaData;
+		this.movieExtends = movieExtends;
 		
 		// Clean up
 		skip();
@@ -158,6 +159,13 @@ public class MoovBox extends AbstractBox implements Box {
 		return this.metaData;
 	}
 
+	/**
+	 * @return the movie extends box (mvex), or null when the file is not fragmented.
+	 */
+	public MvexBox getMovieExtends() {
+		return this.movieExtends;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder builder = new StringBuilder();
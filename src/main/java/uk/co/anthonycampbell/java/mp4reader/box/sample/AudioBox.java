@@ -109,7 +109,7 @@ public class AudioBox extends AbstractBox implements Box {
 					streamType = StreamType.AUDIO;
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);
+				log.debug("- '{}' -> {}", boxName, nextBox);
 			}
 		}
 		
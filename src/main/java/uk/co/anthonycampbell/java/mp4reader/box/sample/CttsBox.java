@@ -0,0 +1,192 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.common.DeferredInts;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 media composition offset box (ctts), the difference
+ * between each frame's decode and presentation time.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class CttsBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(CttsBox.class.getName());
+
+	// Declare box properties
+	protected final short version;
+	protected final long flags;
+	protected final long numberOfOffsets;
+	protected final int numberOfEntries;
+	private final DeferredInts entries;
+	private volatile long[] firstFrames;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public CttsBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		this.version = reader.readUnsignedByte();
+		this.flags = reader.readHex();
+		this.numberOfOffsets = reader.readUnsignedInt();
+		
+		// Get composition offsets, packed as frame count and offset pairs
+		this.numberOfEntries = (int) Math.min(this.numberOfOffsets, bytesRemaining() / 8);
+		this.entries = readTable(this.numberOfEntries * 2);
+		
+		if (log.isTraceEnabled() && this.entries.isRead()) {
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				log.trace("- frameCount: " + getFrameCount(i));
+				log.trace("- offset: " + getOffset(i));
+			}
+		}
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the version.
+	 */
+	public short getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * @return the hex flags.
+	 */
+	public long getFlags() {
+		return this.flags;
+	}
+	
+	/**
+	 * @return the hex flags string.
+	 */
+	public String getFlagsHexString() {
+		return Long.toHexString(this.flags);
+	}
+	
+	/**
+	 * @return the number of offsets.
+	 */
+	public long getNumberOfOffsets() {
+		return this.numberOfOffsets;
+	}
+	
+	/**
+	 * @return the number of composition offset entries read.
+	 */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the frame count of the provided entry.
+	 */
+	public long getFrameCount(final int index) {
+		return this.entries.get()[index * 2] & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * Composition offset of the provided entry. Offsets are signed from version 1.
+	 * 
+	 * @param index - the entry index.
+	 * @return the composition offset of the provided entry, in the media time scale.
+	 */
+	public long getOffset(final int index) {
+		final int offset = this.entries.get()[(index * 2) + 1];
+		
+		return (this.version == 0) ? offset & 0xFFFFFFFFL : offset;
+	}
+	
+	/**
+	 * Composition offset of the provided frame, found with a binary search over the
+	 * cumulative entry frame counts.
+	 * 
+	 * @param frame - the frame index, from zero.
+	 * @return the composition offset of the frame, in the media time scale, or zero
+	 * 		when the frame is not covered by any entry.
+	 */
+	public long getCompositionOffset(final long frame) {
+		final long[] firstFrames = firstFrames();
+		
+		// Validate
+		if (frame < 0 || frame >= firstFrames[this.numberOfEntries]) {
+			return 0;
+		}
+		
+		int entry = Arrays.binarySearch(firstFrames, 0, this.numberOfEntries, frame);
+		if (entry < 0) {
+			entry = -entry - 2;
+		}
+		while (entry + 1 < this.numberOfEntries && firstFrames[entry + 1] == frame) {
+			entry++;
+		}
+		
+		return getOffset(entry);
+	}
+	
+	/**
+	 * Helper method to return the first frame of every entry, with the total number of
+	 * frames as the last value. Built on first use.
+	 * 
+	 * @return the first frames.
+	 */
+	private long[] firstFrames() {
+		long[] firstFrames = this.firstFrames;
+		if (firstFrames == null) {
+			firstFrames = new long[this.numberOfEntries + 1];
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				firstFrames[i + 1] = firstFrames[i] + getFrameCount(i);
+			}
+			this.firstFrames = firstFrames;
+		}
+		
+		return firstFrames;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
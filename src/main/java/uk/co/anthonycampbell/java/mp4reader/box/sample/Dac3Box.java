@@ -60,7 +60,9 @@ public class Dac3Box extends AbstractBox implements Box {
 
 		final int dac3Bytes = (((int) reader.readHex()) << 8);
 		
-		log.trace("- dac3 bytes: " + Integer.toBinaryString(dac3Bytes));
+		if (log.isTraceEnabled()) {
+			log.trace("- dac3 bytes: " + Integer.toBinaryString(dac3Bytes));
+		}
 		
 		this.sampleRateCode = (dac3Bytes >>> 30);
 		this.bitStreamIdentification = ((dac3Bytes << 2) >>> 27);
@@ -69,13 +71,15 @@ public class Dac3Box extends AbstractBox implements Box {
 		this.lowFrequencyEffectsChannel = ((dac3Bytes << 13) >>> 31);
 		this.bitRateCode = ((dac3Bytes << 14) >>> 27);
 
-		log.trace("- sampleRateCode: " + Integer.toBinaryString(this.sampleRateCode));
-		log.trace("- bitStreamIdentification: " + Integer.toBinaryString(this.bitStreamIdentification));
-		log.trace("- bitStreamMode: " + Integer.toBinaryString(this.bitStreamMode));
-		log.trace("- audioCodingMode: " + Integer.toBinaryString(this.audioCodingMode));
-		log.trace("- lowFrequencyEffectsChannel: " + Integer.toBinaryString(this.lowFrequencyEffectsChannel));
-		log.trace("- bitRateCode: " + Integer.toBinaryString(this.bitRateCode));
-		log.trace("- dac3Box: " + toString());
+		if (log.isTraceEnabled()) {
+			log.trace("- sampleRateCode: " + Integer.toBinaryString(this.sampleRateCode));
+			log.trace("- bitStreamIdentification: " + Integer.toBinaryString(this.bitStreamIdentification));
+			log.trace("- bitStreamMode: " + Integer.toBinaryString(this.bitStreamMode));
+			log.trace("- audioCodingMode: " + Integer.toBinaryString(this.audioCodingMode));
+			log.trace("- lowFrequencyEffectsChannel: " + Integer.toBinaryString(this.lowFrequencyEffectsChannel));
+			log.trace("- bitRateCode: " + Integer.toBinaryString(this.bitRateCode));
+			log.trace("- dac3Box: {}", this);
+		}
 		
 		// Clean up
 		skip();
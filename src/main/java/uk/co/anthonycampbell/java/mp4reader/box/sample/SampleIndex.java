@@ -0,0 +1,165 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Arrays;
+
+/**
+ * Index to map a track's samples to their position in the file. Combines the frame
+ * blocks (stsc), frame block sizes (stsz) and chunk offsets (stco / co64) of a sample
+ * table.
+ * 
+ * Only the first sample of every chunk is stored, so the index needs four bytes per
+ * chunk. A sample's chunk is found with a binary search and its position within the
+ * chunk from the cumulative block sizes.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class SampleIndex {
+
+	// Declare properties
+	private final StszBox frameBlockSize;
+	private final StcoBox chunkOffsets;
+	private final int numberOfSamples;
+	private final int[] chunkFirstSamples;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param frameBlocks - the frame blocks box (stsc).
+	 * @param frameBlockSize - the frame block size box (stsz).
+	 * @param chunkOffsets - the chunk offset box (stco or co64).
+	 * @throws IllegalArgumentException - Provided argument was invalid!
+	 */
+	public SampleIndex(final StscBox frameBlocks, final StszBox frameBlockSize,
+			final StcoBox chunkOffsets) throws IllegalArgumentException {
+		// Validate
+		if (frameBlocks == null || frameBlockSize == null || chunkOffsets == null) {
+			throw new IllegalArgumentException("Provided sample table is invalid! (frameBlocks=" +
+					frameBlocks + ", frameBlockSize=" + frameBlockSize + ", chunkOffsets=" +
+					chunkOffsets + ")");
+		}
+		
+		this.frameBlockSize = frameBlockSize;
+		this.chunkOffsets = chunkOffsets;
+		
+		// First sample of every chunk, plus the total number of samples
+		final int numberOfChunks = chunkOffsets.getNumberOfEntries();
+		final int numberOfEntries = frameBlocks.getNumberOfEntries();
+		this.chunkFirstSamples = new int[numberOfChunks + 1];
+		
+		long sample = 0;
+		int chunk = 0;
+		for (int i = 0; i < numberOfEntries && chunk < numberOfChunks; ++i) {
+			final long lastChunk = (i + 1 < numberOfEntries) ?
+					Math.min(frameBlocks.getBlock(i + 1) - 1, numberOfChunks) : numberOfChunks;
+			final long samplesPerChunk = frameBlocks.getNumberOfFrames(i);
+			
+			for (; chunk < lastChunk; ++chunk) {
+				this.chunkFirstSamples[chunk] = (int) Math.min(sample, Integer.MAX_VALUE);
+				sample += samplesPerChunk;
+			}
+		}
+		
+		// Chunks beyond the frame blocks hold no samples
+		final int lastSample = (int) Math.min(Math.min(sample, Integer.MAX_VALUE),
+				(frameBlockSize.getFixedBlockSize() != 0) ?
+						Math.min(frameBlockSize.getNumberOfBlocks(), Integer.MAX_VALUE) :
+						frameBlockSize.getNumberOfEntries());
+		for (; chunk <= numberOfChunks; ++chunk) {
+			this.chunkFirstSamples[chunk] = lastSample;
+		}
+		
+		this.numberOfSamples = lastSample;
+	}
+	
+	/**
+	 * @return the number of samples.
+	 */
+	public int getNumberOfSamples() {
+		return this.numberOfSamples;
+	}
+	
+	/**
+	 * @return the number of chunks.
+	 */
+	public int getNumberOfChunks() {
+		return this.chunkFirstSamples.length - 1;
+	}
+	
+	/**
+	 * Find the chunk holding the provided sample.
+	 * 
+	 * @param sample - the sample index, from zero.
+	 * @return the chunk index, from zero.
+	 */
+	public int getChunk(final int sample) {
+		validate(sample);
+		
+		// Find the last chunk starting at or before the sample, skipping empty chunks
+		int chunk = Arrays.binarySearch(this.chunkFirstSamples, 0, getNumberOfChunks(), sample);
+		if (chunk < 0) {
+			chunk = -chunk - 2;
+		}
+		while (chunk + 1 < getNumberOfChunks() && this.chunkFirstSamples[chunk + 1] == sample) {
+			chunk++;
+		}
+		
+		return chunk;
+	}
+	
+	/**
+	 * @param sample - the sample index, from zero.
+	 * @return the absolute file offset of the provided sample.
+	 */
+	public long getOffset(final int sample) {
+		final int chunk = getChunk(sample);
+		final int firstSample = this.chunkFirstSamples[chunk];
+		
+		return this.chunkOffsets.getChunkOffset(chunk) +
+				(this.frameBlockSize.getBlockOffset(sample) -
+						this.frameBlockSize.getBlockOffset(firstSample));
+	}
+	
+	/**
+	 * @param sample - the sample index, from zero.
+	 * @return the size of the provided sample in bytes.
+	 */
+	public long getSize(final int sample) {
+		validate(sample);
+		
+		return this.frameBlockSize.getBlockSize(sample);
+	}
+	
+	/**
+	 * Helper method to validate the provided sample index.
+	 * 
+	 * @param sample - the sample index.
+	 */
+	private void validate(final int sample) {
+		if (sample < 0 || sample >= this.numberOfSamples) {
+			throw new IndexOutOfBoundsException("Provided sample is invalid! (sample=" + sample +
+					", numberOfSamples=" + this.numberOfSamples + ")");
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " -> numberOfSamples=" + this.numberOfSamples +
+				" numberOfChunks=" + getNumberOfChunks();
+	}
+}
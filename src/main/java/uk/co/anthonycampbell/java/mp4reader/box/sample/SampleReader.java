@@ -0,0 +1,257 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.reader.source.MappedSource;
+
+/**
+ * Reader to access a track's sample data in the media data (mdat) without copying
+ * it onto the heap. Samples are returned as read-only slices of memory mapped windows
+ * of the file, or transferred straight to a channel with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ * 
+ * Windows are mapped on first use and kept until the reader is closed. A sample
+ * spanning two windows is mapped on its own.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class SampleReader implements Closeable {
+
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(SampleReader.class.getName());
+
+	// Declare properties
+	private final SampleIndex sampleIndex;
+	private final FileChannel channel;
+	private final long size;
+	private final int windowSize;
+	private final ByteBuffer[] windows;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param file - the file holding the samples.
+	 * @param sampleIndex - the index of the track's samples.
+	 * @throws IOException - Unable to open the provided file.
+	 */
+	public SampleReader(final File file, final SampleIndex sampleIndex) throws IOException {
+		this(file, sampleIndex, MappedSource.DEFAULT_WINDOW_SIZE);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param file - the file holding the samples.
+	 * @param sampleIndex - the index of the track's samples.
+	 * @param windowSize - the maximum number of bytes mapped at once.
+	 * @throws IOException - Unable to open the provided file.
+	 */
+	public SampleReader(final File file, final SampleIndex sampleIndex, final int windowSize)
+			throws IOException {
+		// Validate
+		if (file == null || sampleIndex == null || windowSize < 8) {
+			throw new IllegalArgumentException("Provided sample reader arguments are invalid! (file=" +
+					file + ", sampleIndex=" + sampleIndex + ", windowSize=" + windowSize + ")");
+		}
+		
+		this.sampleIndex = sampleIndex;
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.size = this.channel.size();
+		this.windowSize = windowSize;
+		this.windows = new ByteBuffer[(int) ((this.size + windowSize - 1) / windowSize)];
+	}
+	
+	/**
+	 * @return the index of the track's samples.
+	 */
+	public SampleIndex getSampleIndex() {
+		return this.sampleIndex;
+	}
+	
+	/**
+	 * Get the data of the provided sample without copying it.
+	 * 
+	 * @param sample - the sample index, from zero.
+	 * @return read-only buffer holding the sample data.
+	 * @throws IOException - Unable to map the sample data.
+	 */
+	public ByteBuffer getSample(final int sample) throws IOException {
+		final long offset = this.sampleIndex.getOffset(sample);
+		final int length = (int) this.sampleIndex.getSize(sample);
+		
+		if (offset < 0 || offset + length > this.size) {
+			throw new IOException("Sample lies outside of the file! (sample=" + sample + ", offset=" +
+					offset + ", size=" + length + ", fileSize=" + this.size + ")");
+		}
+		
+		final int windowIndex = (int) (offset / this.windowSize);
+		final long windowStart = (long) windowIndex * this.windowSize;
+		
+		// Sample spans two windows
+		if (offset + length > windowStart + this.windowSize) {
+			if (log.isTraceEnabled()) {
+				log.trace("Mapping sample " + sample + " " + offset + " -> " + (offset + length));
+			}
+			return this.channel.map(MapMode.READ_ONLY, offset, length).asReadOnlyBuffer();
+		}
+		
+		final ByteBuffer slice = window(windowIndex).duplicate();
+		slice.position((int) (offset - windowStart));
+		slice.limit((int) (offset - windowStart) + length);
+		
+		return slice.slice();
+	}
+	
+	/**
+	 * Transfer the data of the provided sample to the provided channel.
+	 * 
+	 * @param sample - the sample index, from zero.
+	 * @param target - the channel to write to, in blocking mode.
+	 * @return the number of bytes transferred.
+	 * @throws IOException - Unable to transfer the sample data.
+	 */
+	public long transferTo(final int sample, final WritableByteChannel target) throws IOException {
+		return transferTo(sample, sample + 1, target);
+	}
+	
+	/**
+	 * Transfer the data of the provided range of samples to the provided channel, in
+	 * sample order. Samples which follow each other in the file are transferred together.
+	 * 
+	 * @param fromSample - the first sample index, inclusive.
+	 * @param toSample - the last sample index, exclusive.
+	 * @param target - the channel to write to, in blocking mode.
+	 * @return the number of bytes transferred.
+	 * @throws IOException - Unable to transfer the sample data.
+	 */
+	public long transferTo(final int fromSample, final int toSample, final WritableByteChannel target)
+			throws IOException {
+		// Validate
+		if (target == null || fromSample > toSample) {
+			throw new IllegalArgumentException("Provided transfer arguments are invalid! (fromSample=" +
+					fromSample + ", toSample=" + toSample + ", target=" + target + ")");
+		}
+		
+		long transferred = 0;
+		long runOffset = 0;
+		long runLength = 0;
+		
+		for (int sample = fromSample; sample < toSample; ++sample) {
+			final long offset = this.sampleIndex.getOffset(sample);
+			final long length = this.sampleIndex.getSize(sample);
+			
+			if (runLength > 0 && runOffset + runLength == offset) {
+				runLength += length;
+			} else {
+				transferred += transfer(runOffset, runLength, target);
+				runOffset = offset;
+				runLength = length;
+			}
+		}
+		
+		return transferred + transfer(runOffset, runLength, target);
+	}
+	
+	/**
+	 * Close the file channel and release the mapped windows.
+	 */
+	@Override
+	public void close() {
+		// Mappings are released by the garbage collector
+		synchronized (this.windows) {
+			for (int i = 0; i < this.windows.length; ++i) {
+				this.windows[i] = null;
+			}
+		}
+		IOUtils.closeQuietly(this.channel);
+	}
+	
+	/**
+	 * Helper method to get the provided window, mapping it on first use.
+	 * 
+	 * @param windowIndex - the window index.
+	 * @return the mapped window.
+	 * @throws IOException - Unable to map the file channel.
+	 */
+	private ByteBuffer window(final int windowIndex) throws IOException {
+		synchronized (this.windows) {
+			ByteBuffer window = this.windows[windowIndex];
+			
+			if (window == null) {
+				final long windowStart = (long) windowIndex * this.windowSize;
+				final long length = Math.min(this.windowSize, this.size - windowStart);
+				
+				if (log.isTraceEnabled()) {
+					log.trace("Mapping window " + windowStart + " -> " + (windowStart + length));
+				}
+				
+				window = this.channel.map(MapMode.READ_ONLY, windowStart, length).asReadOnlyBuffer();
+				this.windows[windowIndex] = window;
+			}
+			
+			return window;
+		}
+	}
+	
+	/**
+	 * Helper method to transfer the provided byte range to the provided channel.
+	 * 
+	 * @param offset - the file offset.
+	 * @param length - the number of bytes.
+	 * @param target - the channel to write to, in blocking mode.
+	 * @return the number of bytes transferred.
+	 * @throws IOException - Unable to transfer the bytes.
+	 */
+	private long transfer(final long offset, final long length, final WritableByteChannel target)
+			throws IOException {
+		if (offset < 0 || offset + length > this.size) {
+			throw new IOException("Samples lie outside of the file! (offset=" + offset + ", size=" +
+					length + ", fileSize=" + this.size + ")");
+		}
+		
+		// Transfers may be partial, depending on the target channel
+		long transferred = 0;
+		while (transferred < length) {
+			final long count = this.channel.transferTo(offset + transferred, length - transferred, target);
+			if (count <= 0) {
+				throw new IOException("Unable to transfer samples! (offset=" + offset + ", size=" +
+						length + ", transferred=" + transferred + ")");
+			}
+			transferred += count;
+		}
+		
+		return transferred;
+	}
+	
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " -> " + this.sampleIndex;
+	}
+}
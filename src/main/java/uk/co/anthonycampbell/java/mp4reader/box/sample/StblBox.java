@@ -41,7 +41,13 @@ public class StblBox extends AbstractBox implements Box {
 	protected final VideoBox videoSample;
 	protected final AudioBox audioSample;
 	protected final TextBox textSample;
-	protected final long totalBlockSize;
+	protected final SttsBox framingTiming;
+	protected final StscBox frameBlocks;
+	protected final StszBox frameBlockSize;
+	protected final StcoBox chunkOffsets;
+	protected final StssBox syncFrames;
+	protected final CttsBox compositionOffsets;
+	private volatile SampleIndex sampleIndex;
 	
 	/**
 	 * Constructor.
@@ -59,7 +65,12 @@ public class StblBox extends AbstractBox implements Box {
 		VideoBox videoSample = null;
 		AudioBox audioSample = null;
 		TextBox textSample = null;
-		long totalBlockSize = 0;
+		SttsBox framingTiming = null;
+		StscBox frameBlocks = null;
+		StszBox frameBlockSize = null;
+		StcoBox chunkOffsets = null;
+		StssBox syncFrames = null;
+		CttsBox compositionOffsets = null;
 		
 		// Parse inner boxes
 		while (bytesRemaining() > 0) {
@@ -76,20 +87,42 @@ public class StblBox extends AbstractBox implements Box {
 					
 				} else if (nextBox instanceof SttsBox &&
 						BoxType.SAMPLE_FRAMING_TIMING == nextBox.getBoxType()) {
-								
+					framingTiming = (SttsBox) nextBox;
+					
+				} else if (nextBox instanceof StscBox &&
+						BoxType.SAMPLE_FRAME_BLOCKS == nextBox.getBoxType()) {
+					frameBlocks = (StscBox) nextBox;
+					
 				} else if (nextBox instanceof StszBox &&
 						BoxType.SAMPLE_FRAME_BLOCK_SIZE == nextBox.getBoxType()) {
-					totalBlockSize = ((StszBox) nextBox).getTotalBlockSize();
+					frameBlockSize = (StszBox) nextBox;
+					
+				} else if (nextBox instanceof StcoBox &&
+						(BoxType.SAMPLE_CHUNK_OFFSET == nextBox.getBoxType() ||
+								BoxType.SAMPLE_CHUNK_OFFSET_64 == nextBox.getBoxType())) {
+					chunkOffsets = (StcoBox) nextBox;
+					
+				} else if (nextBox instanceof StssBox && BoxType.SAMPLE_SYNC == nextBox.getBoxType()) {
+					syncFrames = (StssBox) nextBox;
+					
+				} else if (nextBox instanceof CttsBox &&
+						BoxType.SAMPLE_COMPOSITION_OFFSET == nextBox.getBoxType()) {
+					compositionOffsets = (CttsBox) nextBox;
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);
+				log.debug("- '{}' -> {}", boxName, nextBox);
 			}
 		}
 		
 		this.videoSample = videoSample;
 		this.audioSample = audioSample;
 		this.textSample = textSample;
-		this.totalBlockSize = totalBlockSize;
+		this.framingTiming = framingTiming;
+		this.frameBlocks = frameBlocks;
+		this.frameBlockSize = frameBlockSize;
+		this.chunkOffsets = chunkOffsets;
+		this.syncFrames = syncFrames;
+		this.compositionOffsets = compositionOffsets;
 
 		// Clean up
 		skip();
@@ -117,10 +150,116 @@ public class StblBox extends AbstractBox implements Box {
 	}
 
 	/**
+	 * @return the frame timing box (stts).
+	 */
+	public SttsBox getFramingTiming() {
+		return this.framingTiming;
+	}
+	
+	/**
+	 * @return the frame blocks box (stsc).
+	 */
+	public StscBox getFrameBlocks() {
+		return this.frameBlocks;
+	}
+	
+	/**
+	 * @return the frame block size box (stsz).
+	 */
+	public StszBox getFrameBlockSize() {
+		return this.frameBlockSize;
+	}
+
+	/**
+	 * @return the chunk offset box (stco or co64).
+	 */
+	public StcoBox getChunkOffsets() {
+		return this.chunkOffsets;
+	}
+	
+	/**
+	 * @return the sync frame box (stss), or null when every frame is a sync frame.
+	 */
+	public StssBox getSyncFrames() {
+		return this.syncFrames;
+	}
+	
+	/**
+	 * @return the composition offset box (ctts), or null when frames are presented
+	 * 		in decode order.
+	 */
+	public CttsBox getCompositionOffsets() {
+		return this.compositionOffsets;
+	}
+	
+	/**
+	 * Find the key frame decoding has to start from to show the provided time, in
+	 * other words the last sync frame at or before the frame decoded at that time.
+	 * Runs in O(log n) over the frame timing and sync frame entries.
+	 * 
+	 * @param time - the decode time, in the media time scale.
+	 * @return the sync frame index, from zero, or -1 when there are no frames.
+	 */
+	public long findSyncFrame(final long time) {
+		// Validate
+		if (this.framingTiming == null) {
+			return -1;
+		}
+		
+		final long frame = this.framingTiming.getFrame(time);
+		if (frame < 0 || this.syncFrames == null) {
+			return frame;
+		}
+		
+		return this.syncFrames.findSyncFrame(frame);
+	}
+	
+	/**
+	 * @param frame - the frame index, from zero.
+	 * @return the presentation time of the provided frame, in the media time scale.
+	 */
+	public long getFrameTime(final long frame) {
+		// Validate
+		if (this.framingTiming == null) {
+			return 0;
+		}
+		
+		final long decodeTime = this.framingTiming.getFrameTime(frame);
+		
+		return (this.compositionOffsets != null) ?
+				decodeTime + this.compositionOffsets.getCompositionOffset(frame) : decodeTime;
+	}
+	
+	/**
+	 * Index to map samples to their position in the file, built on first use.
+	 * 
+	 * @return the sample index, or null when the sample table is incomplete.
+	 */
+	public SampleIndex getSampleIndex() {
+		SampleIndex sampleIndex = this.sampleIndex;
+		if (sampleIndex == null && this.frameBlocks != null && this.frameBlockSize != null &&
+				this.chunkOffsets != null) {
+			synchronized (this) {
+				sampleIndex = this.sampleIndex;
+				if (sampleIndex == null) {
+					sampleIndex = new SampleIndex(this.frameBlocks, this.frameBlockSize,
+							this.chunkOffsets);
+					this.sampleIndex = sampleIndex;
+				}
+			}
+		}
+		
+		return sampleIndex;
+	}
+
+	/**
+	 * Total size of every block in the sample table. With lazy sample tables the block
+	 * sizes are only decoded here when they are not all the same size.
+	 * 
 	 * @return the total block size.
 	 */
 	public long getTotalBlockSize() {
-		return this.totalBlockSize;
+		return (this.frameBlockSize != null) ? this.frameBlockSize.getTotalBlockSize() : 0;
 	}
 
 	@Override
@@ -0,0 +1,147 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.common.DeferredInts;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 media sample chunk offset boxes, 32-bit (stco) and
+ * 64-bit (co64).
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class StcoBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(StcoBox.class.getName());
+
+	// Declare box properties
+	protected final short version;
+	protected final long flags;
+	protected final long numberOfChunks;
+	protected final boolean isLarge;
+	protected final int numberOfEntries;
+	private final DeferredInts entries;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public StcoBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		this.version = reader.readUnsignedByte();
+		this.flags = reader.readHex();
+		this.numberOfChunks = reader.readUnsignedInt();
+		this.isLarge = BoxType.SAMPLE_CHUNK_OFFSET_64 == boxType;
+		
+		// Get chunk offsets, 64-bit offsets are packed as high and low int pairs
+		this.numberOfEntries =
+				(int) Math.min(this.numberOfChunks, bytesRemaining() / (this.isLarge ? 8 : 4));
+		this.entries = readTable(this.numberOfEntries * (this.isLarge ? 2 : 1));
+		
+		if (log.isTraceEnabled() && this.entries.isRead()) {
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				log.trace("- chunkOffset: " + getChunkOffset(i));
+			}
+		}
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the version.
+	 */
+	public short getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * @return the hex flags.
+	 */
+	public long getFlags() {
+		return this.flags;
+	}
+	
+	/**
+	 * @return the hex flags string.
+	 */
+	public String getFlagsHexString() {
+		return Long.toHexString(this.flags);
+	}
+	
+	/**
+	 * @return the number of chunks.
+	 */
+	public long getNumberOfChunks() {
+		return this.numberOfChunks;
+	}
+	
+	/**
+	 * @return whether the chunk offsets are 64-bit (co64).
+	 */
+	public boolean isLarge() {
+		return this.isLarge;
+	}
+	
+	/**
+	 * @return the number of chunk offset entries read.
+	 */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+	
+	/**
+	 * @param index - the chunk index.
+	 * @return the absolute file offset of the provided chunk.
+	 */
+	public long getChunkOffset(final int index) {
+		final int[] entries = this.entries.get();
+		
+		if (this.isLarge) {
+			return ((long) entries[index * 2] << 32) | (entries[(index * 2) + 1] & 0xFFFFFFFFL);
+		} else {
+			return entries[index] & 0xFFFFFFFFL;
+		}
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
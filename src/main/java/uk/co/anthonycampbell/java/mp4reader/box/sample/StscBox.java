@@ -17,7 +17,7 @@ package uk.co.anthonycampbell.java.mp4reader.box.sample;
  */
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.common.DeferredInts;
 import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
 import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
 import uk.co.anthonycampbell.java.mp4reader.util.Util;
@@ -43,7 +44,9 @@ public class StscBox extends AbstractBox implements Box {
 	protected final short version;
 	protected final long flags;
 	protected final long numberOfBlocks;
-	protected final List<Sample> samples;
+	protected final int numberOfEntries;
+	protected List<Sample> samples;
+	private final DeferredInts entries;
 	protected final long sampleDescriptionId;
 	
 	/**
@@ -62,20 +65,27 @@ public class StscBox extends AbstractBox implements Box {
 		this.version = reader.readUnsignedByte();
 		this.flags = reader.readHex();
 		this.numberOfBlocks = reader.readUnsignedInt();
-		this.samples = new ArrayList<StscBox.Sample>();
 		
-		// Get frame timings
-		for (int i = 0; i < this.numberOfBlocks; ++i) {
-			final long block = reader.readUnsignedInt();
-			final long numberOfFrames = reader.readUnsignedInt();
-
-			log.trace("- block: " + block);
-			log.trace("- numberOfFrames: " + numberOfFrames);
-			
-			this.samples.add(new Sample(block, numberOfFrames));
+		// Get frame blocks, packed as first block, number of frames and sample
+		// description ID triples
+		this.numberOfEntries = (int) Math.min(this.numberOfBlocks, bytesRemaining() / 12);
+		this.entries = readTable(this.numberOfEntries * 3);
+		if (this.numberOfEntries == 0) {
+			this.sampleDescriptionId = 0;
+		} else if (this.entries.isRead()) {
+			this.sampleDescriptionId = getSampleDescriptionId(0);
+		} else {
+			reader.skip(8);
+			this.sampleDescriptionId = reader.readUnsignedInt();
 		}
 		
-		this.sampleDescriptionId = reader.readUnsignedInt();
+		if (log.isTraceEnabled() && this.entries.isRead()) {
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				log.trace("- block: " + getBlock(i));
+				log.trace("- numberOfFrames: " + getNumberOfFrames(i));
+				log.trace("- sampleDescriptionId: " + getSampleDescriptionId(i));
+			}
+		}
 		
 		// Clean up
 		skip();
@@ -110,14 +120,62 @@ public class StscBox extends AbstractBox implements Box {
 	}
 	
 	/**
+	 * @return the number of frame block entries read.
+	 */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the first block of the provided entry, numbered from one.
+	 */
+	public long getBlock(final int index) {
+		return this.entries.get()[index * 3] & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the number of frames of the provided entry.
+	 */
+	public long getNumberOfFrames(final int index) {
+		return this.entries.get()[(index * 3) + 1] & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the sample description ID of the provided entry.
+	 */
+	public long getSampleDescriptionId(final int index) {
+		return this.entries.get()[(index * 3) + 2] & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * Read only view of the frame block entries. Each sample is created on access.
+	 * 
 	 * @return the samples list.
 	 */
 	public List<Sample> getSamples() {
+		if (this.samples == null) {
+			this.samples = new AbstractList<Sample>() {
+				@Override
+				public Sample get(final int index) {
+					return new Sample(getBlock(index), getNumberOfFrames(index),
+							getSampleDescriptionId(index));
+				}
+
+				@Override
+				public int size() {
+					return getNumberOfEntries();
+				}
+			};
+		}
+		
 		return this.samples;
 	}
 	
 	/**
-	 * @return the sample description ID.
+	 * @return the sample description ID of the first entry.
 	 */
 	public long getSampleDescriptionId() {
 		return this.sampleDescriptionId;
@@ -137,21 +195,24 @@ public class StscBox extends AbstractBox implements Box {
 	 * 
 	 * @author Anthony Campbell - anthonycampbell.co.uk
 	 */
-	public class Sample {
+	public static class Sample {
 		
 		// Declare properties
 		private final long block;
 		private final long numberOfFrames;
+		private final long sampleDescriptionId;
 		
 		/**
 		 * Constructor.
 		 * 
-		 * @param frameCount - sample frame count.
-		 * @param duration - sample duration.
+		 * @param block - first block of the run.
+		 * @param numberOfFrames - number of frames in each block.
+		 * @param sampleDescriptionId - sample description ID.
 		 */
-		public Sample(final long frameCount, final long duration) {
-			this.block = frameCount;
-			this.numberOfFrames = duration;
+		public Sample(final long block, final long numberOfFrames, final long sampleDescriptionId) {
+			this.block = block;
+			this.numberOfFrames = numberOfFrames;
+			this.sampleDescriptionId = sampleDescriptionId;
 		}
 
 		/**
@@ -168,6 +229,13 @@ public class StscBox extends AbstractBox implements Box {
 			return this.numberOfFrames;
 		}
 
+		/**
+		 * @return the sample description ID.
+		 */
+		public long getSampleDescriptionId() {
+			return this.sampleDescriptionId;
+		}
+
 		@Override
 		public String toString() {
 			final StringBuilder builder = new StringBuilder();
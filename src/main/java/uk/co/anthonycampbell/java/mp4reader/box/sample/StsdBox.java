@@ -86,7 +86,7 @@ public class StsdBox extends AbstractBox implements Box {
 					textBox = (TextBox) nextBox;	
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);	
 			}
 		}
 
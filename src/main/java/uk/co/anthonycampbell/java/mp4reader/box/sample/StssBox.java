@@ -0,0 +1,169 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.common.DeferredInts;
+import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.util.Util;
+
+/**
+ * Class to encapsulate the MP4 media sync sample box (stss), the list of key frames.
+ * Tracks without this box only have key frames.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class StssBox extends AbstractBox implements Box {
+	
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(StssBox.class.getName());
+
+	// Declare box properties
+	protected final short version;
+	protected final long flags;
+	protected final long numberOfSyncFrames;
+	protected final int numberOfEntries;
+	private final DeferredInts entries;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public StssBox(final MP4Reader reader, final long remainingOffset, final String boxName,
+			final BoxType boxType) throws IOException {
+		super(reader, remainingOffset, boxName, boxType);
+		
+		this.version = reader.readUnsignedByte();
+		this.flags = reader.readHex();
+		this.numberOfSyncFrames = reader.readUnsignedInt();
+		
+		// Get sync frame numbers, numbered from one
+		this.numberOfEntries = (int) Math.min(this.numberOfSyncFrames, bytesRemaining() / 4);
+		this.entries = readTable(this.numberOfEntries);
+		
+		if (log.isTraceEnabled() && this.entries.isRead()) {
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				log.trace("- syncFrame: " + getSyncFrame(i));
+			}
+		}
+		
+		// Clean up
+		skip();
+	}
+	
+	/**
+	 * @return the version.
+	 */
+	public short getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * @return the hex flags.
+	 */
+	public long getFlags() {
+		return this.flags;
+	}
+	
+	/**
+	 * @return the hex flags string.
+	 */
+	public String getFlagsHexString() {
+		return Long.toHexString(this.flags);
+	}
+	
+	/**
+	 * @return the number of sync frames.
+	 */
+	public long getNumberOfSyncFrames() {
+		return this.numberOfSyncFrames;
+	}
+	
+	/**
+	 * @return the number of sync frame entries read.
+	 */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the sync frame of the provided entry, numbered from zero.
+	 */
+	public long getSyncFrame(final int index) {
+		return (this.entries.get()[index] & 0xFFFFFFFFL) - 1;
+	}
+	
+	/**
+	 * Find the last sync frame at or before the provided frame, in other words the key
+	 * frame decoding has to start from to show it.
+	 * 
+	 * @param frame - the frame index, from zero.
+	 * @return the sync frame index, from zero, or -1 when there are no sync frames.
+	 */
+	public long findSyncFrame(final long frame) {
+		// Validate
+		if (this.numberOfEntries == 0) {
+			return -1;
+		}
+		
+		// Sync frames are stored in ascending order, numbered from one
+		final int[] entries = this.entries.get();
+		int low = 0;
+		int high = this.numberOfEntries - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			if ((entries[middle] & 0xFFFFFFFFL) - 1 <= frame) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		
+		// Before the first sync frame, start from the first one
+		return getSyncFrame(Math.max(high, 0));
+	}
+	
+	/**
+	 * @param frame - the frame index, from zero.
+	 * @return whether the provided frame is a sync frame.
+	 */
+	public boolean isSyncFrame(final long frame) {
+		return findSyncFrame(frame) == frame;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(super.toString());
+		builder.append(Util.printFields(this));
+		
+		return builder.toString();
+	}
+}
@@ -17,10 +17,12 @@ package uk.co.anthonycampbell.java.mp4reader.box.sample;
  */
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
 import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4InputStream;
 import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
 import uk.co.anthonycampbell.java.mp4reader.util.Util;
 
@@ -31,13 +33,17 @@ import uk.co.anthonycampbell.java.mp4reader.util.Util;
  */
 public class StszBox extends AbstractBox implements Box {
 
+	// Number of blocks between cumulative offset checkpoints
+	private static final int OFFSET_INTERVAL = 64;
+
 	// Declare box properties
 	protected final short version;
 	protected final long flags;
 	protected final long fixedBlockSize;
 	protected final long numberOfBlocks;
-	protected final long totalBlockSize;
-	protected final long[][] blockSizes;
+	protected final int numberOfEntries;
+	protected final long entriesPosition;
+	private volatile BlockSizeTable blockSizeTable;
 	
 	/**
 	 * Constructor.
@@ -56,38 +62,21 @@ public class StszBox extends AbstractBox implements Box {
 		this.flags = reader.readHex();
 		this.fixedBlockSize = reader.readUnsignedInt();
 		this.numberOfBlocks = reader.readUnsignedInt();
-		
-		// Set defaults
-		long totalBlockSize = 0;
+		this.entriesPosition = reader.bytesRead();
 		
 		// If not fixed we need to read all of the variable block sizes
 		if (this.fixedBlockSize == 0) {
-			if (this.numberOfBlocks > Integer.MAX_VALUE) {
-				this.blockSizes = new long[(int) Math.ceil((this.numberOfBlocks / Integer.MAX_VALUE))][Integer.MAX_VALUE];
-			} else {
-				this.blockSizes = new long[1][(int) this.numberOfBlocks];
-			}
+			this.numberOfEntries = (int) Math.min(this.numberOfBlocks, bytesRemaining() / 4);
 			
-			// Read block sizes
-			int i = 0;
-			int j = 0;
-			for (long l = 0; l < this.numberOfBlocks; ++l) {
-				final long blockSize = reader.readUnsignedInt();
-				this.blockSizes[i][j] = blockSize;
-				totalBlockSize += blockSize;
-				
-				j++;
-				if (j > Integer.MAX_VALUE) {
-					j = 0; i++;
-				}
+			if (!reader.isLazySampleTables()) {
+				this.blockSizeTable = new BlockSizeTable(reader, this.numberOfEntries);
 			}
 		} else {
-			totalBlockSize = this.fixedBlockSize * this.numberOfBlocks;
-			this.blockSizes = new long[0][0];
+			// Totals are known from the header alone
+			this.numberOfEntries = 0;
+			this.blockSizeTable = new BlockSizeTable(this.fixedBlockSize, this.numberOfBlocks);
 		}
 		
-		this.totalBlockSize = totalBlockSize;
-		
 		// Clean up
 		skip();
 	}
@@ -127,18 +116,103 @@ public class StszBox extends AbstractBox implements Box {
 		return this.numberOfBlocks;
 	}
 
+	/**
+	 * @return the number of variable block size entries read, zero for a fixed block size.
+	 */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+
 	/**
 	 * @return the total block size.
 	 */
 	public long getTotalBlockSize() {
-		return this.totalBlockSize;
+		return blockSizeTable().totalBlockSize;
+	}
+
+	/**
+	 * @param index - the block index.
+	 * @return the size of the provided block.
+	 */
+	public long getBlockSize(final int index) {
+		// Validate
+		if (index < 0 || index >= this.numberOfBlocks ||
+				(this.fixedBlockSize == 0 && index >= this.numberOfEntries)) {
+			throw new IndexOutOfBoundsException("Provided block index is invalid! (index=" +
+					index + ", numberOfBlocks=" + this.numberOfBlocks + ")");
+		}
+		
+		return blockSizeTable().getBlockSize(index);
+	}
+	
+	/**
+	 * Offset of the provided block from the start of the first block, in other words
+	 * the total size of every block before it. Offsets are built on first use.
+	 * 
+	 * @param index - the block index.
+	 * @return the cumulative offset of the provided block.
+	 */
+	public long getBlockOffset(final int index) {
+		// Validate
+		if (index < 0 || index > this.numberOfBlocks ||
+				(this.fixedBlockSize == 0 && index > this.numberOfEntries)) {
+			throw new IndexOutOfBoundsException("Provided block index is invalid! (index=" +
+					index + ", numberOfBlocks=" + this.numberOfBlocks + ")");
+		}
+		
+		return blockSizeTable().getBlockOffset(index);
 	}
 
 	/**
+	 * Copy of every block size. Use {@link #getBlockSize(int)} to avoid the copy.
+	 * 
 	 * @return the block sizes.
+	 * @deprecated copies the whole sample table, use {@link #getBlockSize(int)}.
 	 */
+	@Deprecated
 	public long[][] getBlockSizes() {
-		return this.blockSizes;
+		if (this.fixedBlockSize != 0) {
+			return new long[0][0];
+		}
+		
+		final long[][] blockSizes = new long[1][this.numberOfEntries];
+		for (int i = 0; i < this.numberOfEntries; ++i) {
+			blockSizes[0][i] = getBlockSize(i);
+		}
+		
+		return blockSizes;
+	}
+	
+	/**
+	 * Helper method to return the block size table, decoding it on first access when
+	 * the reader defers sample tables.
+	 * 
+	 * @return the block size table.
+	 * @throws UncheckedIOException - Unable to read the deferred block sizes.
+	 */
+	private BlockSizeTable blockSizeTable() {
+		BlockSizeTable blockSizeTable = this.blockSizeTable;
+		if (blockSizeTable == null) {
+			synchronized (this) {
+				blockSizeTable = this.blockSizeTable;
+				if (blockSizeTable == null) {
+					try {
+						final MP4Reader entryReader = openReader(this.entriesPosition);
+						try {
+							blockSizeTable = new BlockSizeTable(entryReader, this.numberOfEntries);
+						} finally {
+							entryReader.close();
+						}
+					} catch (final IOException ioe) {
+						throw new UncheckedIOException("Unable to read deferred '" + this.boxName +
+								"' entries! (position=" + this.entriesPosition + ")", ioe);
+					}
+					this.blockSizeTable = blockSizeTable;
+				}
+			}
+		}
+		
+		return blockSizeTable;
 	}
 
 	@Override
@@ -149,4 +223,167 @@ public class StszBox extends AbstractBox implements Box {
 		
 		return builder.toString();
 	}
+	
+	/**
+	 * Class to hold the decoded block sizes. Sizes are stored as the difference from
+	 * the smallest block size, bit packed using only as many bits as the largest
+	 * difference needs.
+	 */
+	private static class BlockSizeTable {
+		
+		// Declare properties
+		private final int numberOfEntries;
+		private final long minimumBlockSize;
+		private final long totalBlockSize;
+		private final int bitsPerBlock;
+		private final long[] packedBlockSizes;
+		private volatile long[] blockOffsets;
+		
+		/**
+		 * Constructor for a fixed block size.
+		 * 
+		 * @param fixedBlockSize - the size of every block.
+		 * @param numberOfBlocks - the number of blocks.
+		 */
+		BlockSizeTable(final long fixedBlockSize, final long numberOfBlocks) {
+			this.numberOfEntries = 0;
+			this.minimumBlockSize = fixedBlockSize;
+			this.totalBlockSize = fixedBlockSize * numberOfBlocks;
+			this.bitsPerBlock = 0;
+			this.packedBlockSizes = null;
+		}
+		
+		/**
+		 * Constructor to decode the variable block sizes from the current position of the
+		 * provided reader. The sizes are read once into a temporary table, which is
+		 * dropped once they have been packed.
+		 * 
+		 * @param reader - MP4 file reader, positioned at the first block size.
+		 * @param numberOfEntries - the number of block sizes.
+		 * @throws IOException Unable read the block sizes from the stream.
+		 */
+		BlockSizeTable(final MP4InputStream reader, final int numberOfEntries) throws IOException {
+			this.numberOfEntries = numberOfEntries;
+			
+			// Find the range of the block sizes, which are unsigned
+			final int[] blockSizes = reader.readInts(numberOfEntries);
+			long minimumBlockSize = (numberOfEntries > 0) ? 0xFFFFFFFFL : 0;
+			long maximumBlockSize = 0;
+			long totalBlockSize = 0;
+			for (int i = 0; i < numberOfEntries; ++i) {
+				final long blockSize = blockSizes[i] & 0xFFFFFFFFL;
+				minimumBlockSize = Math.min(minimumBlockSize, blockSize);
+				maximumBlockSize = Math.max(maximumBlockSize, blockSize);
+				totalBlockSize += blockSize;
+			}
+			
+			this.minimumBlockSize = minimumBlockSize;
+			this.totalBlockSize = totalBlockSize;
+			this.bitsPerBlock = 64 - Long.numberOfLeadingZeros(maximumBlockSize - minimumBlockSize);
+			
+			// Pack the block sizes
+			if (this.bitsPerBlock > 0) {
+				this.packedBlockSizes =
+						new long[(int) ((((long) numberOfEntries * this.bitsPerBlock) + 63) / 64) + 1];
+				
+				for (int i = 0; i < numberOfEntries; ++i) {
+					pack(i, (blockSizes[i] & 0xFFFFFFFFL) - minimumBlockSize);
+				}
+			} else {
+				this.packedBlockSizes = null;
+			}
+		}
+		
+		/**
+		 * @param index - the block index.
+		 * @return the size of the provided block.
+		 */
+		long getBlockSize(final int index) {
+			return (this.packedBlockSizes != null) ? this.minimumBlockSize + unpack(index) :
+					this.minimumBlockSize;
+		}
+		
+		/**
+		 * @param index - the block index.
+		 * @return the cumulative offset of the provided block.
+		 */
+		long getBlockOffset(final int index) {
+			// Fixed or identical block sizes
+			if (this.packedBlockSizes == null) {
+				return this.minimumBlockSize * index;
+			}
+			
+			// Start from the nearest checkpoint
+			long[] blockOffsets = this.blockOffsets;
+			if (blockOffsets == null) {
+				blockOffsets = buildBlockOffsets();
+				this.blockOffsets = blockOffsets;
+			}
+			
+			long offset = blockOffsets[index / OFFSET_INTERVAL];
+			for (int i = index - (index % OFFSET_INTERVAL); i < index; ++i) {
+				offset += this.minimumBlockSize + unpack(i);
+			}
+			
+			return offset;
+		}
+		
+		/**
+		 * Helper method to build the cumulative offset of every checkpoint block.
+		 * 
+		 * @return the checkpoint offsets.
+		 */
+		private long[] buildBlockOffsets() {
+			final long[] blockOffsets = new long[(this.numberOfEntries / OFFSET_INTERVAL) + 1];
+			
+			long offset = 0;
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				if (i % OFFSET_INTERVAL == 0) {
+					blockOffsets[i / OFFSET_INTERVAL] = offset;
+				}
+				offset += this.minimumBlockSize + unpack(i);
+			}
+			if (this.numberOfEntries % OFFSET_INTERVAL == 0) {
+				blockOffsets[this.numberOfEntries / OFFSET_INTERVAL] = offset;
+			}
+			
+			return blockOffsets;
+		}
+		
+		/**
+		 * Helper method to store the provided value in the packed block size table.
+		 * 
+		 * @param index - the block index.
+		 * @param value - the value to store.
+		 */
+		private void pack(final int index, final long value) {
+			final long bit = (long) index * this.bitsPerBlock;
+			final int word = (int) (bit >>> 6);
+			final int shift = (int) (bit & 63);
+			
+			this.packedBlockSizes[word] |= value << shift;
+			if (shift + this.bitsPerBlock > 64) {
+				this.packedBlockSizes[word + 1] |= value >>> (64 - shift);
+			}
+		}
+		
+		/**
+		 * Helper method to read a value from the packed block size table.
+		 * 
+		 * @param index - the block index.
+		 * @return the stored value.
+		 */
+		private long unpack(final int index) {
+			final long bit = (long) index * this.bitsPerBlock;
+			final int word = (int) (bit >>> 6);
+			final int shift = (int) (bit & 63);
+			
+			long value = this.packedBlockSizes[word] >>> shift;
+			if (shift + this.bitsPerBlock > 64) {
+				value |= this.packedBlockSizes[word + 1] << (64 - shift);
+			}
+			
+			return value & ((1L << this.bitsPerBlock) - 1);
+		}
+	}
 }
@@ -17,7 +17,8 @@ package uk.co.anthonycampbell.java.mp4reader.box.sample;
  */
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.common.DeferredInts;
 import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
 import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
 import uk.co.anthonycampbell.java.mp4reader.util.Util;
@@ -44,7 +46,10 @@ public class SttsBox extends AbstractBox implements Box {
 	protected final long flags;
 	protected final long numberOfTimes;
 	protected final boolean isVariable;
-	protected final List<Sample> samples;
+	protected final int numberOfEntries;
+	protected List<Sample> samples;
+	private final DeferredInts entries;
+	private volatile long[][] timeline;
 	
 	/**
 	 * Constructor.
@@ -62,7 +67,6 @@ public class SttsBox extends AbstractBox implements Box {
 		this.version = reader.readUnsignedByte();
 		this.flags = reader.readHex();
 		this.numberOfTimes = reader.readUnsignedInt();
-		this.samples = new ArrayList<SttsBox.Sample>();
 
 		// Is variable?
 		if (this.numberOfTimes > 1) {
@@ -71,15 +75,15 @@ public class SttsBox extends AbstractBox implements Box {
 			this.isVariable = false;
 		}
 		
-		// Get frame timings
-		for (int i = 0; i < this.numberOfTimes; ++i) {
-			final long frameCount = reader.readUnsignedInt();
-			final long duration = reader.readUnsignedInt();
-
-			log.trace("- frameCount: " + frameCount);
-			log.trace("- duration: " + duration);
-			
-			this.samples.add(new Sample(frameCount, duration));
+		// Get frame timings, packed as frame count and duration pairs
+		this.numberOfEntries = (int) Math.min(this.numberOfTimes, bytesRemaining() / 8);
+		this.entries = readTable(this.numberOfEntries * 2);
+		
+		if (log.isTraceEnabled() && this.entries.isRead()) {
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				log.trace("- frameCount: " + getFrameCount(i));
+				log.trace("- duration: " + getDuration(i));
+			}
 		}
 		
 		// Clean up
@@ -122,9 +126,152 @@ public class SttsBox extends AbstractBox implements Box {
 	}
 	
 	/**
+	 * @return the number of frame timing entries read.
+	 */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the frame count of the provided entry.
+	 */
+	public long getFrameCount(final int index) {
+		return this.entries.get()[index * 2] & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * @param index - the entry index.
+	 * @return the duration of the provided entry.
+	 */
+	public long getDuration(final int index) {
+		return this.entries.get()[(index * 2) + 1] & 0xFFFFFFFFL;
+	}
+	
+	/**
+	 * @return the total number of frames in every entry.
+	 */
+	public long getTotalFrameCount() {
+		return timeline()[0][this.numberOfEntries];
+	}
+	
+	/**
+	 * @return the total duration of every entry, in the media time scale.
+	 */
+	public long getTotalDuration() {
+		return timeline()[1][this.numberOfEntries];
+	}
+	
+	/**
+	 * Decode time of the provided frame, found with a binary search over the
+	 * cumulative entry durations.
+	 * 
+	 * @param frame - the frame index, from zero.
+	 * @return the decode time of the frame, in the media time scale.
+	 */
+	public long getFrameTime(final long frame) {
+		// Validate
+		if (this.numberOfEntries == 0) {
+			return 0;
+		}
+		
+		final long[][] timeline = timeline();
+		final int entry = floorEntry(timeline[0], frame);
+		
+		return timeline[1][entry] + ((frame - timeline[0][entry]) * getDuration(entry));
+	}
+	
+	/**
+	 * Frame being decoded at the provided time, found with a binary search over the
+	 * cumulative entry durations.
+	 * 
+	 * @param time - the decode time, in the media time scale.
+	 * @return the frame index, from zero, or -1 when there are no frames.
+	 */
+	public long getFrame(final long time) {
+		final long[][] timeline = timeline();
+		final long totalFrameCount = timeline[0][this.numberOfEntries];
+		
+		// Validate
+		if (totalFrameCount == 0) {
+			return -1;
+		}
+		if (time <= 0) {
+			return 0;
+		}
+		
+		final int entry = floorEntry(timeline[1], time);
+		final long duration = (entry < this.numberOfEntries) ? getDuration(entry) : 0;
+		final long frame = timeline[0][entry] +
+				((duration > 0) ? (time - timeline[1][entry]) / duration : 0);
+		
+		return Math.min(frame, totalFrameCount - 1);
+	}
+	
+	/**
+	 * Helper method to find the last entry starting at or before the provided value,
+	 * skipping entries without any frames.
+	 * 
+	 * @param starts - the cumulative entry starts, with the total as the last value.
+	 * @param value - the value to find.
+	 * @return the entry index.
+	 */
+	private int floorEntry(final long[] starts, final long value) {
+		int entry = Arrays.binarySearch(starts, 0, this.numberOfEntries, value);
+		if (entry < 0) {
+			entry = Math.max(-entry - 2, 0);
+		}
+		while (entry + 1 < this.numberOfEntries && starts[entry + 1] == value) {
+			entry++;
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * Helper method to return the first frame and start time of every entry, with the
+	 * totals as the last values. Built on first use.
+	 * 
+	 * @return the first frames and start times.
+	 */
+	private long[][] timeline() {
+		long[][] timeline = this.timeline;
+		if (timeline == null) {
+			final long[] firstFrames = new long[this.numberOfEntries + 1];
+			final long[] startTimes = new long[this.numberOfEntries + 1];
+			
+			for (int i = 0; i < this.numberOfEntries; ++i) {
+				firstFrames[i + 1] = firstFrames[i] + getFrameCount(i);
+				startTimes[i + 1] = startTimes[i] + (getFrameCount(i) * getDuration(i));
+			}
+			
+			timeline = new long[][] { firstFrames, startTimes };
+			this.timeline = timeline;
+		}
+		
+		return timeline;
+	}
+	
+	/**
+	 * Read only view of the frame timing entries. Each sample is created on access.
+	 * 
 	 * @return the samples list.
 	 */
 	public List<Sample> getSamples() {
+		if (this.samples == null) {
+			this.samples = new AbstractList<Sample>() {
+				@Override
+				public Sample get(final int index) {
+					return new Sample(getFrameCount(index), getDuration(index));
+				}
+
+				@Override
+				public int size() {
+					return getNumberOfEntries();
+				}
+			};
+		}
+		
 		return this.samples;
 	}
 
@@ -142,7 +289,7 @@ public class SttsBox extends AbstractBox implements Box {
 	 * 
 	 * @author Anthony Campbell - anthonycampbell.co.uk
 	 */
-	public class Sample {
+	public static class Sample {
 		
 		// Declare properties
 		private final long frameCount;
@@ -92,7 +92,7 @@ public class VideoBox extends AbstractBox implements Box {
 		while (bytesRemaining() > 0) {
 			final Box innerBox = reader.nextBox();
 			
-			log.debug("- '" + boxName + "' -> " + innerBox);
+			log.debug("- '{}' -> {}", boxName, innerBox);
 		}
 		
 		// Clean up
@@ -52,7 +52,9 @@ public class DinfBox extends AbstractBox implements Box {
 		
 		// Parse inner boxes
 		while (bytesRemaining() > 0) {
-			log.debug("- '" + boxName + "' -> " + reader.nextBox());
+			final Box nextBox = reader.nextBox();
+			
+			log.debug("- '{}' -> {}", boxName, nextBox);
 		}
 
 		// Clean up
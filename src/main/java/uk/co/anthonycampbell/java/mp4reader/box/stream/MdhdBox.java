@@ -18,6 +18,7 @@ package uk.co.anthonycampbell.java.mp4reader.box.stream;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.time.Instant;
 
 import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
@@ -35,8 +36,8 @@ public class MdhdBox extends AbstractBox implements Box {
 	// Declare box properties
 	protected final short version;
 	protected final long flags;
-	protected final BigInteger creationDate;
-	protected final BigInteger modifiedDate;
+	protected final long creationTime;
+	protected final long modificationTime;
 	protected final long timeScale;
 	protected final BigInteger duration;
 	protected final short language;
@@ -59,11 +60,11 @@ public class MdhdBox extends AbstractBox implements Box {
 		this.flags = reader.readHex();
 		
 		if (remainingOffset >= 108) {
-			this.creationDate = reader.readLong();
-			this.modifiedDate = reader.readLong();	
+			this.creationTime = reader.readLongValue();
+			this.modificationTime = reader.readLongValue();
 		} else {
-			this.creationDate = new BigInteger("" + reader.readUnsignedInt());
-			this.modifiedDate = new BigInteger("" + reader.readUnsignedInt());
+			this.creationTime = reader.readUnsignedInt();
+			this.modificationTime = reader.readUnsignedInt();
 		}
 		
 		this.timeScale = reader.readUnsignedInt();
@@ -71,7 +72,7 @@ public class MdhdBox extends AbstractBox implements Box {
 		if (remainingOffset == 104 || remainingOffset == 112) {
 			this.duration = reader.readLong();	
 		} else {
-			this.duration = new BigInteger("" + reader.readUnsignedInt());
+			this.duration = BigInteger.valueOf(reader.readUnsignedInt());
 		}
 		
 		this.language = reader.readShort();
@@ -103,17 +104,31 @@ public class MdhdBox extends AbstractBox implements Box {
 	}
 
 	/**
-	 * @return the creation date.
+	 * @return the creation date, in seconds since midnight, January 1, 1904.
 	 */
 	public BigInteger getCreationDate() {
-		return this.creationDate;
+		return BigInteger.valueOf(this.creationTime);
 	}
 
 	/**
-	 * @return the modified date.
+	 * @return the modified date, in seconds since midnight, January 1, 1904.
 	 */
 	public BigInteger getModifiedDate() {
-		return this.modifiedDate;
+		return BigInteger.valueOf(this.modificationTime);
+	}
+
+	/**
+	 * @return the creation time.
+	 */
+	public Instant getCreationTime() {
+		return Util.toInstant(this.creationTime);
+	}
+
+	/**
+	 * @return the modification time.
+	 */
+	public Instant getModificationTime() {
+		return Util.toInstant(this.modificationTime);
 	}
 
 	/**
@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.AudioBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.StblBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.TextBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.VideoBox;
 import uk.co.anthonycampbell.java.mp4reader.reader.BoxType;
@@ -46,7 +47,7 @@ public class MdiaBox extends AbstractBox implements Box {
 	protected final Date creationDate;
 	protected final Date modifiedDate;
 	protected final long timeScale;
-	protected final long totalBlockSize;
+	protected final StblBox sampleTable;
 	protected final BigInteger duration;
 	protected final VideoBox videoSample;
 	protected final AudioBox audioSample;
@@ -69,7 +70,7 @@ public class MdiaBox extends AbstractBox implements Box {
 		Date creationDate = new Date();
 		Date modifiedDate = new Date();
 		long timeScale = 0;
-		long totalBlockSize = 0;
+		StblBox sampleTable = null;
 		BigInteger duration = new BigInteger("0");
 		VideoBox videoSample = null;
 		AudioBox audioSample = null;
@@ -84,14 +85,8 @@ public class MdiaBox extends AbstractBox implements Box {
 				if (nextBox instanceof MdhdBox && BoxType.MEDIA_STREAM_HEADER == nextBox.getBoxType()) {
 					final MdhdBox mdhdBox = (MdhdBox) nextBox;
 
-					final BigInteger bigCreationDate = mdhdBox.getCreationDate();
-					final BigInteger bigModifiedDate = mdhdBox.getModifiedDate();
-					if (bigCreationDate != null) {
-						creationDate = Util.generateDate(bigCreationDate);
-					}
-					if (bigModifiedDate != null) {
-						modifiedDate = Util.generateDate(bigModifiedDate);
-					}
+					creationDate = Date.from(mdhdBox.getCreationTime());
+					modifiedDate = Date.from(mdhdBox.getModificationTime());
 
 					timeScale = mdhdBox.getTimeScale();
 					duration = mdhdBox.getDuration();
@@ -102,10 +97,10 @@ public class MdiaBox extends AbstractBox implements Box {
 					videoSample = minfBox.getVideoSample();
 					audioSample = minfBox.getAudioSample();
 					textSample = minfBox.getTextSample();
-					totalBlockSize = minfBox.getTotalBlockSize();
+					sampleTable = minfBox.getSampleTable();
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);
 			}
 		}
 
@@ -113,7 +108,7 @@ public class MdiaBox extends AbstractBox implements Box {
 		this.creationDate = creationDate;
 		this.modifiedDate = modifiedDate;
 		this.timeScale = timeScale;
-		this.totalBlockSize = totalBlockSize;
+		this.sampleTable = sampleTable;
 		this.duration = duration;
 		this.videoSample = videoSample;
 		this.audioSample = audioSample;
@@ -144,11 +139,18 @@ public class MdiaBox extends AbstractBox implements Box {
 		return this.timeScale;
 	}
 
+	/**
+	 * @return the sample table.
+	 */
+	public StblBox getSampleTable() {
+		return this.sampleTable;
+	}
+
 	/**
 	 * @return the total block size.
 	 */
 	public long getTotalBlockSize() {
-		return this.totalBlockSize;
+		return (this.sampleTable != null) ? this.sampleTable.getTotalBlockSize() : 0;
 	}
 	
 	/**
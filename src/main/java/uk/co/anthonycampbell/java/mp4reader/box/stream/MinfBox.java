@@ -45,7 +45,7 @@ public class MinfBox extends AbstractBox implements Box {
 	protected final VideoBox videoSample;
 	protected final AudioBox audioSample;
 	protected final TextBox textSample;
-	protected final long totalBlockSize;
+	protected final StblBox sampleTable;
 	
 	/**
 	 * Constructor.
@@ -63,7 +63,7 @@ public class MinfBox extends AbstractBox implements Box {
 		VideoBox videoSample = null;
 		AudioBox audioSample = null;
 		TextBox textSample = null;
-		long totalBlockSize = 0;
+		StblBox sampleTable = null;
 		
 		// Parse inner boxes
 		while (bytesRemaining() > 0) {
@@ -77,17 +77,17 @@ public class MinfBox extends AbstractBox implements Box {
 					videoSample = stblBox.getVideoSample();
 					audioSample = stblBox.getAudioSample();
 					textSample = stblBox.getTextSample();
-					totalBlockSize = stblBox.getTotalBlockSize();
+					sampleTable = stblBox;
 				}
 			}
 			
-			log.debug("- '" + boxName + "' -> " + nextBox);
+			log.debug("- '{}' -> {}", boxName, nextBox);
 		}
 		
 		this.videoSample = videoSample;
 		this.audioSample = audioSample;
 		this.textSample = textSample;
-		this.totalBlockSize = totalBlockSize;
+		this.sampleTable = sampleTable;
 
 		// Clean up
 		skip();
@@ -114,11 +114,18 @@ public class MinfBox extends AbstractBox implements Box {
 		return this.textSample;
 	}
 
+	/**
+	 * @return the sample table.
+	 */
+	public StblBox getSampleTable() {
+		return this.sampleTable;
+	}
+
 	/**
 	 * @return the total block size.
 	 */
 	public long getTotalBlockSize() {
-		return this.totalBlockSize;
+		return (this.sampleTable != null) ? this.sampleTable.getTotalBlockSize() : 0;
 	}
 	
 	@Override
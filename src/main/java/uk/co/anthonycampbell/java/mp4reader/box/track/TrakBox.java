@@ -19,6 +19,7 @@ package uk.co.anthonycampbell.java.mp4reader.box.track;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,9 @@ import uk.co.anthonycampbell.java.mp4reader.box.common.AbstractBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
 import uk.co.anthonycampbell.java.mp4reader.box.item.IlstBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.AudioBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.SampleIndex;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.SampleReader;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.StblBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.TextBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.VideoBox;
 import uk.co.anthonycampbell.java.mp4reader.box.stream.MdiaBox;
@@ -51,7 +55,8 @@ public class TrakBox extends AbstractBox implements Box, Comparable<TrakBox> {
 	protected final Type type;
 	protected final Date creationDate;
 	protected final Date modifiedDate;
-	protected final long totalBlockSize;
+	protected final long timeScale;
+	protected final StblBox sampleTable;
 	protected final BigInteger duration;
 	protected final VideoBox videoSample;
 	protected final AudioBox audioSample;
@@ -76,7 +81,8 @@ public class TrakBox extends AbstractBox implements Box, Comparable<TrakBox> {
 		String trackName = "";
 		Date creationDate = new Date();
 		Date modifiedDate = new Date();
-		long totalBlockSize = 0;
+		long timeScale = 0;
+		StblBox sampleTable = null;
 		BigInteger duration = new BigInteger("0");
 		VideoBox videoSample = null;
 		AudioBox audioSample = null;
@@ -97,7 +103,8 @@ public class TrakBox extends AbstractBox implements Box, Comparable<TrakBox> {
 
 					creationDate = mdiaBox.getCreationDate();
 					modifiedDate = mdiaBox.getModifiedDate();
-					totalBlockSize = mdiaBox.getTotalBlockSize();
+					timeScale = mdiaBox.getTimeScale();
+					sampleTable = mdiaBox.getSampleTable();
 					duration = mdiaBox.getDuration();
 					videoSample = mdiaBox.getVideoSample();
 					audioSample = mdiaBox.getAudioSample();
@@ -110,7 +117,7 @@ public class TrakBox extends AbstractBox implements Box, Comparable<TrakBox> {
 					metaData = udtaBox.getMetaData();
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);
 			}
 		}
 
@@ -119,7 +126,8 @@ public class TrakBox extends AbstractBox implements Box, Comparable<TrakBox> {
 		this.trackName = trackName;
 		this.creationDate = creationDate;
 		this.modifiedDate = modifiedDate;
-		this.totalBlockSize = totalBlockSize;
+		this.timeScale = timeScale;
+		this.sampleTable = sampleTable;
 		this.duration = duration;
 		this.videoSample = videoSample;
 		this.audioSample = audioSample;
@@ -179,11 +187,84 @@ public class TrakBox extends AbstractBox implements Box, Comparable<TrakBox> {
 		return this.modifiedDate;
 	}
 
+	/**
+	 * @return the sample table.
+	 */
+	public StblBox getSampleTable() {
+		return this.sampleTable;
+	}
+
+	/**
+	 * @return the media time scale, in units per second.
+	 */
+	public long getTimeScale() {
+		return this.timeScale;
+	}
+	
+	/**
+	 * Find the key frame decoding has to start from to show the provided time.
+	 * 
+	 * @param time - the decode time, in the media time scale.
+	 * @return the sync frame index, from zero, or -1 when the track has no frames.
+	 * @see StblBox#findSyncFrame(long)
+	 */
+	public long findSyncFrame(final long time) {
+		return (this.sampleTable != null) ? this.sampleTable.findSyncFrame(time) : -1;
+	}
+	
+	/**
+	 * Find the key frame decoding has to start from to show the provided time.
+	 * 
+	 * @param time - the decode time.
+	 * @param unit - the unit of the provided time.
+	 * @return the sync frame index, from zero, or -1 when the track has no frames.
+	 */
+	public long findSyncFrame(final long time, final TimeUnit unit) {
+		return findSyncFrame((unit.toMicros(time) * this.timeScale) / 1000000);
+	}
+	
+	/**
+	 * @param frame - the frame index, from zero.
+	 * @return the presentation time of the provided frame, in the media time scale.
+	 */
+	public long getFrameTime(final long frame) {
+		return (this.sampleTable != null) ? this.sampleTable.getFrameTime(frame) : 0;
+	}
+	
+	/**
+	 * @return the index to map samples to their position in the file, or null when
+	 * 		the track has no complete sample table.
+	 */
+	public SampleIndex getSampleIndex() {
+		return (this.sampleTable != null) ? this.sampleTable.getSampleIndex() : null;
+	}
+
+	/**
+	 * Open a reader to access the track's sample data without copying it. Sample
+	 * tables read lazily are decoded by this call.
+	 * 
+	 * @return the sample reader, to be closed by the caller.
+	 * @throws IOException - Unable to open the file being read.
+	 * @throws IllegalStateException - The track was not read from a file, or has no
+	 * 		sample table.
+	 */
+	public SampleReader openSampleReader() throws IOException, IllegalStateException {
+		final SampleIndex sampleIndex = getSampleIndex();
+		
+		// Validate
+		if (this.reader.getFile() == null || sampleIndex == null) {
+			throw new IllegalStateException("Unable to read track samples! (file=" +
+					this.reader.getFile() + ", sampleIndex=" + sampleIndex + ")");
+		}
+		
+		return new SampleReader(this.reader.getFile(), sampleIndex);
+	}
+
 	/**
 	 * @return the total block size.
 	 */
 	public long getTotalBlockSize() {
-		return this.totalBlockSize;
+		return (this.sampleTable != null) ? this.sampleTable.getTotalBlockSize() : 0;
 	}
 
 	/**
@@ -69,7 +69,7 @@ public class TrefBox extends AbstractBox implements Box {
 					this.chapters.addAll(chapBox.getChapters());				
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);	
 			}
 		}
 
@@ -76,7 +76,7 @@ public class UdtaBox extends AbstractBox implements Box {
 					metaData = ((MetaBox) nextBox).getMetaData();
 				}
 				
-				log.debug("- '" + boxName + "' -> " + nextBox);	
+				log.debug("- '{}' -> {}", boxName, nextBox);	
 			}
 		}
 		
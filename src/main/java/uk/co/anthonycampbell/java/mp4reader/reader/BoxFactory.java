@@ -0,0 +1,43 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+
+/**
+ * Interface for creating box instances. Every supported {@link BoxType} holds
+ * a factory bound to its box constructor.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public interface BoxFactory {
+
+	/**
+	 * Create a new box from the current position of the provided reader.
+	 *
+	 * @param reader - MP4 file reader.
+	 * @param remainingOffset - remaining bytes to be read from the stream.
+	 * @param boxName - name of the box type.
+	 * @param boxType - box type ENUM.
+	 * @return the new box.
+	 * @throws IOException Unable read remaining bytes from the stream.
+	 */
+	public Box create(MP4Reader reader, long remainingOffset, String boxName, BoxType boxType)
+			throws IOException;
+}
@@ -0,0 +1,35 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+
+/**
+ * Listener notified by the {@link MP4PushParser} as each top level box is parsed.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public interface BoxListener {
+
+	/**
+	 * Called when the provided top level box has been received and parsed, for example
+	 * the movie box (moov) once its last byte has been fed.
+	 *
+	 * @param box - the parsed box.
+	 */
+	public void parsed(Box box);
+}
@@ -16,13 +16,33 @@ package uk.co.anthonycampbell.java.mp4reader.reader;
  * limitations under the License.
  */
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
 import uk.co.anthonycampbell.java.mp4reader.box.common.DrefBox;
 import uk.co.anthonycampbell.java.mp4reader.box.common.HdlrBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MfhdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MfraBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MfroBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MoofBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MvexBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TfdtBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TfhdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TfraBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrafBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrexBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrunBox;
 import uk.co.anthonycampbell.java.mp4reader.box.free.FreeBox;
 import uk.co.anthonycampbell.java.mp4reader.box.free.SkipBox;
 import uk.co.anthonycampbell.java.mp4reader.box.free.WideBox;
 import uk.co.anthonycampbell.java.mp4reader.box.item.AdditionalInfoBox;
+import uk.co.anthonycampbell.java.mp4reader.box.item.CoverBox;
 import uk.co.anthonycampbell.java.mp4reader.box.item.DataBox;
 import uk.co.anthonycampbell.java.mp4reader.box.item.IlstBox;
 import uk.co.anthonycampbell.java.mp4reader.box.item.ItemBox;
@@ -33,11 +53,14 @@ import uk.co.anthonycampbell.java.mp4reader.box.movie.MetaBox;
 import uk.co.anthonycampbell.java.mp4reader.box.movie.MoovBox;
 import uk.co.anthonycampbell.java.mp4reader.box.movie.MvhdBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.AudioBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.CttsBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.Dac3Box;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.EsdsBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.StblBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.StcoBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.StscBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.StsdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.StssBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.StszBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.SttsBox;
 import uk.co.anthonycampbell.java.mp4reader.box.sample.TextBox;
@@ -61,86 +84,177 @@ import uk.co.anthonycampbell.java.mp4reader.box.user.UdtaBox;
 public enum BoxType {
 
 	// Supported types
-	FILE_TYPE("ftyp", FtypBox.class),
-	TRACK("trak", TrakBox.class),
-	TRACK_HEADER("tkhd", TkhdBox.class),
-	TRACK_REFERENCE("tref", TrefBox.class),
-	TRACK_CHAPTER_LIST("chap", ChapBox.class),
-	MEDIA_STREAM("mdia", MdiaBox.class),
-	MEDIA_STREAM_HEADER("mdhd", MdhdBox.class),
-	MEDIA_STREAM_INFORMATION("minf", MinfBox.class),
-	MEDIA_DATA("mdat", MdatBox.class),
-	MOVIE_HEADER("moov", MoovBox.class),
-	MOVIE_DATA_REFERENCE("mdra", MdraBox.class),
-	MOVIE_PRESENTATION_HEADER("mvhd", MvhdBox.class),
-	MOVIE_PRESENTATION_META_DATA("meta", MetaBox.class),
-	INITIAL_OBJECT_DESCRIPTOR("iods", IodsBox.class),
-	USER_DATA("udta", UdtaBox.class),
-	DATA_REFERENCE("dref", DrefBox.class),
-	DATA_INFORMATION("dinf", DinfBox.class),
-	SAMPLE_TABLE("stbl", StblBox.class),
-	SAMPLE_DESCRIPTION("stsd", StsdBox.class),
-	SAMPLE_DESCRIPTOR("esds", EsdsBox.class),
-	SAMPLE_M4_DESCRIPTOR("m4ds", EsdsBox.class),
-	SAMPLE_DAC3_DESCRIPTOR("dac3", Dac3Box.class),
-	SAMPLE_FRAMING_TIMING("stts", SttsBox.class),
-	SAMPLE_FRAME_BLOCKS("stsc", StscBox.class),
-	SAMPLE_FRAME_BLOCK_SIZE("stsz", StszBox.class),
-	HANDLER_REFERNECE("hdlr", HdlrBox.class),
-	APPLE_ITEM_LIST("ilst", IlstBox.class),	
-	APPLE_ITEM_NAME("nam", ItemBox.class),
-	APPLE_ITEM_COMMENT("cmt", ItemBox.class),
-	APPLE_ITEM_CREATION("day", ItemBox.class),
-	APPLE_ITEM_ARTIST("ART", ItemBox.class),
-	APPLE_ITEM_TRACK("trk", ItemBox.class),
-	APPLE_ITEM_ALBUM("alb", ItemBox.class),
-	APPLE_ITEM_COMPOSER("com", ItemBox.class),
-	APPLE_ITEM_ENCODING_TOOL("too", ItemBox.class),
-	APPLE_ITEM_GENRE("gnre", ItemBox.class),
-	APPLE_ITEM_GENRE2("gen", ItemBox.class),
-	APPLE_ITEM_DISK("disk", ItemBox.class),
-	APPLE_ITEM_TRACK_NUMBER("trkn", ItemBox.class),
-	APPLE_ITEM_BEATS_PER_MINUTE("tmpo", ItemBox.class),
-	APPLE_ITEM_COMPILATION("cpil", ItemBox.class),
-	APPLE_ITEM_COVER("covr", ItemBox.class),
-	APPLE_ITEM_ITUNES("----", ItemBox.class),
-	APPLE_ITEM_DESCRIPTION("desc", ItemBox.class),
-	APPLE_ITEM_SYNOPSIS("ldes", ItemBox.class),
-	APPLE_ITEM_MEDIA_TYPE("stik", ItemBox.class),
-	APPLE_ITEM_TV_SHOW("tvsh", ItemBox.class),
-	APPLE_ITEM_TV_EPISODE_ID("tven", ItemBox.class),
-	APPLE_ITEM_TV_SEASON("tvsn", ItemBox.class),
-	APPLE_ITEM_TV_EPISODE("tves", ItemBox.class),
-	APPLE_ITEM_TV_NETWORK_NAME("tvnn", ItemBox.class),
-	APPLE_ITEM_COPYRIGHT("cprt", ItemBox.class),
-	APPLE_ITEM_SORT_NAME("sonm", ItemBox.class),
-	APPLE_ITEM_SORT_ALBUM("soal", ItemBox.class),
-	APPLE_ITEM_SORT_ALBUM_ARTIST("soaa", ItemBox.class),
-	APPLE_ITEM_SORT_ARTIST("soar", ItemBox.class),
-	APPLE_ITEM_SORT_SHOW("sosn", ItemBox.class),
-	APPLE_ITEM_DATA("data", DataBox.class),
-	APPLE_ITEM_ADDITIONAL_APPLICATION_NAME("mean", AdditionalInfoBox.class),
-	APPLE_ITEM_ADDITIONAL_NAME("name", AdditionalInfoBox.class),
-	SAMPLE_VIDEO_AVC1("avc1", VideoBox.class),
-	SAMPLE_AUDIO_MP4A("mp4a", AudioBox.class),
-	SAMPLE_AUDIO_AC3("ac-3", AudioBox.class),
-	SAMPLE_TEXT("text", TextBox.class),
-	FREE("free", FreeBox.class),
-	SKIP("skip", SkipBox.class),
-	WIDE("wide", WideBox.class);
+	FILE_TYPE("ftyp", FtypBox.class, FtypBox::new),
+	TRACK("trak", TrakBox.class, TrakBox::new),
+	TRACK_HEADER("tkhd", TkhdBox.class, TkhdBox::new),
+	TRACK_REFERENCE("tref", TrefBox.class, TrefBox::new),
+	TRACK_CHAPTER_LIST("chap", ChapBox.class, ChapBox::new),
+	MEDIA_STREAM("mdia", MdiaBox.class, MdiaBox::new),
+	MEDIA_STREAM_HEADER("mdhd", MdhdBox.class, MdhdBox::new),
+	MEDIA_STREAM_INFORMATION("minf", MinfBox.class, MinfBox::new),
+	MEDIA_DATA("mdat", MdatBox.class, MdatBox::new),
+	MOVIE_HEADER("moov", MoovBox.class, MoovBox::new),
+	MOVIE_DATA_REFERENCE("mdra", MdraBox.class, MdraBox::new),
+	MOVIE_PRESENTATION_HEADER("mvhd", MvhdBox.class, MvhdBox::new),
+	MOVIE_PRESENTATION_META_DATA("meta", MetaBox.class, MetaBox::new),
+	INITIAL_OBJECT_DESCRIPTOR("iods", IodsBox.class, IodsBox::new),
+	USER_DATA("udta", UdtaBox.class, UdtaBox::new),
+	DATA_REFERENCE("dref", DrefBox.class, DrefBox::new),
+	DATA_INFORMATION("dinf", DinfBox.class, DinfBox::new),
+	SAMPLE_TABLE("stbl", StblBox.class, StblBox::new),
+	SAMPLE_DESCRIPTION("stsd", StsdBox.class, StsdBox::new),
+	SAMPLE_DESCRIPTOR("esds", EsdsBox.class, EsdsBox::new),
+	SAMPLE_M4_DESCRIPTOR("m4ds", EsdsBox.class, EsdsBox::new),
+	SAMPLE_DAC3_DESCRIPTOR("dac3", Dac3Box.class, Dac3Box::new),
+	SAMPLE_FRAMING_TIMING("stts", SttsBox.class, SttsBox::new),
+	SAMPLE_FRAME_BLOCKS("stsc", StscBox.class, StscBox::new),
+	SAMPLE_FRAME_BLOCK_SIZE("stsz", StszBox.class, StszBox::new),
+	SAMPLE_CHUNK_OFFSET("stco", StcoBox.class, StcoBox::new),
+	SAMPLE_CHUNK_OFFSET_64("co64", StcoBox.class, StcoBox::new),
+	SAMPLE_SYNC("stss", StssBox.class, StssBox::new),
+	SAMPLE_COMPOSITION_OFFSET("ctts", CttsBox.class, CttsBox::new),
+	MOVIE_EXTENDS("mvex", MvexBox.class, MvexBox::new),
+	TRACK_EXTENDS("trex", TrexBox.class, TrexBox::new),
+	MOVIE_FRAGMENT("moof", MoofBox.class, MoofBox::new),
+	MOVIE_FRAGMENT_HEADER("mfhd", MfhdBox.class, MfhdBox::new),
+	TRACK_FRAGMENT("traf", TrafBox.class, TrafBox::new),
+	TRACK_FRAGMENT_HEADER("tfhd", TfhdBox.class, TfhdBox::new),
+	TRACK_FRAGMENT_DECODE_TIME("tfdt", TfdtBox.class, TfdtBox::new),
+	TRACK_FRAGMENT_RUN("trun", TrunBox.class, TrunBox::new),
+	MOVIE_FRAGMENT_RANDOM_ACCESS("mfra", MfraBox.class, MfraBox::new),
+	TRACK_FRAGMENT_RANDOM_ACCESS("tfra", TfraBox.class, TfraBox::new),
+	MOVIE_FRAGMENT_RANDOM_ACCESS_OFFSET("mfro", MfroBox.class, MfroBox::new),
+	HANDLER_REFERNECE("hdlr", HdlrBox.class, HdlrBox::new),
+	APPLE_ITEM_LIST("ilst", IlstBox.class, IlstBox::new),	
+	APPLE_ITEM_NAME("nam", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_COMMENT("cmt", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_CREATION("day", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_ARTIST("ART", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_TRACK("trk", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_ALBUM("alb", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_COMPOSER("com", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_ENCODING_TOOL("too", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_GENRE("gnre", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_GENRE2("gen", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_DISK("disk", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_TRACK_NUMBER("trkn", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_BEATS_PER_MINUTE("tmpo", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_COMPILATION("cpil", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_COVER("covr", CoverBox.class, CoverBox::new),
+	APPLE_ITEM_ITUNES("----", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_DESCRIPTION("desc", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_SYNOPSIS("ldes", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_MEDIA_TYPE("stik", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_TV_SHOW("tvsh", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_TV_EPISODE_ID("tven", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_TV_SEASON("tvsn", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_TV_EPISODE("tves", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_TV_NETWORK_NAME("tvnn", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_COPYRIGHT("cprt", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_SORT_NAME("sonm", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_SORT_ALBUM("soal", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_SORT_ALBUM_ARTIST("soaa", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_SORT_ARTIST("soar", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_SORT_SHOW("sosn", ItemBox.class, ItemBox::new),
+	APPLE_ITEM_DATA("data", DataBox.class, DataBox::new),
+	APPLE_ITEM_ADDITIONAL_APPLICATION_NAME("mean", AdditionalInfoBox.class, AdditionalInfoBox::new),
+	APPLE_ITEM_ADDITIONAL_NAME("name", AdditionalInfoBox.class, AdditionalInfoBox::new),
+	SAMPLE_VIDEO_AVC1("avc1", VideoBox.class, VideoBox::new),
+	SAMPLE_AUDIO_MP4A("mp4a", AudioBox.class, AudioBox::new),
+	SAMPLE_AUDIO_AC3("ac-3", AudioBox.class, AudioBox::new),
+	SAMPLE_TEXT("text", TextBox.class, TextBox::new),
+	FREE("free", FreeBox.class, FreeBox::new),
+	SKIP("skip", SkipBox.class, SkipBox::new),
+	WIDE("wide", WideBox.class, WideBox::new);
+	
+	/** Copyright symbol prefixing the Apple item box names. */
+	public static final int COPYRIGHT_PREFIX = 0xA9;
+	
+	// Fourcc lookup table, open addressed with linear probing
+	private static final int[] FOURCC_KEYS;
+	private static final BoxType[] FOURCC_VALUES;
+	private static final int FOURCC_MASK;
+	
+	static {
+		final BoxType[] boxTypes = values();
+		final int capacity = Integer.highestOneBit(boxTypes.length * 4);
+		
+		FOURCC_KEYS = new int[capacity];
+		FOURCC_VALUES = new BoxType[capacity];
+		FOURCC_MASK = capacity - 1;
+		
+		for (final BoxType boxType : boxTypes) {
+			int index = hash(boxType.fourcc) & FOURCC_MASK;
+			
+			while (FOURCC_VALUES[index] != null) {
+				if (FOURCC_KEYS[index] == boxType.fourcc) {
+					throw new IllegalStateException("Duplicate box type! (boxType=" + boxType +
+							", existing=" + FOURCC_VALUES[index] + ")");
+				}
+				index = (index + 1) & FOURCC_MASK;
+			}
+			
+			FOURCC_KEYS[index] = boxType.fourcc;
+			FOURCC_VALUES[index] = boxType;
+		}
+	}
+	
+	// Boxes each box type may be found in, top level boxes have none
+	private static final Map<BoxType, Set<BoxType>> CONTAINERS = new EnumMap<>(BoxType.class);
+	
+	static {
+		contains(MOVIE_HEADER, MOVIE_PRESENTATION_HEADER, TRACK, USER_DATA, INITIAL_OBJECT_DESCRIPTOR,
+				MOVIE_EXTENDS, MOVIE_PRESENTATION_META_DATA);
+		contains(TRACK, TRACK_HEADER, TRACK_REFERENCE, MEDIA_STREAM, USER_DATA,
+				MOVIE_PRESENTATION_META_DATA);
+		contains(TRACK_REFERENCE, TRACK_CHAPTER_LIST);
+		contains(MEDIA_STREAM, MEDIA_STREAM_HEADER, HANDLER_REFERNECE, MEDIA_STREAM_INFORMATION);
+		contains(MEDIA_STREAM_INFORMATION, HANDLER_REFERNECE, DATA_INFORMATION, SAMPLE_TABLE);
+		contains(DATA_INFORMATION, DATA_REFERENCE);
+		contains(SAMPLE_TABLE, SAMPLE_DESCRIPTION, SAMPLE_FRAMING_TIMING, SAMPLE_FRAME_BLOCKS,
+				SAMPLE_FRAME_BLOCK_SIZE, SAMPLE_CHUNK_OFFSET, SAMPLE_CHUNK_OFFSET_64, SAMPLE_SYNC,
+				SAMPLE_COMPOSITION_OFFSET);
+		contains(SAMPLE_DESCRIPTION, SAMPLE_VIDEO_AVC1, SAMPLE_AUDIO_MP4A, SAMPLE_AUDIO_AC3, SAMPLE_TEXT);
+		contains(SAMPLE_AUDIO_MP4A, SAMPLE_DESCRIPTOR, SAMPLE_M4_DESCRIPTOR);
+		contains(SAMPLE_AUDIO_AC3, SAMPLE_DAC3_DESCRIPTOR);
+		contains(USER_DATA, MOVIE_PRESENTATION_META_DATA);
+		contains(MOVIE_PRESENTATION_META_DATA, HANDLER_REFERNECE, APPLE_ITEM_LIST);
+		contains(MOVIE_EXTENDS, TRACK_EXTENDS);
+		contains(MOVIE_FRAGMENT, MOVIE_FRAGMENT_HEADER, TRACK_FRAGMENT);
+		contains(TRACK_FRAGMENT, TRACK_FRAGMENT_HEADER, TRACK_FRAGMENT_DECODE_TIME, TRACK_FRAGMENT_RUN);
+		contains(MOVIE_FRAGMENT_RANDOM_ACCESS, TRACK_FRAGMENT_RANDOM_ACCESS,
+				MOVIE_FRAGMENT_RANDOM_ACCESS_OFFSET);
+		
+		// Apple items sit in the item list and hold the data and iTunes name boxes
+		for (final BoxType boxType : values()) {
+			if (boxType.name().startsWith("APPLE_ITEM_") && APPLE_ITEM_LIST != boxType &&
+					APPLE_ITEM_DATA != boxType && APPLE_ITEM_ADDITIONAL_APPLICATION_NAME != boxType &&
+					APPLE_ITEM_ADDITIONAL_NAME != boxType) {
+				contains(APPLE_ITEM_LIST, boxType);
+				contains(boxType, APPLE_ITEM_DATA, APPLE_ITEM_ADDITIONAL_APPLICATION_NAME,
+						APPLE_ITEM_ADDITIONAL_NAME);
+			}
+		}
+	}
 	
 	// Declare properties
 	private final String name;
+	private final int fourcc;
 	private final Class<? extends Box> clazz;
+	private final BoxFactory factory;
 	
 	/**
 	 * Constructor.
 	 * 
 	 * @param name - box name.
+	 * @param clazz - box class.
+	 * @param factory - box factory.
 	 */
-	BoxType(final String name, final Class<? extends Box> clazz) {
+	BoxType(final String name, final Class<? extends Box> clazz, final BoxFactory factory) {
 		this.name = name;
+		this.fourcc = toFourcc(name);
 		this.clazz = clazz;
+		this.factory = factory;
 	}
 
 	/**
@@ -150,10 +264,159 @@ public enum BoxType {
 		return this.name;
 	}
 
+	/**
+	 * @return the 32-bit box type code as it appears in the file.
+	 */
+	public int getFourcc() {
+		return this.fourcc;
+	}
+
 	/**
 	 * @return the class.
 	 */
 	public Class<? extends Box> getClazz() {
 		return this.clazz;
 	}
+
+	/**
+	 * @return the box factory.
+	 */
+	public BoxFactory getFactory() {
+		return this.factory;
+	}
+	
+	/**
+	 * @return the box types this box type may be found in, empty for top level boxes.
+	 */
+	public Set<BoxType> getContainers() {
+		final Set<BoxType> containers = CONTAINERS.get(this);
+		return (containers != null) ? Collections.unmodifiableSet(containers) :
+				Collections.<BoxType>emptySet();
+	}
+	
+	/**
+	 * Expand the provided box types with every box type they may be found in, up to
+	 * the top level. Parsing only the returned box types reaches each of the provided
+	 * ones without building anything else.
+	 * 
+	 * @param boxTypes - the box types.
+	 * @return the provided box types with all of their containers.
+	 */
+	public static Set<BoxType> withContainers(final Collection<BoxType> boxTypes) {
+		// Validate
+		if (boxTypes == null) {
+			throw new IllegalArgumentException("Provided box types are invalid! (boxTypes=" +
+					boxTypes + ")");
+		}
+		
+		final Set<BoxType> result = EnumSet.noneOf(BoxType.class);
+		for (final BoxType boxType : boxTypes) {
+			addWithContainers(result, boxType);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Look up the box type for the provided 32-bit box type code.
+	 * 
+	 * @param fourcc - the box type code as read from the file.
+	 * @return the matching box type, or null if the box type is not supported.
+	 */
+	public static BoxType forFourcc(final int fourcc) {
+		int index = hash(fourcc) & FOURCC_MASK;
+		
+		BoxType boxType;
+		while ((boxType = FOURCC_VALUES[index]) != null) {
+			if (FOURCC_KEYS[index] == fourcc) {
+				return boxType;
+			}
+			index = (index + 1) & FOURCC_MASK;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Convert the provided box name into its 32-bit box type code. Three character
+	 * names are Apple items and are prefixed with the copyright symbol.
+	 * 
+	 * @param name - the box name.
+	 * @return the box type code.
+	 */
+	public static int toFourcc(final String name) {
+		// Validate
+		if (name == null || name.length() < 3 || name.length() > 4) {
+			throw new IllegalArgumentException("Provided box name is invalid! (name=" + name + ")");
+		}
+		
+		int fourcc = (name.length() == 3) ? COPYRIGHT_PREFIX : 0;
+		for (int i = 0; i < name.length(); ++i) {
+			fourcc = (fourcc << 8) | (name.charAt(i) & 0xFF);
+		}
+		
+		return fourcc;
+	}
+	
+	/**
+	 * Convert the provided 32-bit box type code into its box name. The copyright
+	 * symbol prefix of Apple items is dropped.
+	 * 
+	 * @param fourcc - the box type code.
+	 * @return the box name.
+	 */
+	public static String toName(final int fourcc) {
+		final byte[] nameBytes = new byte[] { (byte) (fourcc >>> 24), (byte) (fourcc >>> 16),
+				(byte) (fourcc >>> 8), (byte) fourcc };
+		
+		// Validate
+		if ((fourcc >>> 24) == COPYRIGHT_PREFIX) {
+			return new String(nameBytes, 1, nameBytes.length - 1, StandardCharsets.ISO_8859_1);
+		} else {
+			return new String(nameBytes, StandardCharsets.ISO_8859_1);
+		}
+	}
+	
+	/**
+	 * Helper method to record the provided child box types may be found in the
+	 * provided container box type.
+	 * 
+	 * @param container - the container box type.
+	 * @param children - the child box types.
+	 */
+	private static void contains(final BoxType container, final BoxType... children) {
+		for (final BoxType child : children) {
+			Set<BoxType> containers = CONTAINERS.get(child);
+			if (containers == null) {
+				containers = EnumSet.noneOf(BoxType.class);
+				CONTAINERS.put(child, containers);
+			}
+			containers.add(container);
+		}
+	}
+	
+	/**
+	 * Helper method to add the provided box type and all of its containers.
+	 * 
+	 * @param result - the set to add to.
+	 * @param boxType - the box type.
+	 */
+	private static void addWithContainers(final Set<BoxType> result, final BoxType boxType) {
+		if (boxType != null && result.add(boxType)) {
+			for (final BoxType container : boxType.getContainers()) {
+				addWithContainers(result, container);
+			}
+		}
+	}
+	
+	/**
+	 * Helper method to spread the box type code bits across the table index.
+	 * 
+	 * @param fourcc - the box type code.
+	 * @return the hash.
+	 */
+	private static int hash(final int fourcc) {
+		final int hash = fourcc * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
 }
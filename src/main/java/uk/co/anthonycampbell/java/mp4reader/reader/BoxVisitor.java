@@ -0,0 +1,71 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+
+/**
+ * Visitor notified by {@link MP4Reader#accept(BoxVisitor)} as each box of the file is
+ * walked, in file order. Container boxes are never built, instead their children are
+ * visited between the start and end events of the container, so callers only pay for
+ * the boxes they need. Returning {@link Action#SKIP} from
+ * {@link #onBoxStart(int, long, long)} skips a box and its whole subtree with a single
+ * seek.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ * @see BoxVisitorAdapter
+ */
+public interface BoxVisitor {
+
+	/**
+	 * Action to take once the start of a box has been visited.
+	 */
+	public enum Action {
+
+		/** Visit the children of a container box, or read a leaf box. */
+		CONTINUE,
+
+		/** Skip the box and its children. */
+		SKIP
+	}
+
+	/**
+	 * Called when the header of a box has been read.
+	 *
+	 * @param fourcc - the box type code, see {@link BoxType#toName(int)}.
+	 * @param offset - the file offset of the box.
+	 * @param size - the box size, including its header.
+	 * @return whether to visit or skip the box.
+	 */
+	public Action onBoxStart(int fourcc, long offset, long size);
+
+	/**
+	 * Called when a leaf box, one without child boxes to visit, has been read.
+	 *
+	 * @param box - the leaf box.
+	 */
+	public void onBox(Box box);
+
+	/**
+	 * Called once a box which was not skipped, and all of its children, have been visited.
+	 *
+	 * @param fourcc - the box type code.
+	 * @param offset - the file offset of the box.
+	 * @param size - the box size, including its header.
+	 */
+	public void onBoxEnd(int fourcc, long offset, long size);
+}
@@ -0,0 +1,152 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.common.HdlrBox;
+import uk.co.anthonycampbell.java.mp4reader.box.item.CoverBox;
+import uk.co.anthonycampbell.java.mp4reader.box.item.ItemBox;
+import uk.co.anthonycampbell.java.mp4reader.box.movie.MvhdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.StsdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.stream.MdhdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.track.TkhdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.type.FtypBox;
+
+/**
+ * Adapter for the {@link BoxVisitor} interface which visits every box and passes each
+ * leaf box to a typed callback. Override only the callbacks required.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class BoxVisitorAdapter implements BoxVisitor {
+
+	@Override
+	public Action onBoxStart(final int fourcc, final long offset, final long size) {
+		return Action.CONTINUE;
+	}
+
+	@Override
+	public void onBox(final Box box) {
+		if (box instanceof FtypBox) {
+			onFileType((FtypBox) box);
+		} else if (box instanceof MvhdBox) {
+			onMovieHeader((MvhdBox) box);
+		} else if (box instanceof TkhdBox) {
+			onTrackHeader((TkhdBox) box);
+		} else if (box instanceof MdhdBox) {
+			onMediaHeader((MdhdBox) box);
+		} else if (box instanceof HdlrBox) {
+			onHandler((HdlrBox) box);
+		} else if (box instanceof StsdBox) {
+			onSampleDescription((StsdBox) box);
+		} else if (box instanceof ItemBox) {
+			onItem((ItemBox) box);
+		} else if (box instanceof CoverBox) {
+			onCover((CoverBox) box);
+		} else {
+			onOtherBox(box);
+		}
+	}
+
+	@Override
+	public void onBoxEnd(final int fourcc, final long offset, final long size) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when the file type box (ftyp) has been read.
+	 *
+	 * @param box - the file type box.
+	 */
+	public void onFileType(final FtypBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when the movie header box (mvhd) has been read.
+	 *
+	 * @param box - the movie header box.
+	 */
+	public void onMovieHeader(final MvhdBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when a track header box (tkhd) has been read.
+	 *
+	 * @param box - the track header box.
+	 */
+	public void onTrackHeader(final TkhdBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when a media header box (mdhd) has been read.
+	 *
+	 * @param box - the media header box.
+	 */
+	public void onMediaHeader(final MdhdBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when a handler reference box (hdlr) has been read.
+	 *
+	 * @param box - the handler reference box.
+	 */
+	public void onHandler(final HdlrBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when a sample description box (stsd) has been read, holding the audio,
+	 * video or text sample entry of a track.
+	 *
+	 * @param box - the sample description box.
+	 */
+	public void onSampleDescription(final StsdBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when a meta data item of the item list (ilst) has been read.
+	 *
+	 * @param box - the item box.
+	 */
+	public void onItem(final ItemBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when the cover item of the item list (ilst) has been read. The images
+	 * themselves are not read.
+	 *
+	 * @param box - the cover item box.
+	 */
+	public void onCover(final CoverBox box) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called when any other leaf box has been read.
+	 *
+	 * @param box - the leaf box.
+	 */
+	public void onOtherBox(final Box box) {
+		// Nothing to do by default
+	}
+}
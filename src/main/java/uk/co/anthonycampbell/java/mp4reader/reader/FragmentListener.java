@@ -0,0 +1,46 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MoofBox;
+import uk.co.anthonycampbell.java.mp4reader.box.movie.MoovBox;
+
+/**
+ * Listener notified by {@link MP4Reader#parseFragments(FragmentListener)} as each box
+ * of a fragmented MP4 file is read. Boxes are not retained by the reader once the
+ * listener returns, so memory use is bounded by the size of a single fragment.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public interface FragmentListener {
+
+	/**
+	 * Called when the movie box has been read. Its movie extends box (mvex) holds the
+	 * default sample values of each track's fragments.
+	 *
+	 * @param movie - the movie box.
+	 */
+	public void movie(MoovBox movie);
+
+	/**
+	 * Called when a movie fragment has been read, with the track runs of each of its
+	 * track fragments.
+	 *
+	 * @param fragment - the movie fragment box.
+	 */
+	public void fragment(MoofBox fragment);
+}
@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.item.CoverArt;
 import uk.co.anthonycampbell.java.mp4reader.box.item.IlstBox;
 import uk.co.anthonycampbell.java.mp4reader.box.movie.MoovBox;
 import uk.co.anthonycampbell.java.mp4reader.box.track.TrakBox;
@@ -51,7 +52,7 @@ public class MP4 implements Comparable<MP4> {
 	protected Date releaseDate;
 	protected Rating rating;
 	protected String genre;
-	protected byte[] cover;
+	protected List<CoverArt> covers;
 	protected String description;
 	protected String synopsis;
 	protected MediaType mediaType;
@@ -116,8 +117,7 @@ public class MP4 implements Comparable<MP4> {
 			final BoxType boxType = box.getBoxType();
 			
 			if (boxType != null) {
-				log.debug("Adding box '" + box.getBoxName() + "' to " +
-						this.getClass().getSimpleName() + "\n");
+				log.debug("Adding box '{}' to {}\n", box.getBoxName(), this.getClass().getSimpleName());
 				
 				if (box instanceof FtypBox && BoxType.FILE_TYPE == boxType) {
 					this.containerType = ((FtypBox) box).getMajorBrand();
@@ -136,7 +136,7 @@ public class MP4 implements Comparable<MP4> {
 						this.show = ilstBox.getShow();
 						this.releaseDate = ilstBox.getDate();
 						this.genre = ilstBox.getGenre();
-						this.cover = ilstBox.getCover();
+						this.covers = ilstBox.getCovers();
 						this.description = ilstBox.getDescription();
 						this.synopsis = ilstBox.getSynopsis();
 						this.actors = ilstBox.getActors();
@@ -229,7 +229,6 @@ public class MP4 implements Comparable<MP4> {
 						trakBox.getTrackId();
 						trakBox.getType();
 						trakBox.getTrackName();
-						trakBox.getTotalBlockSize();
 					}
 				}
 			}
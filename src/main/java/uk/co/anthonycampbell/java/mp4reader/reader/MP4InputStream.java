@@ -16,21 +16,19 @@ package uk.co.anthonycampbell.java.mp4reader.reader;
  * limitations under the License.
  */
 
-import java.io.BufferedInputStream;
-import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.co.anthonycampbell.java.mp4reader.reader.source.MP4Source;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.SourceType;
+
 /**
  * Class to encapsulate the reading of a MP4 input stream.
  *
@@ -57,10 +55,9 @@ public class MP4InputStream {
 	public static final String ASCII_CHARSET = "US-ASCII";
 	
 	// Reader properties
-	private final InputStream inputStream;
-	private final BufferedInputStream bufferedInputStream;
-	private final DataInputStream dataInputStream;
-	private long bytesRead;
+	private final File file;
+	private final SourceType sourceType;
+	private final MP4Source source;
 	protected MP4 mp4Instance;
 	
 	/**
@@ -71,27 +68,60 @@ public class MP4InputStream {
 	 * @throws IOException - Unable to read provided file reference.
 	 */
 	public MP4InputStream(final File file) throws IllegalArgumentException, IOException {
+		this(file, SourceType.STREAM);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param file - the file to read.
+	 * @param sourceType - the type of source used to read the file.
+	 * @throws IllegalArgumentException - Provided file reference is invalid.
+	 * @throws IOException - Unable to read provided file reference.
+	 */
+	public MP4InputStream(final File file, final SourceType sourceType)
+			throws IllegalArgumentException, IOException {
 		log.trace("Initialise MP4 reader...");
 		
 		// Validate
-		if (file != null && file.isFile() && file.canRead()) {
-			log.trace("- file: " + file.getPath());
+		if (file != null && file.isFile() && file.canRead() && sourceType != null) {
+			log.trace("- file: {}", file.getPath());
 			
 			// Prepare last modified date
 			final Date lastModified = new Date();
 			lastModified.setTime(file.lastModified());			
 			
-			// Initialise stream
-			this.inputStream = FileUtils.openInputStream(file);
-			this.bufferedInputStream = new BufferedInputStream(this.inputStream);
-			this.dataInputStream = new DataInputStream(this.bufferedInputStream);
+			// Initialise source
+			this.file = file;
+			this.sourceType = sourceType;
+			this.source = sourceType.open(file);
 			this.mp4Instance = new MP4(null);
-			this.bytesRead = 0;
 
-			log.trace("- size: " + available());
+			log.trace("- size: {}", available());
 		} else {
 			throw new IllegalArgumentException("Provided file reference is invalid! (file=" +
-					file +")");
+					file + ", sourceType=" + sourceType + ")");
+		}
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param source - the source to read.
+	 * @throws IllegalArgumentException - Provided source is invalid.
+	 */
+	public MP4InputStream(final MP4Source source) throws IllegalArgumentException {
+		log.trace("Initialise MP4 reader...");
+		
+		// Validate
+		if (source != null) {
+			this.file = null;
+			this.sourceType = null;
+			this.source = source;
+			this.mp4Instance = new MP4(null);
+		} else {
+			throw new IllegalArgumentException("Provided source is invalid! (source=" +
+					source + ")");
 		}
 	}
 	
@@ -102,9 +132,7 @@ public class MP4InputStream {
 	 * @throws IOException Unable to read the next byte from the stream.
 	 */
 	public byte readByte() throws IOException {
-		final byte b = this.dataInputStream.readByte();
-		incrementReadCount(1);
-		return b;
+		return this.source.readByte();
 	}
 	
 	/**
@@ -135,7 +163,7 @@ public class MP4InputStream {
 	 */
 	public byte[] readBytes(final int numberOfBytes) throws IOException {
 		final byte[] bytes = new byte[numberOfBytes];
-		incrementReadCount(this.dataInputStream.read(bytes));
+		this.source.read(bytes, 0, numberOfBytes);
 		return bytes;
 	}
 	
@@ -146,9 +174,7 @@ public class MP4InputStream {
 	 * @throws IOException Unable to read the next 16-bit integer from the stream.
 	 */
 	public short readShort() throws IOException {
-		final short numeric = this.dataInputStream.readShort();
-		incrementReadCount(SIXTEEN_BIT_BYTE_LENGTH);
-		return numeric;
+		return this.source.readShort();
 	}
 	
 	/**
@@ -194,9 +220,23 @@ public class MP4InputStream {
 	 * @throws IOException Unable to read the next 32-bit integer from the stream.
 	 */
 	public int readInt() throws IOException {
-		final int numeric = this.dataInputStream.readInt();
-		incrementReadCount();
-		return numeric;
+		return this.source.readInt();
+	}
+	
+	/**
+	 * Method to read the provided number of 32-bit integers from the input stream.
+	 * 
+	 * @param numberOfInts - the number of integers to read.
+	 * @return array of 32-bit integers.
+	 * @throws IOException Unable to read the integers from the stream.
+	 */
+	public int[] readInts(final int numberOfInts) throws IOException {
+		final int[] ints = new int[numberOfInts];
+		for (int i = 0; i < numberOfInts; ++i) {
+			ints[i] = this.source.readInt();
+		}
+		
+		return ints;
 	}
 	
 	/**
@@ -216,9 +256,17 @@ public class MP4InputStream {
 	 * @throws IOException Unable to read the next 64-bit long from the stream.
 	 */
 	public BigInteger readLong() throws IOException {
-		final BigInteger numeric = new BigInteger("" + this.dataInputStream.readLong());
-		incrementReadCount(THIRTY_TWO_BIT_BYTE_LENGTH * 2);
-		return numeric;
+		return BigInteger.valueOf(this.source.readLong());
+	}
+	
+	/**
+	 * Method to read the next 64-bit long from the input stream without boxing it.
+	 * 
+	 * @return 64-bit long.
+	 * @throws IOException Unable to read the next 64-bit long from the stream.
+	 */
+	public long readLongValue() throws IOException {
+		return this.source.readLong();
 	}
 	
 	/**
@@ -274,10 +322,9 @@ public class MP4InputStream {
 		final byte[] stringByte = new byte[byteLength];
 		
 		// Validate
-		if (this.dataInputStream != null && this.dataInputStream.available() > 0) {
+		if (remaining() > 0) {
 			// Read
-			final int read = this.dataInputStream.read(stringByte);
-			incrementReadCount(read);
+			this.source.read(stringByte, 0, byteLength);
 			
 			result = new String(stringByte, ASCII_CHARSET);
 		}
@@ -362,6 +409,20 @@ public class MP4InputStream {
 		return integerList;
 	}
 	
+	/**
+	 * @return the file being read, or null when reading from a provided source.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * @return the source type, or null when reading from a provided source.
+	 */
+	public SourceType getSourceType() {
+		return this.sourceType;
+	}
+	
 	/**
 	 * @return the MP4 instance.
 	 */
@@ -377,11 +438,17 @@ public class MP4InputStream {
 	 * 		input stream.
 	 */
 	public int available() throws IOException {
-		if (this.dataInputStream != null) {
-			return this.dataInputStream.available();
-		} else {
-			return 0;
-		}
+		return (int) Math.min(remaining(), Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Return the number of bytes remaining in the current file. Unlike {@link #available()}
+	 * this is not limited to 2 GB.
+	 * 
+	 * @return - the number of bytes remaining.
+	 */
+	public long remaining() {
+		return Math.max(0, this.source.size() - this.source.position());
 	}
 	
 	/**
@@ -390,7 +457,16 @@ public class MP4InputStream {
 	 * @return - the bytes read.
 	 */
 	public long bytesRead() {
-		return this.bytesRead;
+		return this.source.position();
+	}
+	
+	/**
+	 * Return the number of reads or mappings of the underlying file with this MP4 reader.
+	 * 
+	 * @return - the number of I/O calls.
+	 */
+	public long ioCalls() {
+		return this.source.ioCalls();
 	}
 	
 	/**
@@ -400,20 +476,17 @@ public class MP4InputStream {
 	 * @throws IOException Unable to skip the provided number of bytes.
 	 */
 	public void skip(final long numberOfBytes) throws IOException {
-		// Initialise count
-		long remainingBytes = numberOfBytes;
-		
-		// Unfortunately skip bytes only supports integers
-		if (remainingBytes > Integer.MAX_VALUE) {
-			while (remainingBytes > Integer.MAX_VALUE) {
-				this.dataInputStream.skipBytes(Integer.MAX_VALUE);
-				this.bytesRead = this.bytesRead + Integer.MAX_VALUE;
-				remainingBytes -= Integer.MAX_VALUE;
-			}
-		}
-		
-		this.dataInputStream.skipBytes((int) remainingBytes);
-		this.bytesRead = this.bytesRead + remainingBytes;
+		this.source.skip(numberOfBytes);
+	}
+	
+	/**
+	 * Move the current input stream's pointer to the provided absolute position.
+	 * 
+	 * @param position - the position to move to.
+	 * @throws IOException Unable to move to the provided position.
+	 */
+	public void seek(final long position) throws IOException {
+		this.source.position(position);
 	}
 	
 	/**
@@ -422,32 +495,13 @@ public class MP4InputStream {
 	 * @throws IOException - Unable to reset MP4 input stream. 
 	 */
 	public void reset() throws IOException {
-		this.dataInputStream.reset();
-		this.bytesRead = 0;
+		seek(0);
 	}
 	
 	/**
 	 * Close the current input stream.
 	 */
 	public void close() {
-		IOUtils.closeQuietly(this.dataInputStream);
-		IOUtils.closeQuietly(this.bufferedInputStream);	
-		IOUtils.closeQuietly(this.inputStream);	
-	}
-	
-	/**
-	 * Helper method to increment the byte read count by 32-bits.
-	 */
-	private void incrementReadCount() {
-		incrementReadCount(THIRTY_TWO_BIT_BYTE_LENGTH);
-	}
-	
-	/**
-	 * Helper method to increment the byte read count.
-	 * 
-	 * @param byteCount - the number of bytes read.
-	 */
-	private void incrementReadCount(final int byteCount) {
-		this.bytesRead = this.bytesRead + byteCount;
+		this.source.close();
 	}
 }
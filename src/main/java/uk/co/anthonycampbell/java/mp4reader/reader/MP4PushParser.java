@@ -0,0 +1,280 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+
+/**
+ * Push based parser for MP4 streams which can not be read from a file, for example an
+ * upload still being received. Bytes are fed as they arrive and each top level box is
+ * parsed as soon as its last byte has been fed, so the movie box (moov) is available
+ * without waiting for the rest of the stream.
+ * 
+ * Only the box being parsed is buffered. Media data and padding boxes are discarded
+ * as they are fed, and boxes larger than the maximum box size are rejected, so memory
+ * use is bounded no matter how large the stream is.
+ * 
+ * Instances are not thread safe.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MP4PushParser {
+
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(MP4PushParser.class.getName());
+
+	/** Default maximum size of a buffered box (64 MB). */
+	public static final int DEFAULT_MAXIMUM_BOX_SIZE = 1 << 26;
+
+	// Top level boxes discarded without buffering
+	private static final Set<BoxType> DISCARDED_BOX_TYPES =
+			EnumSet.of(BoxType.MEDIA_DATA, BoxType.FREE, BoxType.SKIP, BoxType.WIDE);
+
+	// Parser properties
+	private final BoxListener listener;
+	private final int maximumBoxSize;
+	private final MP4 mp4Instance;
+	private final byte[] header;
+	private int headerLength;
+	private int headerSize;
+	private long boxStart;
+	private byte[] box;
+	private int boxLength;
+	private long skipRemaining;
+	private long position;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param listener - the listener notified of each parsed box.
+	 */
+	public MP4PushParser(final BoxListener listener) {
+		this(listener, DEFAULT_MAXIMUM_BOX_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param listener - the listener notified of each parsed box.
+	 * @param maximumBoxSize - the maximum size of a buffered box.
+	 */
+	public MP4PushParser(final BoxListener listener, final int maximumBoxSize) {
+		// Validate
+		if (listener == null || maximumBoxSize < 8) {
+			throw new IllegalArgumentException("Provided parser arguments are invalid! (listener=" +
+					listener + ", maximumBoxSize=" + maximumBoxSize + ")");
+		}
+
+		this.listener = listener;
+		this.maximumBoxSize = maximumBoxSize;
+		this.mp4Instance = new MP4(null);
+		this.header = new byte[16];
+		this.headerSize = 8;
+	}
+
+	/**
+	 * Feed the next bytes of the stream, from the position to the limit of the provided
+	 * buffer. Boxes completed by these bytes are parsed and passed to the listener before
+	 * this method returns.
+	 *
+	 * @param bytes - the next bytes of the stream.
+	 * @throws IOException - Unable to parse a completed box, or a box is too large.
+	 */
+	public void feed(final ByteBuffer bytes) throws IOException {
+		while (bytes.hasRemaining()) {
+			if (this.skipRemaining > 0) {
+				// Discard the box content
+				final int skipped = (int) Math.min(this.skipRemaining, bytes.remaining());
+				bytes.position(bytes.position() + skipped);
+				this.skipRemaining -= skipped;
+				this.position += skipped;
+
+			} else if (this.box != null) {
+				// Buffer the box content
+				final int read = Math.min(this.box.length - this.boxLength, bytes.remaining());
+				bytes.get(this.box, this.boxLength, read);
+				this.boxLength += read;
+				this.position += read;
+
+				if (this.boxLength == this.box.length) {
+					parseBox();
+				}
+
+			} else {
+				// Collect the box header
+				final int read = Math.min(this.headerSize - this.headerLength, bytes.remaining());
+				bytes.get(this.header, this.headerLength, read);
+				this.headerLength += read;
+				this.position += read;
+
+				if (this.headerLength == 8 && readInt(0) == 1) {
+					// 64-bit box size follows the box type
+					this.headerSize = 16;
+				} else if (this.headerLength == this.headerSize) {
+					startBox();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Signal the end of the stream.
+	 *
+	 * @throws EOFException - The stream ended part way through a box being parsed.
+	 */
+	public void finish() throws EOFException {
+		if (this.box != null || this.headerLength > 0) {
+			throw new EOFException("Stream ended part way through a box! (boxName=" +
+					((this.headerLength >= 8) ? BoxType.toName(readInt(4)) : null) + ", position=" +
+					this.boxStart + ", streamPosition=" + this.position + ")");
+		}
+
+		if (this.skipRemaining > 0 && this.skipRemaining != Long.MAX_VALUE) {
+			log.debug("Stream ended part way through a skipped box! (position={})", this.boxStart);
+		}
+	}
+
+	/**
+	 * @return the MP4 instance built from the boxes parsed so far.
+	 */
+	public MP4 getMp4Instance() {
+		return this.mp4Instance;
+	}
+
+	/**
+	 * @return the number of bytes fed so far.
+	 */
+	public long getPosition() {
+		return this.position;
+	}
+
+	/**
+	 * Helper method to start buffering or discarding a box once its header has been read.
+	 *
+	 * @throws IOException - The box size is invalid, or the box is too large to buffer.
+	 */
+	private void startBox() throws IOException {
+		final long offset = readInt(0) & 0xFFFFFFFFL;
+		final int fourcc = readInt(4);
+		final long boxSize = (this.headerSize == 16) ?
+				((long) readInt(8) << 32) | (readInt(12) & 0xFFFFFFFFL) : offset;
+		final BoxType boxType = BoxType.forFourcc(fourcc);
+
+		this.boxStart = this.position - this.headerSize;
+		final int headerSize = this.headerSize;
+		this.headerLength = 0;
+		this.headerSize = 8;
+
+		// Box extends to the end of the stream
+		if (offset == 0) {
+			log.debug("Discarding box to the end of the stream! (boxName={})", BoxType.toName(fourcc));
+			this.skipRemaining = Long.MAX_VALUE;
+			return;
+		}
+
+		// Validate
+		if (boxSize < headerSize) {
+			throw new IOException("Provided box size is invalid! (boxName=" + BoxType.toName(fourcc) +
+					", boxSize=" + boxSize + ", position=" + this.boxStart + ")");
+		}
+
+		final long payloadSize = boxSize - headerSize;
+
+		if (boxType == null || DISCARDED_BOX_TYPES.contains(boxType)) {
+			this.skipRemaining = payloadSize;
+			return;
+		}
+
+		if (payloadSize + 8 > this.maximumBoxSize) {
+			throw new IOException("Box is too large to buffer! (boxName=" + boxType.getName() +
+					", boxSize=" + boxSize + ", maximumBoxSize=" + this.maximumBoxSize + ")");
+		}
+
+		// Buffer the box behind a compact 32-bit header
+		this.box = new byte[(int) payloadSize + 8];
+		writeInt(this.box, 0, this.box.length);
+		writeInt(this.box, 4, fourcc);
+		this.boxLength = 8;
+		
+		// Empty boxes are complete with their header
+		if (payloadSize == 0) {
+			parseBox();
+		}
+	}
+
+	/**
+	 * Helper method to parse the buffered box and notify the listener.
+	 *
+	 * @throws IOException - Unable to parse the buffered box.
+	 */
+	private void parseBox() throws IOException {
+		final byte[] box = this.box;
+		this.box = null;
+
+		// Positions match the stream, the compact header ends where the original one did
+		final MP4Reader reader = new MP4Reader(new BufferSource(ByteBuffer.wrap(box),
+				this.position - box.length));
+
+		try {
+			final Box nextBox = reader.nextBox();
+
+			if (nextBox != null) {
+				log.debug("{}", nextBox);
+
+				this.mp4Instance.add(nextBox);
+				this.listener.parsed(nextBox);
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Helper method to read a 32-bit integer from the header.
+	 *
+	 * @param offset - the header offset.
+	 * @return the 32-bit integer.
+	 */
+	private int readInt(final int offset) {
+		return ((this.header[offset] & 0xFF) << 24) | ((this.header[offset + 1] & 0xFF) << 16) |
+				((this.header[offset + 2] & 0xFF) << 8) | (this.header[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * Helper method to write a 32-bit integer to the provided bytes.
+	 *
+	 * @param bytes - the destination bytes.
+	 * @param offset - the destination offset.
+	 * @param value - the 32-bit integer.
+	 */
+	private static void writeInt(final byte[] bytes, final int offset, final int value) {
+		bytes[offset] = (byte) (value >> 24);
+		bytes[offset + 1] = (byte) (value >> 16);
+		bytes[offset + 2] = (byte) (value >> 8);
+		bytes[offset + 3] = (byte) value;
+	}
+}
@@ -18,15 +18,33 @@ package uk.co.anthonycampbell.java.mp4reader.reader;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MfraBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MfroBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MoofBox;
 import uk.co.anthonycampbell.java.mp4reader.box.free.UnknownBox;
+import uk.co.anthonycampbell.java.mp4reader.box.movie.MoovBox;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.MP4Source;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.SourceType;
 
 /**
  * Factory class to create box instances.
@@ -38,6 +56,27 @@ public class MP4Reader extends MP4InputStream {
 	// Log
 	private static final Logger log = LoggerFactory.getLogger(MP4Reader.class.getName());
 	
+	// Maximum number of files opened at the same time by parseAll
+	public static final int DEFAULT_MAXIMUM_OPEN_FILES = 64;
+	
+	// Virtual thread executor factory, only available from Java 21
+	private static final Method VIRTUAL_THREAD_EXECUTOR = virtualThreadExecutor();
+	
+	// JDK Flight Recorder events, only available from Java 11 and later Java 8 updates
+	private static final boolean FLIGHT_RECORDER = flightRecorder();
+	
+	// Boxes holding only child boxes, walked by accept rather than built
+	private static final Set<BoxType> CONTAINER_BOX_TYPES = EnumSet.of(BoxType.MOVIE_HEADER,
+			BoxType.TRACK, BoxType.MEDIA_STREAM, BoxType.MEDIA_STREAM_INFORMATION,
+			BoxType.DATA_INFORMATION, BoxType.SAMPLE_TABLE, BoxType.USER_DATA,
+			BoxType.MOVIE_PRESENTATION_META_DATA, BoxType.APPLE_ITEM_LIST, BoxType.MOVIE_EXTENDS,
+			BoxType.MOVIE_FRAGMENT, BoxType.TRACK_FRAGMENT, BoxType.MOVIE_FRAGMENT_RANDOM_ACCESS);
+	
+	// Reader properties
+	private boolean lazySampleTables;
+	private Set<BoxType> boxTypeFilter;
+	private ParseStatistics parseStatistics;
+	
 	/**
 	 * Constructor.
 	 * 
@@ -48,6 +87,101 @@ public class MP4Reader extends MP4InputStream {
 	public MP4Reader(final File file) throws IllegalArgumentException, IOException {
 		super(file);
 	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param file - the MP4 file to read.
+	 * @param sourceType - the type of source used to read the file.
+	 * @throws IOException - Unable to read MP4 file.
+	 * @throws IllegalArgumentException - Provided argument was invalid!
+	 */
+	public MP4Reader(final File file, final SourceType sourceType)
+			throws IllegalArgumentException, IOException {
+		super(file, sourceType);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param source - the MP4 source to read.
+	 * @throws IllegalArgumentException - Provided argument was invalid!
+	 */
+	public MP4Reader(final MP4Source source) throws IllegalArgumentException {
+		super(source);
+	}
+
+	/**
+	 * Whether sample table entries (stts, stsc and stsz) are only decoded when first
+	 * accessed. Lazy sample tables record where their entries start and re-open the
+	 * file to decode them, so they are only supported when reading from a file.
+	 * 
+	 * @return whether sample table entries are decoded lazily.
+	 */
+	public boolean isLazySampleTables() {
+		return this.lazySampleTables && getFile() != null;
+	}
+	
+	/**
+	 * @param lazySampleTables - whether sample table entries are decoded lazily.
+	 * @see #isLazySampleTables()
+	 */
+	public void setLazySampleTables(final boolean lazySampleTables) {
+		this.lazySampleTables = lazySampleTables;
+	}
+
+	/**
+	 * The box types built while parsing, with every box type they may be found in,
+	 * or null when every box is built. Any other box is skipped with a single seek,
+	 * along with all of its children.
+	 * 
+	 * @return the box types built while parsing.
+	 */
+	public Set<BoxType> getBoxTypeFilter() {
+		return this.boxTypeFilter;
+	}
+	
+	/**
+	 * Only build the provided box types while parsing, for example the track header,
+	 * media header and video sample description boxes when thumbnailing, or the item
+	 * list when cataloguing. The boxes these may be found in are added automatically.
+	 * 
+	 * @param boxTypes - the box types to build, or null to build every box.
+	 * @see #getBoxTypeFilter()
+	 */
+	public void setBoxTypeFilter(final Set<BoxType> boxTypes) {
+		this.boxTypeFilter = (boxTypes != null) ?
+				Collections.unmodifiableSet(BoxType.withContainers(boxTypes)) : null;
+	}
+	
+	/**
+	 * @return the statistics collected while parsing, or null when not collected.
+	 */
+	public ParseStatistics getParseStatistics() {
+		return this.parseStatistics;
+	}
+	
+	/**
+	 * Collect statistics into the provided instance while parsing, with
+	 * {@link #parse()}, {@link #parseMetaData()}, {@link #accept(BoxVisitor)} or
+	 * {@link #parseFragments(FragmentListener)}.
+	 * 
+	 * @param parseStatistics - the statistics to add to, or null to stop collecting.
+	 */
+	public void setParseStatistics(final ParseStatistics parseStatistics) {
+		this.parseStatistics = parseStatistics;
+	}
+	
+	/**
+	 * Whether flight recorder events are emitted for each parse, box and skip. Events
+	 * are only created while a recording has the uk.co.anthonycampbell.mp4reader events
+	 * enabled, otherwise each costs a single check.
+	 * 
+	 * @return whether the JDK Flight Recorder is available.
+	 */
+	public static boolean isFlightRecorderAvailable() {
+		return FLIGHT_RECORDER;
+	}
 
 	/**
 	 * Parse the MP4 file reference and construct a {@link MP4} instance.
@@ -61,19 +195,330 @@ public class MP4Reader extends MP4InputStream {
 			reset();
 			this.mp4Instance = new MP4(null);
 		}
+		startStatistics();
+		final ParseEvent event = beginParseEvent();
+		try {
+			// Validate
+			while (available() >= 8) {
+				final Box nextBox = nextBox();
+				
+				// Skipped by the box type filter
+				if (nextBox == null && this.boxTypeFilter != null) {
+					continue;
+				}
+				
+				log.debug(">>>");
+				log.debug("{}", nextBox);
+				log.debug("<<<\n");
+				
+				this.mp4Instance.add(nextBox);
+			}
+		} finally {
+			finishStatistics();
+			commitParseEvent(event, "parse");
+		}
 		
+		return this.mp4Instance;
+	}
+	
+	/**
+	 * Parse only the file type and movie boxes of the MP4 file reference and construct
+	 * a {@link MP4} instance. Every other top level box is skipped after reading its
+	 * header, so the media data is never read no matter where the movie box sits in
+	 * the file.
+	 * 
+	 * @return MP4 instance.
+	 * @throws IOException - Unable to parse MP4 file.
+	 */
+	public MP4 parseMetaData() throws IOException {
+		// If we've read before we need to reset.
+		if (bytesRead() > 0) {
+			reset();
+			this.mp4Instance = new MP4(null);
+		}
+		startStatistics();
+		final ParseEvent event = beginParseEvent();
+		try {
+			// File type and movie boxes excluded by the box type filter are never looked for
+			boolean fileType = this.boxTypeFilter != null && !this.boxTypeFilter.contains(BoxType.FILE_TYPE);
+			boolean movie = this.boxTypeFilter != null && !this.boxTypeFilter.contains(BoxType.MOVIE_HEADER);
+			
+			while (!(fileType && movie) && remaining() >= 8) {
+				checkInterrupted();
+				
+				final long startPosition = bytesRead();
+				final long offset = readUnsignedInt();
+				final int fourcc = readInt();
+				final long boxSize = readBoxSize(offset);
+				final long headerSize = bytesRead() - startPosition;
+				
+				// Validate
+				if (boxSize < headerSize) {
+					log.warn("Invalid box size, stopping parse! (boxName=" + BoxType.toName(fourcc) +
+							", boxSize=" + boxSize + ", position=" + startPosition + ")");
+					break;
+				}
+				
+				if (BoxType.FILE_TYPE.getFourcc() == fourcc || BoxType.MOVIE_HEADER.getFourcc() == fourcc) {
+					final Box box = read(boxSize - headerSize, fourcc);
+					
+					if (box != null) {
+						fileType |= BoxType.FILE_TYPE == box.getBoxType();
+						movie |= BoxType.MOVIE_HEADER == box.getBoxType();
+						
+						this.mp4Instance.add(box);
+					}
+				}
+				
+				// Always continue from the end of the box
+				seek(startPosition + boxSize);
+			}
+		} finally {
+			finishStatistics();
+			commitParseEvent(event, "parseMetaData");
+		}
+		
+		return this.mp4Instance;
+	}
+	
+	/**
+	 * Walk every box of the MP4 file reference, notifying the provided visitor of each
+	 * one in file order. Container boxes are not built, their children are visited in
+	 * turn, and boxes the visitor skips are passed over with a single seek.
+	 * 
+	 * @param visitor - the visitor to notify.
+	 * @throws IOException - Unable to walk MP4 file.
+	 */
+	public void accept(final BoxVisitor visitor) throws IOException {
+		// Validate
+		if (visitor == null) {
+			throw new IllegalArgumentException("Provided box visitor is invalid! (visitor=" +
+					visitor + ")");
+		}
+		
+		reset();
+		startStatistics();
+		final ParseEvent event = beginParseEvent();
+		try {
+			accept(visitor, remaining());
+		} finally {
+			finishStatistics();
+			commitParseEvent(event, "accept");
+		}
+	}
+	
+	/**
+	 * Parse a fragmented MP4 file from the current position, notifying the provided
+	 * listener of the movie box and of each movie fragment as soon as it has been read.
+	 * Media data and every other top level box are skipped after reading their header
+	 * and no box is retained, so memory use does not grow with the number of fragments.
+	 * 
+	 * To start from a given time, move the reader to the movie fragment returned by
+	 * {@link MfraBox#findFragment(long, long)} before calling this method.
+	 * 
+	 * A movie or fragment box running past the end of the file, for example one still
+	 * being recorded, stops the parse with the reader positioned at the start of the box.
+	 * 
+	 * @param listener - the listener to notify.
+	 * @return the number of movie fragments read.
+	 * @throws IOException - Unable to parse MP4 file.
+	 */
+	public long parseFragments(final FragmentListener listener) throws IOException {
 		// Validate
-		while (available() >= 8) {
-			final Box nextBox = nextBox();
+		if (listener == null) {
+			throw new IllegalArgumentException("Provided fragment listener is invalid! (listener=" +
+					listener + ")");
+		}
+		
+		long fragments = 0;
+		startStatistics();
+		final ParseEvent event = beginParseEvent();
+		try {
+			while (remaining() >= 8) {
+				checkInterrupted();
+				
+				final long startPosition = bytesRead();
+				final long offset = readUnsignedInt();
+				final int fourcc = readInt();
+				final long boxSize = readBoxSize(offset);
+				final long headerSize = bytesRead() - startPosition;
+				
+				// Validate
+				if (boxSize < headerSize) {
+					log.warn("Invalid box size, stopping parse! (boxName=" + BoxType.toName(fourcc) +
+							", boxSize=" + boxSize + ", position=" + startPosition + ")");
+					break;
+				}
+				
+				if (BoxType.MOVIE_HEADER.getFourcc() == fourcc ||
+						BoxType.MOVIE_FRAGMENT.getFourcc() == fourcc) {
+					// Incomplete box, leave the reader at its start
+					if (remaining() < boxSize - headerSize) {
+						if (log.isDebugEnabled()) {
+							log.debug("Incomplete box, stopping parse! (boxName=" + BoxType.toName(fourcc) +
+									", boxSize=" + boxSize + ", position=" + startPosition + ")");
+						}
+						seek(startPosition);
+						break;
+					}
+					
+					final Box box = read(boxSize - headerSize, fourcc);
+					
+					if (box instanceof MoofBox) {
+						fragments++;
+						listener.fragment((MoofBox) box);
+					} else if (box instanceof MoovBox) {
+						listener.movie((MoovBox) box);
+					}
+				}
+				
+				// Always continue from the end of the box
+				seek(startPosition + boxSize);
+			}
+		} finally {
+			finishStatistics();
+			commitParseEvent(event, "parseFragments");
+		}
+		
+		return fragments;
+	}
+	
+	/**
+	 * Read the movie fragment random access box (mfra) of a fragmented MP4 file. The box
+	 * is located from the random access offset box (mfro) at the very end of the file,
+	 * so none of the fragments are read. The reader position is left unchanged.
+	 * 
+	 * @return the movie fragment random access box, or null when the file has none.
+	 * @throws IOException - Unable to read the random access box.
+	 */
+	public MfraBox readFragmentRandomAccess() throws IOException {
+		final long position = bytesRead();
+		final long size = position + remaining();
+		
+		try {
+			// Validate
+			if (size < MfroBox.SIZE) {
+				return null;
+			}
 			
-			log.debug(">>>");
-			log.debug("" + nextBox);
-			log.debug("<<<\n");
+			seek(size - MfroBox.SIZE);
+			final Box mfroBox = nextBox();
+			if (!(mfroBox instanceof MfroBox)) {
+				return null;
+			}
 			
-			this.mp4Instance.add(nextBox);
+			final long randomAccessSize = ((MfroBox) mfroBox).getRandomAccessSize();
+			if (randomAccessSize < 8 || randomAccessSize > size) {
+				log.warn("Invalid random access size! (randomAccessSize=" + randomAccessSize +
+						", size=" + size + ")");
+				return null;
+			}
+			
+			seek(size - randomAccessSize);
+			final Box mfraBox = nextBox();
+			
+			return (mfraBox instanceof MfraBox) ? (MfraBox) mfraBox : null;
+			
+		} finally {
+			seek(position);
+		}
+	}
+	
+	/**
+	 * Parse each of the provided MP4 files concurrently with
+	 * {@link #DEFAULT_MAXIMUM_OPEN_FILES} open files at most.
+	 * 
+	 * @param paths - the MP4 files to parse.
+	 * @return the parse result of each file, in the order provided.
+	 * @see #parseAll(Collection, int, SourceType)
+	 */
+	public static Map<Path, CompletableFuture<MP4>> parseAll(final Collection<Path> paths) {
+		return parseAll(paths, DEFAULT_MAXIMUM_OPEN_FILES, SourceType.STREAM);
+	}
+	
+	/**
+	 * Parse each of the provided MP4 files concurrently. Every file is parsed on its
+	 * own virtual thread when the runtime supports them, otherwise on a pool of
+	 * platform threads. Either way no more than the provided number of files are open
+	 * at the same time.
+	 * 
+	 * Each future completes exceptionally when its file cannot be parsed. Cancelling
+	 * a future interrupts the parse of its file. A path provided more than once is
+	 * only parsed once.
+	 * 
+	 * @param paths - the MP4 files to parse.
+	 * @param maximumOpenFiles - maximum number of files open at the same time.
+	 * @param sourceType - the type of source used to read each file.
+	 * @return the parse result of each file, in the order provided.
+	 * @throws IllegalArgumentException - Provided argument was invalid!
+	 */
+	public static Map<Path, CompletableFuture<MP4>> parseAll(final Collection<Path> paths,
+			final int maximumOpenFiles, final SourceType sourceType) throws IllegalArgumentException {
+		// Validate
+		if (paths == null) {
+			throw new IllegalArgumentException("Provided paths are invalid! (paths=" + paths + ")");
+		}
+		if (maximumOpenFiles < 1) {
+			throw new IllegalArgumentException("Provided maximum open files is invalid! " +
+					"(maximumOpenFiles=" + maximumOpenFiles + ")");
+		}
+		if (sourceType == null) {
+			throw new IllegalArgumentException("Provided source type is invalid! (sourceType=" +
+					sourceType + ")");
 		}
 		
-		return this.mp4Instance;
+		final Map<Path, CompletableFuture<MP4>> results =
+				new LinkedHashMap<Path, CompletableFuture<MP4>>();
+		if (paths.isEmpty()) {
+			return results;
+		}
+		
+		final ExecutorService executor = newParseExecutor(maximumOpenFiles);
+		final Semaphore openFiles = new Semaphore(maximumOpenFiles);
+		
+		for (final Path path : paths) {
+			// Parse each file once, a duplicate path shares the first result
+			if (results.containsKey(path)) {
+				continue;
+			}
+			
+			final CompletableFuture<MP4> result = new CompletableFuture<MP4>();
+			results.put(path, result);
+			
+			final Future<?> task = executor.submit(() -> {
+				try {
+					openFiles.acquire();
+					try {
+						final MP4Reader reader = new MP4Reader(path.toFile(), sourceType);
+						try {
+							result.complete(reader.parse());
+						} finally {
+							reader.close();
+						}
+					} finally {
+						openFiles.release();
+					}
+				} catch (final InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					result.completeExceptionally(ie);
+				} catch (final Throwable t) {
+					result.completeExceptionally(t);
+				}
+			});
+			
+			// Interrupt the parse when the caller cancels its result
+			result.whenComplete((mp4, t) -> {
+				if (result.isCancelled()) {
+					task.cancel(true);
+				}
+			});
+		}
+		
+		// Release the threads once every file is complete
+		CompletableFuture.allOf(results.values().toArray(new CompletableFuture<?>[results.size()]))
+				.whenComplete((ignored, t) -> executor.shutdown());
+		
+		return results;
 	}
 	
 	/**
@@ -86,66 +531,360 @@ public class MP4Reader extends MP4InputStream {
 		// Declare result
 		final Box nextBox;
 
+		// Allow long running parses to be cancelled
+		checkInterrupted();
+		
 		// Validate
 		if (available() > 0) {
 			final long offset = readUnsignedInt();
-			final byte[] boxTypeBytes = readBytes();
-			final String boxType;
-			
-			// Validate
-			final String firstHex = Integer.toHexString(boxTypeBytes[0]);
-			if (StringUtils.isNotEmpty(firstHex) && firstHex.toUpperCase().equals("FFFFFFA9")) {
-				boxType = new String(boxTypeBytes, 1, boxTypeBytes.length - 1);
-			} else {
-				boxType = new String(boxTypeBytes);
-			}
+			final int fourcc = readInt();
 			
 			// Read next box
-			nextBox = read(offset - 8, boxType);
+			nextBox = read(offset - 8, fourcc);
 		} else {
 			nextBox = null;
 		}
 		
 		return nextBox;
 	}
+	
+	/**
+	 * Create the executor used by parseAll. Uses a virtual thread per task when the
+	 * runtime supports them, otherwise a pool of daemon platform threads.
+	 * 
+	 * @param platformThreads - number of platform threads used without virtual threads.
+	 * @return the executor.
+	 */
+	private static ExecutorService newParseExecutor(final int platformThreads) {
+		if (VIRTUAL_THREAD_EXECUTOR != null) {
+			try {
+				return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke(null);
+			} catch (final ReflectiveOperationException roe) {
+				log.warn("Unable to create virtual thread executor! (message=" +
+						roe.getMessage() + ")");
+			}
+		}
+		
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(platformThreads, runnable -> {
+			final Thread thread = new Thread(runnable, "mp4-reader-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Look up the virtual thread executor factory method.
+	 * 
+	 * @return the factory method, or null when virtual threads are not supported.
+	 */
+	private static Method virtualThreadExecutor() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (final NoSuchMethodException nsme) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Look up the JDK Flight Recorder. The event classes are only loaded once it has
+	 * been found.
+	 * 
+	 * @return whether the flight recorder is available.
+	 */
+	private static boolean flightRecorder() {
+		try {
+			Class.forName("jdk.jfr.Event", false, MP4Reader.class.getClassLoader());
+			return true;
+		} catch (final ClassNotFoundException cnfe) {
+			return false;
+		} catch (final LinkageError le) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Helper method to stop parsing once the current thread has been interrupted.
+	 * 
+	 * @throws InterruptedIOException - The current thread has been interrupted.
+	 */
+	private static void checkInterrupted() throws InterruptedIOException {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new InterruptedIOException("Parse interrupted!");
+		}
+	}
 
+	/**
+	 * Helper method to visit each box from the current position up to the provided end.
+	 * 
+	 * @param visitor - the visitor to notify.
+	 * @param end - the position of the end of the enclosing box, or of the file.
+	 * @throws IOException - Unable to walk MP4 file.
+	 */
+	private void accept(final BoxVisitor visitor, final long end) throws IOException {
+		while (end - bytesRead() >= 8) {
+			checkInterrupted();
+			
+			final long startPosition = bytesRead();
+			final long offset = readUnsignedInt();
+			final int fourcc = readInt();
+			final long boxSize = (offset == 0) ? end - startPosition : readBoxSize(offset);
+			final long headerSize = bytesRead() - startPosition;
+			
+			// Validate
+			if (boxSize < headerSize || startPosition + boxSize > end) {
+				log.warn("Invalid box size, stopping walk! (boxName=" + BoxType.toName(fourcc) +
+						", boxSize=" + boxSize + ", position=" + startPosition + ")");
+				seek(end);
+				break;
+			}
+			
+			if (visitor.onBoxStart(fourcc, startPosition, boxSize) == BoxVisitor.Action.CONTINUE) {
+				final BoxType boxType = BoxType.forFourcc(fourcc);
+				
+				if (boxType != null && CONTAINER_BOX_TYPES.contains(boxType)) {
+					// Meta box version and flags precede its children
+					if (BoxType.MOVIE_PRESENTATION_META_DATA == boxType) {
+						skip(4);
+					}
+					accept(visitor, startPosition + boxSize);
+				} else if (boxSize > headerSize) {
+					final Box box = read(boxSize - headerSize, fourcc);
+					if (box != null) {
+						visitor.onBox(box);
+					}
+				}
+				
+				visitor.onBoxEnd(fourcc, startPosition, boxSize);
+			}
+			
+			// Always continue from the end of the box
+			seek(startPosition + boxSize);
+		}
+	}
+	
+	/**
+	 * Helper method to determine the real size of a box from its 32-bit size, reading
+	 * the 64-bit size which follows the box type when required.
+	 * 
+	 * @param offset - the 32-bit box size.
+	 * @return the box size, including the box header.
+	 * @throws IOException - Unable to read the 64-bit box size.
+	 */
+	private long readBoxSize(final long offset) throws IOException {
+		if (offset == 1) {
+			return readLong().longValue();
+		} else if (offset == 0) {
+			// Box extends to the end of the file
+			return remaining() + 8;
+		}
+		
+		return offset;
+	}
+	
 	/**
 	 * Initialise the provided MP4 box type.
 	 * 
 	 * @param remainingOffset - remaining offset.
-	 * @param boxName - name of the box type.
-	 * @param boxType - box type ENUM.
+	 * @param fourcc - box type code.
 	 * @return initialised box type.
 	 * @throws IOException Unable to create box from remaining input stream.
 	 */
-	private Box read(final long remainingOffset, final String boxName) throws IOException {
+	private Box read(final long remainingOffset, final int fourcc) throws IOException {
 		// Validate
-		if (StringUtils.isNotEmpty(boxName) && available() >= remainingOffset) {
-			final BoxType[] boxTypesEnums = BoxType.values();
+		if (remaining() >= remainingOffset) {
+			final BoxType boxType = BoxType.forFourcc(fourcc);
 			
-			for (final BoxType boxTypeEnum : boxTypesEnums) {
-				if (boxName.equals(boxTypeEnum.getName())) {
-					Class<? extends Box> boxTypeClass = boxTypeEnum.getClazz();
-					Constructor<? extends Box> boxTypeConstructor;
-					
-					try {
-						boxTypeConstructor =
-								boxTypeClass.getDeclaredConstructor(
-										MP4Reader.class, long.class, String.class, BoxType.class);
-						return boxTypeConstructor.newInstance(this, remainingOffset, boxName, boxTypeEnum);
-					}
-					catch (SecurityException se) { }
-					catch (NoSuchMethodException nsme) { }
-					catch (IllegalArgumentException iae) { }
-					catch (InstantiationException ie) { }
-					catch (IllegalAccessException iae) { }
-					catch (InvocationTargetException ite) { }
-				}				
+			// Filtered boxes are skipped whole, children included
+			if (this.boxTypeFilter != null && (boxType == null || !this.boxTypeFilter.contains(boxType))) {
+				if (remainingOffset == -7) {
+					skip(readLong().longValue() - 16);
+				} else if (remainingOffset == -8) {
+					skip(remaining());
+				} else {
+					skip(remainingOffset);
+				}
+				
+				return null;
 			}
 			
-			return new UnknownBox(this, remainingOffset, boxName, null);
+			// The box header has already been read
+			final long startPosition = bytesRead() - 8;
+			final long startTime = (this.parseStatistics != null) ? System.nanoTime() : 0;
+			final BoxEvent event = beginBoxEvent();
+			
+			try {
+				// Known box types share their constant name, no allocation per header
+				return (boxType != null) ?
+						boxType.getFactory().create(this, remainingOffset, boxType.getName(), boxType) :
+						new UnknownBox(this, remainingOffset, fourcc);
+			} finally {
+				if (this.parseStatistics != null) {
+					this.parseStatistics.built(boxType, System.nanoTime() - startTime);
+				}
+				commitBoxEvent(event, fourcc, startPosition);
+			}
 		}
 		
 		return null;
 	}
+	
+	@Override
+	public void skip(final long numberOfBytes) throws IOException {
+		final long position = bytesRead();
+		final SkipEvent event = beginSkipEvent();
+		super.skip(numberOfBytes);
+		
+		moved(position, event);
+	}
+	
+	@Override
+	public void seek(final long position) throws IOException {
+		final long previousPosition = bytesRead();
+		final SkipEvent event = beginSkipEvent();
+		super.seek(position);
+		
+		moved(previousPosition, event);
+	}
+	
+	/**
+	 * Helper method to record a move of the reader, when collecting statistics or
+	 * recording flight recorder events.
+	 * 
+	 * @param from - the position before the move.
+	 * @param event - the skip event begun before the move, or null.
+	 */
+	private void moved(final long from, final SkipEvent event) {
+		final long to = bytesRead();
+		
+		if (this.parseStatistics != null) {
+			this.parseStatistics.moved(from, to);
+		}
+		
+		if (event != null) {
+			event.end();
+			
+			// Only forward moves skip bytes
+			if (to > from && event.shouldCommit()) {
+				event.path = getPath();
+				event.offset = from;
+				event.size = to - from;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Helper method to begin a parse event, when a recording has it enabled.
+	 * 
+	 * @return the parse event, or null.
+	 */
+	private static ParseEvent beginParseEvent() {
+		if (!FLIGHT_RECORDER || !ParseEvent.isRecording()) {
+			return null;
+		}
+		
+		final ParseEvent event = new ParseEvent();
+		event.begin();
+		
+		return event;
+	}
+	
+	/**
+	 * Helper method to commit a parse event, when recording.
+	 * 
+	 * @param event - the parse event, or null.
+	 * @param method - the reader method which parsed.
+	 */
+	private void commitParseEvent(final ParseEvent event, final String method) {
+		if (event != null) {
+			event.end();
+			
+			if (event.shouldCommit()) {
+				event.path = getPath();
+				event.size = bytesRead() + remaining();
+				event.method = method;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Helper method to begin a box event, when a recording has it enabled. Checking
+	 * first saves creating an event for every box when not recording.
+	 * 
+	 * @return the box event, or null.
+	 */
+	private static BoxEvent beginBoxEvent() {
+		if (!FLIGHT_RECORDER || !BoxEvent.isRecording()) {
+			return null;
+		}
+		
+		final BoxEvent event = new BoxEvent();
+		event.begin();
+		
+		return event;
+	}
+	
+	/**
+	 * Helper method to commit a box event, when recording.
+	 * 
+	 * @param event - the box event, or null.
+	 * @param fourcc - box type code.
+	 * @param startPosition - the position of the box header.
+	 */
+	private void commitBoxEvent(final BoxEvent event, final int fourcc, final long startPosition) {
+		if (event != null) {
+			event.end();
+			
+			if (event.shouldCommit()) {
+				event.path = getPath();
+				event.fourcc = BoxType.toName(fourcc);
+				event.offset = startPosition;
+				event.size = bytesRead() - startPosition;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Helper method to begin a skip event, when a recording has it enabled.
+	 * 
+	 * @return the skip event, or null.
+	 */
+	private static SkipEvent beginSkipEvent() {
+		if (!FLIGHT_RECORDER || !SkipEvent.isRecording()) {
+			return null;
+		}
+		
+		final SkipEvent event = new SkipEvent();
+		event.begin();
+		
+		return event;
+	}
+	
+	/**
+	 * @return the path of the file read, or null when reading from memory.
+	 */
+	private String getPath() {
+		return (getFile() != null) ? getFile().getPath() : null;
+	}
+	
+	/**
+	 * Helper method to record the start of a parse, when collecting statistics.
+	 */
+	private void startStatistics() {
+		if (this.parseStatistics != null) {
+			this.parseStatistics.start(this);
+		}
+	}
+	
+	/**
+	 * Helper method to record the end of a parse, when collecting statistics.
+	 */
+	private void finishStatistics() {
+		if (this.parseStatistics != null) {
+			this.parseStatistics.finish(this);
+		}
+	}
 }
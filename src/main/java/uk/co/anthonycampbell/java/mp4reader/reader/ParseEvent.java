@@ -0,0 +1,61 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering a parse of an MP4 file by {@link MP4Reader#parse()},
+ * {@link MP4Reader#parseMetaData()}, {@link MP4Reader#accept(BoxVisitor)} or
+ * {@link MP4Reader#parseFragments(FragmentListener)}. Only created while a recording
+ * has it enabled, see {@link MP4Reader#isFlightRecorderAvailable()}.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@Name("uk.co.anthonycampbell.mp4reader.Parse")
+@Label("MP4 Parse")
+@Category("MP4 Reader")
+@Description("Parse of an MP4 file")
+final class ParseEvent extends jdk.jfr.Event {
+
+	// Event type, enabled while a recording has this event enabled
+	private static final EventType EVENT_TYPE = EventType.getEventType(ParseEvent.class);
+
+	@Label("Path")
+	@Description("File parsed, null when reading from memory")
+	String path;
+
+	@Label("Size")
+	@DataAmount
+	long size;
+
+	@Label("Method")
+	@Description("Reader method which parsed: parse, parseMetaData, accept or parseFragments")
+	String method;
+
+	/**
+	 * @return whether a recording has this event enabled, so it is worth creating.
+	 */
+	static boolean isRecording() {
+		return EVENT_TYPE.isEnabled();
+	}
+}
@@ -0,0 +1,260 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics collected by {@link MP4Reader} while parsing, when set with
+ * {@link MP4Reader#setParseStatistics(ParseStatistics)}: the number of boxes built and
+ * the time spent building them by box type, the bytes decoded and skipped, the reads
+ * of the underlying file and the bytes allocated. The same statistics may be shared by
+ * several readers in turn, each parse adding to the totals, but not concurrently.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class ParseStatistics {
+
+	// Per thread allocation counter, not available on every virtual machine
+	private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+	// Box types by ordinal, unknown box types last
+	private static final BoxType[] BOX_TYPES = BoxType.values();
+	private static final int UNKNOWN = BOX_TYPES.length;
+
+	// Declare statistics properties
+	private final long[] counts = new long[BOX_TYPES.length + 1];
+	private final long[] nanos = new long[BOX_TYPES.length + 1];
+	private long parses;
+	private long bytesDecoded;
+	private long bytesSkipped;
+	private long ioCalls;
+	private long allocatedBytes;
+	private long peakAllocatedBytes;
+
+	// State of the parse in progress
+	private long furthestPosition;
+	private long startIoCalls;
+	private long startAllocatedBytes;
+
+	/**
+	 * Record the start of a parse.
+	 *
+	 * @param reader - the reader about to parse.
+	 */
+	void start(final MP4Reader reader) {
+		this.furthestPosition = reader.bytesRead();
+		this.startIoCalls = reader.ioCalls();
+		this.startAllocatedBytes = allocatedBytes();
+	}
+
+	/**
+	 * Record the end of a parse.
+	 *
+	 * @param reader - the reader which has parsed.
+	 */
+	void finish(final MP4Reader reader) {
+		decoded(reader.bytesRead());
+		this.ioCalls += reader.ioCalls() - this.startIoCalls;
+		this.parses++;
+
+		if (this.startAllocatedBytes >= 0) {
+			final long allocatedBytes = allocatedBytes() - this.startAllocatedBytes;
+			this.allocatedBytes += allocatedBytes;
+			this.peakAllocatedBytes = Math.max(this.peakAllocatedBytes, allocatedBytes);
+		}
+	}
+
+	/**
+	 * Record a move of the reader, the bytes since the last move having been decoded.
+	 * Only bytes beyond the furthest position reached are counted, so bytes read again
+	 * after a backward seek are not counted twice.
+	 *
+	 * @param from - the position before the move.
+	 * @param to - the position after the move.
+	 */
+	void moved(final long from, final long to) {
+		decoded(from);
+		if (to > this.furthestPosition) {
+			this.bytesSkipped += to - this.furthestPosition;
+			this.furthestPosition = to;
+		}
+	}
+
+	/**
+	 * Helper method to record the bytes decoded from the last move to the provided
+	 * position.
+	 *
+	 * @param to - the position reached.
+	 */
+	private void decoded(final long to) {
+		if (to > this.furthestPosition) {
+			this.bytesDecoded += to - this.furthestPosition;
+			this.furthestPosition = to;
+		}
+	}
+
+	/**
+	 * Record a built box.
+	 *
+	 * @param boxType - the box type, or null for an unknown box type.
+	 * @param nanos - the time taken to build the box, in nanoseconds.
+	 */
+	void built(final BoxType boxType, final long nanos) {
+		final int index = (boxType != null) ? boxType.ordinal() : UNKNOWN;
+		this.counts[index]++;
+		this.nanos[index] += nanos;
+	}
+
+	/**
+	 * @return the box types built at least once.
+	 */
+	public Set<BoxType> getBoxTypes() {
+		final Set<BoxType> boxTypes = EnumSet.noneOf(BoxType.class);
+		for (final BoxType boxType : BOX_TYPES) {
+			if (this.counts[boxType.ordinal()] > 0) {
+				boxTypes.add(boxType);
+			}
+		}
+
+		return boxTypes;
+	}
+
+	/**
+	 * @param boxType - the box type, or null for unknown box types.
+	 * @return the number of boxes of the provided type built.
+	 */
+	public long getCount(final BoxType boxType) {
+		return this.counts[(boxType != null) ? boxType.ordinal() : UNKNOWN];
+	}
+
+	/**
+	 * @param boxType - the box type, or null for unknown box types.
+	 * @return the time spent building boxes of the provided type, child boxes included,
+	 * 		in nanoseconds.
+	 */
+	public long getNanos(final BoxType boxType) {
+		return this.nanos[(boxType != null) ? boxType.ordinal() : UNKNOWN];
+	}
+
+	/**
+	 * @return the number of parses recorded.
+	 */
+	public long getParses() {
+		return this.parses;
+	}
+
+	/**
+	 * Bytes read again after a backward seek are only counted once. Sample tables read
+	 * lazily, after the parse has finished, are not counted.
+	 *
+	 * @return the number of bytes read and decoded.
+	 */
+	public long getBytesDecoded() {
+		return this.bytesDecoded;
+	}
+
+	/**
+	 * Like the bytes decoded, bytes skipped again after a backward seek are only counted
+	 * once.
+	 *
+	 * @return the number of bytes skipped or seeked over without being read.
+	 */
+	public long getBytesSkipped() {
+		return this.bytesSkipped;
+	}
+
+	/**
+	 * @return the number of reads or mappings of the underlying files.
+	 */
+	public long getIoCalls() {
+		return this.ioCalls;
+	}
+
+	/**
+	 * @return the number of bytes allocated by the parsing threads, or zero when the
+	 * 		virtual machine does not count allocations per thread.
+	 */
+	public long getAllocatedBytes() {
+		return this.allocatedBytes;
+	}
+
+	/**
+	 * @return the most bytes allocated by a single parse, or zero when the virtual
+	 * 		machine does not count allocations per thread.
+	 */
+	public long getPeakAllocatedBytes() {
+		return this.peakAllocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(this.getClass().getSimpleName());
+		builder.append(" -> parses=").append(this.parses);
+		builder.append(", bytesDecoded=").append(this.bytesDecoded);
+		builder.append(", bytesSkipped=").append(this.bytesSkipped);
+		builder.append(", ioCalls=").append(this.ioCalls);
+		builder.append(", allocatedBytes=").append(this.allocatedBytes);
+		builder.append(", peakAllocatedBytes=").append(this.peakAllocatedBytes);
+
+		for (int i = 0; i <= UNKNOWN; ++i) {
+			if (this.counts[i] > 0) {
+				builder.append(", ").append((i < UNKNOWN) ? BOX_TYPES[i].getName() : "unknown");
+				builder.append('=').append(this.counts[i]).append('/');
+				builder.append(TimeUnit.NANOSECONDS.toMicros(this.nanos[i])).append("us");
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Helper method to read the bytes allocated by the current thread so far.
+	 *
+	 * @return the bytes allocated, or -1 when not supported.
+	 */
+	private static long allocatedBytes() {
+		return (THREAD_MX_BEAN != null) ?
+				THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+
+	/**
+	 * Look up the thread management bean counting allocations per thread.
+	 *
+	 * @return the thread management bean, or null when allocations are not counted.
+	 */
+	private static com.sun.management.ThreadMXBean threadMXBean() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			final com.sun.management.ThreadMXBean allocationBean =
+					(com.sun.management.ThreadMXBean) threadMXBean;
+
+			if (allocationBean.isThreadAllocatedMemorySupported() &&
+					allocationBean.isThreadAllocatedMemoryEnabled()) {
+				return allocationBean;
+			}
+		}
+
+		return null;
+	}
+}
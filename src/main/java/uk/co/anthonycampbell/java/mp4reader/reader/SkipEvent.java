@@ -0,0 +1,61 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering a skip or forward seek of the reader. Only created
+ * while a recording has it enabled, see
+ * {@link MP4Reader#isFlightRecorderAvailable()}.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+@Name("uk.co.anthonycampbell.mp4reader.Skip")
+@Label("MP4 Skip")
+@Category("MP4 Reader")
+@Description("Bytes of an MP4 file skipped without being read")
+final class SkipEvent extends jdk.jfr.Event {
+
+	// Event type, enabled while a recording has this event enabled
+	private static final EventType EVENT_TYPE = EventType.getEventType(SkipEvent.class);
+
+	@Label("Path")
+	@Description("File read, null when reading from memory")
+	String path;
+
+	@Label("Offset")
+	@Description("File offset the skip started from")
+	long offset;
+
+	@Label("Size")
+	@Description("Bytes skipped")
+	@DataAmount
+	long size;
+
+	/**
+	 * @return whether a recording has this event enabled, so it is worth creating.
+	 */
+	static boolean isRecording() {
+		return EVENT_TYPE.isEnabled();
+	}
+}
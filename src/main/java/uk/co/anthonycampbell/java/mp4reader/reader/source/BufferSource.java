@@ -0,0 +1,156 @@
+package uk.co.anthonycampbell.java.mp4reader.reader.source;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * MP4 source reading from a byte buffer held in memory. The buffer may hold part of a
+ * larger stream, in which case the base position of its first byte is provided so
+ * boxes report their position in the stream.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class BufferSource implements MP4Source {
+
+	// Source properties
+	private final ByteBuffer buffer;
+	private final long basePosition;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param buffer - the buffer to read, from its current position to its limit.
+	 */
+	public BufferSource(final ByteBuffer buffer) {
+		this(buffer, 0);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param buffer - the buffer to read, from its current position to its limit.
+	 * @param basePosition - the stream position of the first byte of the buffer.
+	 */
+	public BufferSource(final ByteBuffer buffer, final long basePosition) {
+		// Validate
+		if (buffer == null || basePosition < 0) {
+			throw new IllegalArgumentException("Provided source arguments are invalid! (buffer=" +
+					buffer + ", basePosition=" + basePosition + ")");
+		}
+
+		this.buffer = buffer.slice();
+		this.basePosition = basePosition;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		try {
+			return this.buffer.get();
+		} catch (final BufferUnderflowException bue) {
+			throw endOfBuffer(1);
+		}
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		try {
+			return this.buffer.getShort();
+		} catch (final BufferUnderflowException bue) {
+			throw endOfBuffer(2);
+		}
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		try {
+			return this.buffer.getInt();
+		} catch (final BufferUnderflowException bue) {
+			throw endOfBuffer(4);
+		}
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		try {
+			return this.buffer.getLong();
+		} catch (final BufferUnderflowException bue) {
+			throw endOfBuffer(8);
+		}
+	}
+
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+		// End of buffer?
+		if (length > 0 && !this.buffer.hasRemaining()) {
+			return -1;
+		}
+
+		final int read = Math.min(length, this.buffer.remaining());
+		this.buffer.get(bytes, offset, read);
+
+		return read;
+	}
+
+	@Override
+	public void skip(final long numberOfBytes) throws IOException {
+		if (numberOfBytes > 0) {
+			position(position() + numberOfBytes);
+		}
+	}
+
+	@Override
+	public void position(final long position) throws IOException {
+		// Never move past the end of the buffer
+		final long target = Math.max(0, Math.min(position - this.basePosition, this.buffer.limit()));
+		this.buffer.position((int) target);
+	}
+
+	@Override
+	public long position() {
+		return this.basePosition + this.buffer.position();
+	}
+
+	@Override
+	public long size() {
+		return this.basePosition + this.buffer.limit();
+	}
+
+	@Override
+	public long ioCalls() {
+		return 0;
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release
+	}
+
+	/**
+	 * Helper method to create the exception thrown when reading past the end of the buffer.
+	 *
+	 * @param numberOfBytes - the number of bytes requested.
+	 * @return the exception.
+	 */
+	private EOFException endOfBuffer(final int numberOfBytes) {
+		return new EOFException("Unable to read " + numberOfBytes + " bytes at position " +
+				position() + " (size=" + size() + ")");
+	}
+}
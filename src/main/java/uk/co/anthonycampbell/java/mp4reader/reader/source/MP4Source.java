@@ -0,0 +1,108 @@
+package uk.co.anthonycampbell.java.mp4reader.reader.source;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+/**
+ * Interface for the byte sources the MP4 input stream reads from. All multi-byte
+ * values are read in big-endian (network) order as required by the MP4 specification.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public interface MP4Source {
+
+	/**
+	 * Read the next byte from the source.
+	 *
+	 * @return one byte.
+	 * @throws IOException Unable to read the next byte from the source.
+	 */
+	public byte readByte() throws IOException;
+
+	/**
+	 * Read the next 16-bit integer from the source.
+	 *
+	 * @return 16-bit integer.
+	 * @throws IOException Unable to read the next 16-bit integer from the source.
+	 */
+	public short readShort() throws IOException;
+
+	/**
+	 * Read the next 32-bit integer from the source.
+	 *
+	 * @return 32-bit integer.
+	 * @throws IOException Unable to read the next 32-bit integer from the source.
+	 */
+	public int readInt() throws IOException;
+
+	/**
+	 * Read the next 64-bit integer from the source.
+	 *
+	 * @return 64-bit integer.
+	 * @throws IOException Unable to read the next 64-bit integer from the source.
+	 */
+	public long readLong() throws IOException;
+
+	/**
+	 * Read up to the provided number of bytes into the provided byte array.
+	 *
+	 * @param bytes - destination byte array.
+	 * @param offset - offset in the destination array.
+	 * @param length - maximum number of bytes to read.
+	 * @return number of bytes read, or -1 if the end of the source has been reached.
+	 * @throws IOException Unable to read from the source.
+	 */
+	public int read(byte[] bytes, int offset, int length) throws IOException;
+
+	/**
+	 * Skip the provided number of bytes in the source.
+	 *
+	 * @param numberOfBytes - the number of bytes to skip.
+	 * @throws IOException Unable to skip the provided number of bytes.
+	 */
+	public void skip(long numberOfBytes) throws IOException;
+
+	/**
+	 * Move the source to the provided absolute position.
+	 *
+	 * @param position - the new position.
+	 * @throws IOException Unable to move to the provided position.
+	 */
+	public void position(long position) throws IOException;
+
+	/**
+	 * @return the current position in the source.
+	 */
+	public long position();
+
+	/**
+	 * @return the total size of the source in bytes.
+	 */
+	public long size();
+
+	/**
+	 * @return the number of reads or mappings of the underlying file so far, zero for
+	 * 		a source already held in memory.
+	 */
+	public long ioCalls();
+
+	/**
+	 * Close the source.
+	 */
+	public void close();
+}
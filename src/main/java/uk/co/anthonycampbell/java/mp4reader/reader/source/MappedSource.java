@@ -0,0 +1,217 @@
+package uk.co.anthonycampbell.java.mp4reader.reader.source;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MP4 source reading the file through memory mapped windows of a file channel.
+ * A single mapping is limited to 2 GB, so larger files are read by re-mapping
+ * the window at the current position whenever a read runs past its end.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MappedSource implements MP4Source {
+
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(MappedSource.class.getName());
+
+	/** Default size of each mapped window (256 MB). */
+	public static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+	// Empty window used until the first read
+	private static final ByteBuffer EMPTY_WINDOW = ByteBuffer.allocate(0);
+
+	// Source properties
+	private final FileChannel channel;
+	private final long size;
+	private final int windowSize;
+	private ByteBuffer window;
+	private long windowStart;
+	private long ioCalls;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file - the file to read.
+	 * @throws IOException - Unable to open the provided file.
+	 */
+	public MappedSource(final File file) throws IOException {
+		this(file, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file - the file to read.
+	 * @param windowSize - the maximum number of bytes mapped at once.
+	 * @throws IOException - Unable to open the provided file.
+	 */
+	public MappedSource(final File file, final int windowSize) throws IOException {
+		// Validate
+		if (file == null || windowSize < 8) {
+			throw new IllegalArgumentException("Provided source arguments are invalid! (file=" +
+					file + ", windowSize=" + windowSize + ")");
+		}
+
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.size = this.channel.size();
+		this.windowSize = windowSize;
+		this.window = EMPTY_WINDOW;
+		this.windowStart = 0;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		return ensure(1).get();
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		return ensure(2).getShort();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		return ensure(4).getInt();
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return ensure(8).getLong();
+	}
+
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+		// End of file?
+		if (length > 0 && position() >= this.size) {
+			return -1;
+		}
+
+		int read = 0;
+		while (read < length && position() < this.size) {
+			if (!this.window.hasRemaining()) {
+				map(position());
+			}
+
+			final int chunk = Math.min(length - read, this.window.remaining());
+			this.window.get(bytes, offset + read, chunk);
+			read += chunk;
+		}
+
+		return read;
+	}
+
+	@Override
+	public void skip(final long numberOfBytes) throws IOException {
+		if (numberOfBytes > 0) {
+			position(position() + numberOfBytes);
+		}
+	}
+
+	@Override
+	public void position(final long position) throws IOException {
+		// Never move past the end of the file
+		final long target = Math.max(0, Math.min(position, this.size));
+
+		if (target >= this.windowStart && target <= this.windowStart + this.window.limit()) {
+			this.window.position((int) (target - this.windowStart));
+		} else {
+			// Map lazily on the next read
+			this.window = EMPTY_WINDOW;
+			this.windowStart = target;
+		}
+	}
+
+	@Override
+	public long position() {
+		return this.windowStart + this.window.position();
+	}
+
+	@Override
+	public long size() {
+		return this.size;
+	}
+
+	@Override
+	public long ioCalls() {
+		return this.ioCalls;
+	}
+
+	@Override
+	public void close() {
+		// Mappings are released by the garbage collector
+		this.window = EMPTY_WINDOW;
+		IOUtils.closeQuietly(this.channel);
+	}
+
+	/**
+	 * Helper method to make sure the current window holds the provided number
+	 * of bytes, re-mapping the window at the current position if required.
+	 *
+	 * @param numberOfBytes - the number of bytes about to be read.
+	 * @return the window to read from.
+	 * @throws IOException - Unable to map the requested bytes.
+	 */
+	private ByteBuffer ensure(final int numberOfBytes) throws IOException {
+		if (this.window.remaining() < numberOfBytes) {
+			map(position());
+
+			if (this.window.remaining() < numberOfBytes) {
+				throw new EOFException("Unable to read " + numberOfBytes + " bytes at position " +
+						position() + " (size=" + this.size + ")");
+			}
+		}
+
+		return this.window;
+	}
+
+	/**
+	 * Helper method to map a new window starting at the provided position.
+	 *
+	 * @param position - the window start position.
+	 * @throws IOException - Unable to map the file channel.
+	 */
+	private void map(final long position) throws IOException {
+		final long length = Math.min(this.windowSize, this.size - position);
+
+		if (length > 0) {
+			if (log.isTraceEnabled()) {
+				log.trace("Mapping window " + position + " -> " + (position + length));
+			}
+
+			final MappedByteBuffer mapped = this.channel.map(MapMode.READ_ONLY, position, length);
+			this.window = mapped;
+			this.ioCalls++;
+		} else {
+			this.window = EMPTY_WINDOW;
+		}
+
+		this.windowStart = position;
+	}
+}
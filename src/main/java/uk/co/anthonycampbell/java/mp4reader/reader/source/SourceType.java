@@ -0,0 +1,53 @@
+package uk.co.anthonycampbell.java.mp4reader.reader.source;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * ENUM to hold the supported MP4 source implementations.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public enum SourceType {
+
+	/** Buffered file channel, read sequentially. */
+	STREAM {
+		@Override
+		public MP4Source open(final File file) throws IOException {
+			return new StreamSource(file);
+		}
+	},
+
+	/** Memory mapped file channel. */
+	MAPPED {
+		@Override
+		public MP4Source open(final File file) throws IOException {
+			return new MappedSource(file);
+		}
+	};
+
+	/**
+	 * Open a new source of this type for the provided file.
+	 *
+	 * @param file - the file to read.
+	 * @return the opened source.
+	 * @throws IOException - Unable to open the provided file.
+	 */
+	public abstract MP4Source open(final File file) throws IOException;
+}
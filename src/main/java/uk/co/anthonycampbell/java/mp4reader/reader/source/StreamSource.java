@@ -0,0 +1,203 @@
+package uk.co.anthonycampbell.java.mp4reader.reader.source;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * MP4 source reading the file sequentially through a buffered file channel.
+ * Skips which land outside of the buffer re-position the channel, so skipping
+ * a box costs a single seek no matter how large the box is.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class StreamSource implements MP4Source {
+
+	/** Default read buffer size (8 KB). */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	// Source properties
+	private final FileChannel channel;
+	private final long size;
+	private final ByteBuffer buffer;
+	private long channelPosition;
+	private long ioCalls;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file - the file to read.
+	 * @throws IOException - Unable to open the provided file.
+	 */
+	public StreamSource(final File file) throws IOException {
+		this(file, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file - the file to read.
+	 * @param bufferSize - the read buffer size.
+	 * @throws IOException - Unable to open the provided file.
+	 */
+	public StreamSource(final File file, final int bufferSize) throws IOException {
+		// Validate
+		if (file == null || bufferSize < 8) {
+			throw new IllegalArgumentException("Provided source arguments are invalid! (file=" +
+					file + ", bufferSize=" + bufferSize + ")");
+		}
+
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.size = this.channel.size();
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.buffer.limit(0);
+		this.channelPosition = 0;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		return ensure(1).get();
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		return ensure(2).getShort();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		return ensure(4).getInt();
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return ensure(8).getLong();
+	}
+
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+		// End of file?
+		if (length > 0 && position() >= this.size) {
+			return -1;
+		}
+
+		int read = 0;
+		while (read < length) {
+			if (!this.buffer.hasRemaining() && fill() <= 0) {
+				break;
+			}
+
+			final int chunk = Math.min(length - read, this.buffer.remaining());
+			this.buffer.get(bytes, offset + read, chunk);
+			read += chunk;
+		}
+
+		return read;
+	}
+
+	@Override
+	public void skip(final long numberOfBytes) throws IOException {
+		if (numberOfBytes > 0) {
+			if (numberOfBytes <= this.buffer.remaining()) {
+				this.buffer.position(this.buffer.position() + (int) numberOfBytes);
+			} else {
+				position(position() + numberOfBytes);
+			}
+		}
+	}
+
+	@Override
+	public void position(final long position) throws IOException {
+		// Never move past the end of the file
+		final long target = Math.max(0, Math.min(position, this.size));
+		final long bufferStart = this.channelPosition - this.buffer.limit();
+
+		if (target >= bufferStart && target <= this.channelPosition) {
+			this.buffer.position((int) (target - bufferStart));
+		} else {
+			this.channel.position(target);
+			this.channelPosition = target;
+			this.buffer.clear();
+			this.buffer.limit(0);
+		}
+	}
+
+	@Override
+	public long position() {
+		return this.channelPosition - this.buffer.remaining();
+	}
+
+	@Override
+	public long size() {
+		return this.size;
+	}
+
+	@Override
+	public long ioCalls() {
+		return this.ioCalls;
+	}
+
+	@Override
+	public void close() {
+		IOUtils.closeQuietly(this.channel);
+	}
+
+	/**
+	 * Helper method to make sure the buffer holds the provided number of bytes.
+	 *
+	 * @param numberOfBytes - the number of bytes about to be read.
+	 * @return the buffer to read from.
+	 * @throws IOException - Unable to read the requested bytes.
+	 */
+	private ByteBuffer ensure(final int numberOfBytes) throws IOException {
+		while (this.buffer.remaining() < numberOfBytes) {
+			if (fill() <= 0) {
+				throw new EOFException("Unable to read " + numberOfBytes + " bytes at position " +
+						position() + " (size=" + this.size + ")");
+			}
+		}
+
+		return this.buffer;
+	}
+
+	/**
+	 * Helper method to top up the buffer from the file channel, keeping any
+	 * unread bytes.
+	 *
+	 * @return the number of bytes read from the channel, or -1 at the end of the file.
+	 * @throws IOException - Unable to read from the file channel.
+	 */
+	private int fill() throws IOException {
+		this.buffer.compact();
+		final int read = this.channel.read(this.buffer);
+		this.ioCalls++;
+		this.buffer.flip();
+
+		if (read > 0) {
+			this.channelPosition += read;
+		}
+
+		return read;
+	}
+}
@@ -0,0 +1,344 @@
+package uk.co.anthonycampbell.java.mp4reader.scanner;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.filter.MP4Filter;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.SourceType;
+
+/**
+ * Class to scan a media library for MP4 files. The directory tree is walked on
+ * the calling thread while the files accepted by the {@link MP4Filter} are parsed
+ * concurrently on a bounded pool of worker threads. Results are streamed to a
+ * {@link ScanListener} as soon as each file completes.
+ *
+ * Only the file type and movie boxes are parsed (see {@link MP4Reader#parseMetaData()})
+ * and sample table entries are never decoded (see {@link MP4Reader#isLazySampleTables()}).
+ * The walk blocks once twice the parallelism of files are in flight, so memory use
+ * stays bounded no matter how large the library is. Each file is interrupted once it
+ * has been parsing for longer than the timeout.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class LibraryScanner {
+
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(LibraryScanner.class.getName());
+
+	// Defaults
+	public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+	public static final long DEFAULT_TIMEOUT = 5000;
+
+	// Declare properties
+	private final int parallelism;
+	private final long timeout;
+	private final SourceType sourceType;
+	private final FileFilter filter = new MP4Filter();
+
+	/**
+	 * Constructor.
+	 */
+	public LibraryScanner() {
+		this(DEFAULT_PARALLELISM, DEFAULT_TIMEOUT, SourceType.STREAM);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param parallelism - maximum number of files parsed at the same time.
+	 * @param timeout - maximum time in milliseconds spent parsing a single file.
+	 * @param sourceType - the type of source used to read each file.
+	 * @throws IllegalArgumentException - Provided argument was invalid!
+	 */
+	public LibraryScanner(final int parallelism, final long timeout, final SourceType sourceType)
+			throws IllegalArgumentException {
+		// Validate
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Provided parallelism is invalid! (parallelism=" +
+					parallelism + ")");
+		}
+		if (timeout < 1) {
+			throw new IllegalArgumentException("Provided timeout is invalid! (timeout=" +
+					timeout + ")");
+		}
+		if (sourceType == null) {
+			throw new IllegalArgumentException("Provided source type is invalid! (sourceType=" +
+					sourceType + ")");
+		}
+
+		this.parallelism = parallelism;
+		this.timeout = timeout;
+		this.sourceType = sourceType;
+	}
+
+	/**
+	 * Scan the provided directory tree and parse every MP4 file found. Returns once
+	 * every file has been reported to the provided listener.
+	 *
+	 * @param directory - the directory to scan.
+	 * @param listener - listener notified of each parsed file.
+	 * @return the number of MP4 files found.
+	 * @throws IOException - Unable to walk the directory tree.
+	 * @throws InterruptedException - Interrupted while waiting for the scan to complete.
+	 */
+	public long scan(final File directory, final ScanListener listener)
+			throws IOException, InterruptedException {
+		// Validate
+		if (directory == null || !directory.isDirectory()) {
+			throw new IllegalArgumentException("Provided directory is invalid! (directory=" +
+					directory + ")");
+		}
+		if (listener == null) {
+			throw new IllegalArgumentException("Provided listener is invalid! (listener=" +
+					listener + ")");
+		}
+
+		final int maximumPending = this.parallelism * 2;
+		final Semaphore pending = new Semaphore(maximumPending);
+		final AtomicLong found = new AtomicLong();
+
+		final ExecutorService workers = newWorkers();
+		final ScheduledExecutorService watchdog =
+				Executors.newSingleThreadScheduledExecutor(new ScannerThreadFactory("watchdog"));
+
+		try {
+			Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes)
+						throws IOException {
+					final File file = path.toFile();
+
+					if (attributes.isRegularFile() && filter.accept(file)) {
+						// Back-pressure, wait for a free slot before submitting
+						try {
+							pending.acquire();
+						} catch (final InterruptedException ie) {
+							Thread.currentThread().interrupt();
+							throw new InterruptedIOException("Interrupted while scanning! (file=" +
+									file + ")");
+						}
+
+						found.incrementAndGet();
+						workers.execute(new ScanTask(file, listener, watchdog, pending));
+					}
+
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(final Path path, final IOException ioe) {
+					log.warn("Unable to visit file, skipping! (path=" + path + ", message=" +
+							ioe.getMessage() + ")");
+					return FileVisitResult.CONTINUE;
+				}
+			});
+
+			// Wait for the remaining files to complete
+			pending.acquire(maximumPending);
+
+		} finally {
+			workers.shutdownNow();
+			watchdog.shutdownNow();
+		}
+
+		return found.get();
+	}
+
+	/**
+	 * Create the pool of worker threads parsing the files of a scan.
+	 *
+	 * @return the worker thread pool.
+	 */
+	ExecutorService newWorkers() {
+		return Executors.newFixedThreadPool(this.parallelism, new ScannerThreadFactory("worker"));
+	}
+
+	/**
+	 * @return the parallelism.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * @return the timeout in milliseconds.
+	 */
+	public long getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * @return the source type.
+	 */
+	public SourceType getSourceType() {
+		return this.sourceType;
+	}
+
+	/**
+	 * Task to parse a single file. The watchdog interrupts the worker thread once the
+	 * timeout expires, which the reader surfaces as an {@link InterruptedIOException}.
+	 */
+	private class ScanTask implements Runnable {
+
+		// Declare properties
+		private final File file;
+		private final ScanListener listener;
+		private final ScheduledExecutorService watchdog;
+		private final Semaphore pending;
+		private Thread worker;
+		private boolean finished;
+		private boolean expired;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param file - the file to parse.
+		 * @param listener - listener notified of the result.
+		 * @param watchdog - executor used to time out the parse.
+		 * @param pending - semaphore released once the task completes.
+		 */
+		ScanTask(final File file, final ScanListener listener,
+				final ScheduledExecutorService watchdog, final Semaphore pending) {
+			this.file = file;
+			this.listener = listener;
+			this.watchdog = watchdog;
+			this.pending = pending;
+		}
+
+		@Override
+		public void run() {
+			this.worker = Thread.currentThread();
+			final ScheduledFuture<?> timer =
+					this.watchdog.schedule(this::expire, timeout, TimeUnit.MILLISECONDS);
+
+			MP4 mp4 = null;
+			Throwable failure = null;
+			try {
+				final MP4Reader reader = new MP4Reader(this.file, sourceType);
+				reader.setLazySampleTables(true);
+				try {
+					mp4 = reader.parseMetaData();
+				} finally {
+					reader.close();
+				}
+			} catch (final Throwable t) {
+				failure = t;
+			}
+
+			final boolean finished = finish();
+			timer.cancel(false);
+
+			// Clear a timeout which fired after the parse completed
+			Thread.interrupted();
+
+			// Report each file once, outside of the parse
+			try {
+				if (!finished) {
+					this.listener.failed(this.file, timedOut());
+				} else if (failure != null) {
+					this.listener.failed(this.file, failure);
+				} else {
+					this.listener.parsed(this.file, mp4);
+				}
+			} catch (final RuntimeException re) {
+				log.warn("Scan listener failed! (file=" + this.file + ", message=" +
+						re.getMessage() + ")", re);
+			} finally {
+				this.pending.release();
+			}
+		}
+
+		/**
+		 * Interrupt the worker thread unless the parse has already finished.
+		 */
+		private synchronized void expire() {
+			if (!this.finished) {
+				this.expired = true;
+				this.worker.interrupt();
+			}
+		}
+
+		/**
+		 * Mark the parse as finished so the watchdog no longer interrupts the worker.
+		 *
+		 * @return whether the parse finished before the timeout.
+		 */
+		private synchronized boolean finish() {
+			this.finished = true;
+			return !this.expired;
+		}
+
+		/**
+		 * @return the timeout exception reported for this file.
+		 */
+		private TimeoutException timedOut() {
+			return new TimeoutException("Parse took longer than " + timeout + "ms! (file=" +
+					this.file + ")");
+		}
+	}
+
+	/**
+	 * Thread factory for daemon scanner threads.
+	 */
+	private static class ScannerThreadFactory implements ThreadFactory {
+
+		// Declare properties
+		private final String name;
+		private final AtomicInteger count = new AtomicInteger();
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name - thread name suffix.
+		 */
+		ScannerThreadFactory(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final Thread thread = new Thread(runnable, "mp4-scanner-" + this.name + "-" +
+					this.count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
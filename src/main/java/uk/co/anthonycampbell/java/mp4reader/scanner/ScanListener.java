@@ -0,0 +1,49 @@
+package uk.co.anthonycampbell.java.mp4reader.scanner;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4;
+
+/**
+ * Listener notified by the {@link LibraryScanner} as soon as each file has been
+ * parsed. Callbacks arrive from the scanner worker threads, so implementations
+ * must be thread safe.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public interface ScanListener {
+
+	/**
+	 * Called when the provided file has been parsed.
+	 *
+	 * @param file - the parsed file.
+	 * @param mp4 - the parsed MP4 instance.
+	 */
+	public void parsed(File file, MP4 mp4);
+
+	/**
+	 * Called when the provided file could not be parsed. Files which take longer
+	 * than the scanner timeout are reported with a
+	 * {@link java.util.concurrent.TimeoutException}.
+	 *
+	 * @param file - the file which failed.
+	 * @param cause - the reason for the failure.
+	 */
+	public void failed(File file, Throwable cause);
+}
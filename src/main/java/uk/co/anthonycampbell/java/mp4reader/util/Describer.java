@@ -0,0 +1,165 @@
+package uk.co.anthonycampbell.java.mp4reader.util;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+
+/**
+ * Describes the properties of an instance as "name=value" pairs, for toString and
+ * logging. A property is a field declared by the class with a public no argument
+ * getter of the same name, and properties holding boxes are wrapped in brackets.
+ * 
+ * The getters of each class are looked up once, the first time an instance of it is
+ * described, and kept as method handles. Describing an instance after that does not
+ * use reflection.
+ * 
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public final class Describer {
+	
+	// Describer of each class, dropped along with the class
+	private static final ClassValue<Describer> DESCRIBERS = new ClassValue<Describer>() {
+		@Override
+		protected Describer computeValue(final Class<?> type) {
+			return new Describer(type);
+		}
+	};
+	
+	// Declare properties
+	private final String[] names;
+	private final MethodHandle[] getters;
+	private final boolean[] boxes;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param type - the class to describe.
+	 */
+	private Describer(final Class<?> type) {
+		// Public no argument getters, by lower case name
+		final Map<String, Method> methods = new HashMap<>();
+		for (final Method method : type.getDeclaredMethods()) {
+			if (method.getParameterTypes().length == 0 && Modifier.isPublic(method.getModifiers()) &&
+					!Modifier.isStatic(method.getModifiers()) && method.getName().startsWith("get")) {
+				methods.put(method.getName().toLowerCase(), method);
+			}
+		}
+		
+		final List<String> names = new ArrayList<>();
+		final List<MethodHandle> getters = new ArrayList<>();
+		final List<Boolean> boxes = new ArrayList<>();
+		final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		
+		for (final Field field : type.getDeclaredFields()) {
+			final Method method = methods.get(("get" + field.getName()).toLowerCase());
+			
+			if (method != null && !Modifier.isStatic(field.getModifiers())) {
+				try {
+					getters.add(lookup.unreflect(method));
+					names.add(field.getName());
+					boxes.add(Box.class.isAssignableFrom(method.getReturnType()));
+				} catch (final IllegalAccessException iae) {
+					// Getter of a class which is not public, left out
+				}
+			}
+		}
+		
+		this.names = names.toArray(new String[names.size()]);
+		this.getters = getters.toArray(new MethodHandle[getters.size()]);
+		this.boxes = new boolean[boxes.size()];
+		for (int i = 0; i < this.boxes.length; ++i) {
+			this.boxes[i] = boxes.get(i);
+		}
+	}
+	
+	/**
+	 * @param type - the class to describe.
+	 * @return the describer of the provided class.
+	 */
+	public static Describer forClass(final Class<?> type) {
+		// Validate
+		if (type == null) {
+			throw new IllegalArgumentException("Provided class is invalid! (type=" + type + ")");
+		}
+		
+		return DESCRIBERS.get(type);
+	}
+	
+	/**
+	 * @return the names of the described properties, in declaration order.
+	 */
+	public String[] getNames() {
+		return this.names.clone();
+	}
+	
+	/**
+	 * Describe the provided instance.
+	 * 
+	 * @param instance - the instance to describe.
+	 * @return the properties of the instance, each followed by a space.
+	 */
+	public String describe(final Object instance) {
+		final StringBuilder builder = new StringBuilder();
+		describeTo(instance, builder);
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Describe the provided instance to the provided builder.
+	 * 
+	 * @param instance - the instance to describe.
+	 * @param builder - the builder to append the properties to.
+	 */
+	public void describeTo(final Object instance, final StringBuilder builder) {
+		for (int i = 0; i < this.getters.length; ++i) {
+			final Object value;
+			try {
+				value = this.getters[i].invoke(instance);
+			} catch (final Error error) {
+				throw error;
+			} catch (final Throwable throwable) {
+				// Leave out properties which cannot be read
+				continue;
+			}
+			
+			builder.append(this.names[i]);
+			builder.append('=');
+			builder.append((this.boxes[i]) ? "[" : "");
+			
+			// Nested descriptions end with a space of their own
+			final int start = builder.length();
+			builder.append(value);
+			if (builder.length() > start && builder.charAt(builder.length() - 1) == ' ') {
+				builder.setLength(builder.length() - 1);
+			}
+			
+			builder.append((this.boxes[i]) ? "]" : "");
+			builder.append(' ');
+		}
+	}
+}
@@ -18,29 +18,29 @@ package uk.co.anthonycampbell.java.mp4reader.util;
 
 import java.io.IOException;
 import java.io.StringReader;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang3.StringUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-
-import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
 
 /**
  * Utility class to assist with text formatting.
@@ -52,6 +52,30 @@ public class Util {
 	/** Default print list separator. */
 	public static final String PRINT_LIST_SEPARATOR = ", ";
 	
+	/** Seconds from the MP4 epoch, midnight January 1, 1904 UTC, to the Java epoch. */
+	public static final long MP4_EPOCH_OFFSET = 2082844800L;
+	
+	// Apple item date format, immutable and so shared between threads
+	private static final DateTimeFormatter ITEM_DATE_FORMAT = new DateTimeFormatterBuilder()
+			.appendPattern("uuuu[-MM[-dd]]")
+			.optionalStart()
+				.appendLiteral('T')
+				.appendPattern("HH:mm[:ss]")
+				.optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).optionalEnd()
+			.optionalEnd()
+			.optionalStart().appendOffsetId().optionalEnd()
+			.parseDefaulting(ChronoField.MONTH_OF_YEAR, 1)
+			.parseDefaulting(ChronoField.DAY_OF_MONTH, 1)
+			.parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+			.parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+			.parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+			.parseDefaulting(ChronoField.OFFSET_SECONDS, 0)
+			.toFormatter(Locale.ROOT);
+	
+	// Shared XML factory, thread safe once configured. DTDs and external entities
+	// are never loaded, so parsing never reaches out to the network.
+	private static final XMLInputFactory XML_INPUT_FACTORY = newXMLInputFactory();
+	
 	/**
 	 * Utility method to print all of the fields of the provided box instance.
 	 * 
@@ -70,67 +94,14 @@ public class Util {
 	 * @return list of fields.
 	 */
 	public static <T> String printFields(final Object instance, final Class<T> boxClass) {
-		// Initialise result
-		final StringBuilder builder = new StringBuilder();
-		
 		// Validate
 		if (instance != null && boxClass != null) {
-			final Field[] fields = boxClass.getDeclaredFields();
-			final Method[] methods = boxClass.getDeclaredMethods();
+			return Describer.forClass(boxClass).describe(instance);
 			
-			for (final Field field : fields) {
-				final String fieldName = field.getName();
-				
-				if (StringUtils.isNotEmpty(fieldName)) {
-					final String fieldMethod = ("get" + fieldName).toLowerCase();
-					
-					for (final Method method : methods) {
-						final String methodName = method.getName();
-						final Class<?> returnType = method.getReturnType();
-						boolean boxReturnType = false;
-						
-						// Determine whether this method returns a Box class
-						if (returnType != null) {						
-							final Class<?>[] returnTypeInterfaces = returnType.getInterfaces();
-							
-							for (final Class<?> interfaceClass : returnTypeInterfaces) {
-								if (interfaceClass != null && interfaceClass == Box.class) {
-									boxReturnType = true;
-									break;
-								}
-							}
-						}
-	
-						// If method is a getter for box property lets print
-						if (StringUtils.isNotEmpty(methodName)) {
-							if (fieldMethod.equals(methodName.toLowerCase())) {
-								try {
-									builder.append(field.getName());
-									builder.append("=");		
-									builder.append((boxReturnType) ? "[" : "");
-									
-									final String fieldValue = "" + method.invoke(instance, new Object[0]);
-									if (StringUtils.isNotEmpty(fieldValue) && fieldValue.endsWith(" ")) {
-										builder.append(fieldValue.substring(0, fieldValue.length() - 1));
-									} else {
-										builder.append(fieldValue);	
-									}
-									
-									builder.append((boxReturnType) ? "]" : "");
-									builder.append(" ");
-									
-								} catch (Exception ex) { }
-							}
-						}
-					}
-				}
-			}
 		} else {
 			throw new IllegalArgumentException("Provided class details are invalid! " +
 					"(instance=" + instance + ", boxClass=" + boxClass + ")");
 		}
-		
-		return builder.toString();
 	}
 	
 	/**
@@ -144,14 +115,7 @@ public class Util {
 	public static Date generateDate(final BigInteger bigInteger) {
 		// Validate
 		if (bigInteger != null) {
-			/*
-			 *  TODO If once upon a time we have a very LARGE time stamp
-			 *  this call will only return the lower order 64 bits.
-			 */
-			final Calendar calendar = Calendar.getInstance();
-			calendar.set(1904, Calendar.JANUARY, 1, 0, 0, 0);
-			calendar.setTimeInMillis(calendar.getTimeInMillis() + (bigInteger.longValue() * 1000));			
-			return calendar.getTime();
+			return Date.from(toInstant(bigInteger.longValue()));
 			
 		} else {
 			throw new IllegalArgumentException("Unable to generate date, provided argument is invalid! " +
@@ -160,9 +124,44 @@ public class Util {
 	}
 	
 	/**
-	 * Utility method to parse iTunes meta XML.
+	 * Convert the provided MP4 time stamp, the number of seconds since midnight,
+	 * January 1, 1904 UTC, to an instant.
+	 * 
+	 * @param mp4Time - the MP4 time stamp.
+	 * @return the instant.
+	 */
+	public static Instant toInstant(final long mp4Time) {
+		return Instant.ofEpochSecond(mp4Time - MP4_EPOCH_OFFSET);
+	}
+	
+	/**
+	 * Parse the provided Apple item creation date (day). iTunes writes a full UTC date and
+	 * time, but other tools write a local date and time, a date, a year and month or
+	 * only a year, all of which are accepted. Missing fields default to the start of
+	 * the period and a missing offset to UTC.
+	 * 
+	 * @param date - the date to parse.
+	 * @return the instant, or null when the date is not recognised.
+	 */
+	public static Instant parseDate(final String date) {
+		// Validate
+		if (StringUtils.isBlank(date)) {
+			return null;
+		}
+		
+		try {
+			return OffsetDateTime.parse(date.trim(), ITEM_DATE_FORMAT).toInstant();
+		} catch (final DateTimeParseException dtpe) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Utility method to parse iTunes meta XML. The property list is streamed rather
+	 * than built into a document, and its DTD is never loaded.
 	 * 
 	 * @param xml - the XML to parse.
+	 * @return map of the top level dictionary keys to their values.
 	 */
 	public static Map<String, List<String>> parseITunesMeta(final String xml) {
 		// Initialise result
@@ -170,37 +169,32 @@ public class Util {
 		
 		// Validate
 		if (StringUtils.isNotEmpty(xml)) {
+			XMLStreamReader reader = null;
 			try {
-				final InputSource inputSource = new InputSource();
-				inputSource.setCharacterStream(new StringReader(xml));
-			
-				final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();			
-				final DocumentBuilder builder = factory.newDocumentBuilder();
-				final Document document = builder.parse(inputSource);
+				reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
 				
-				final NodeList plists = document.getElementsByTagName("plist");
-				for (int i = 0; i < plists.getLength(); ++i) {
-					final Element plist = (Element) plists.item(i);
-					
-					if (plist != null && plist.hasChildNodes()) {						
-						final NodeList nodes = plist.getChildNodes();
-						
-						if (nodes != null) {
-							for (int j = 0; j < nodes.getLength(); ++j) {
-								final Node node = nodes.item(j);
-								
-								if (node != null && node.getNodeType() == Node.ELEMENT_NODE &&
-										"dict".equals(node.getNodeName())) {
-									iTunesMap.putAll(parseDictionary(node));
-								}
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT &&
+							"plist".equals(reader.getLocalName())) {
+						// Top level dictionaries of the property list
+						while (nextChild(reader)) {
+							if ("dict".equals(reader.getLocalName())) {
+								readDictionary(reader, iTunesMap);
+							} else {
+								skipElement(reader);
 							}
 						}
 					}
 				}
+			} catch (final XMLStreamException xse) {
+				// Keep whatever was parsed
+			} finally {
+				if (reader != null) {
+					try {
+						reader.close();
+					} catch (final XMLStreamException xse) { }
+				}
 			}
-			catch (ParserConfigurationException pce) { }
-			catch (SAXException saxe) { }
-			catch (IOException ioe) { }
 			
 		} else {
 			throw new IllegalArgumentException("Provided XML is invalid! (xml=" + xml + ")");
@@ -209,6 +203,120 @@ public class Util {
 		return iTunesMap;
 	}
 	
+	/**
+	 * Utility method to read a 'dict' element of the iTunes meta pList, positioned at
+	 * its start. String values become single entry lists and array values the values
+	 * of the dictionaries they hold. The reader is left at the end of the element.
+	 * 
+	 * @param reader - the XML stream reader.
+	 * @param iTunesMap - the map to add the dictionary entries to.
+	 * @throws XMLStreamException - Unable to read the dictionary.
+	 */
+	private static void readDictionary(final XMLStreamReader reader,
+			final Map<String, List<String>> iTunesMap) throws XMLStreamException {
+		String key = null;
+		
+		while (nextChild(reader)) {
+			List<String> value = null;
+			
+			switch (reader.getLocalName()) {
+				case "key":
+					key = reader.getElementText();
+					break;
+					
+				case "string":
+					value = new ArrayList<>();
+					value.add(reader.getElementText());
+					break;
+					
+				case "array":
+					value = readArray(reader);
+					break;
+					
+				default:
+					skipElement(reader);
+					break;
+			}
+			
+			// When ready add new entry
+			if (key != null && value != null) {
+				iTunesMap.put(key, value);
+				key = null;
+			}
+		}
+	}
+	
+	/**
+	 * Utility method to read an 'array' element of the iTunes meta pList, positioned
+	 * at its start. The reader is left at the end of the element.
+	 * 
+	 * @param reader - the XML stream reader.
+	 * @return the values of the dictionaries held in the array.
+	 * @throws XMLStreamException - Unable to read the array.
+	 */
+	private static List<String> readArray(final XMLStreamReader reader) throws XMLStreamException {
+		// Initialise result
+		final List<String> arrayList = new ArrayList<>();
+		
+		while (nextChild(reader)) {
+			if ("dict".equals(reader.getLocalName())) {
+				final Map<String, List<String>> dictionary = new LinkedHashMap<>();
+				readDictionary(reader, dictionary);
+				
+				for (final List<String> valueList : dictionary.values()) {
+					arrayList.addAll(valueList);
+				}
+			} else {
+				skipElement(reader);
+			}
+		}
+		
+		return arrayList;
+	}
+	
+	/**
+	 * Utility method to move to the start of the next child element of the current
+	 * element, skipping any text in between.
+	 * 
+	 * @param reader - the XML stream reader.
+	 * @return true when positioned at a child element, false at the end of the element.
+	 * @throws XMLStreamException - Unable to read the next child element.
+	 */
+	private static boolean nextChild(final XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					return true;
+					
+				case XMLStreamConstants.END_ELEMENT:
+					return false;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Utility method to skip the current element and all of its children.
+	 * 
+	 * @param reader - the XML stream reader.
+	 * @throws XMLStreamException - Unable to skip the element.
+	 */
+	private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && reader.hasNext()) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					depth++;
+					break;
+					
+				case XMLStreamConstants.END_ELEMENT:
+					depth--;
+					break;
+			}
+		}
+	}
+	
 	/**
 	 * Utility method to parse a 'dict' node of the iTunes meta pList. Updates the
 	 * provided iTunes meta data map.
@@ -373,4 +481,17 @@ public class Util {
 		
 		return result;
 	}
+	
+	/**
+	 * Create the shared XML factory.
+	 * 
+	 * @return the XML factory.
+	 */
+	private static XMLInputFactory newXMLInputFactory() {
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		
+		return factory;
+	}
 }
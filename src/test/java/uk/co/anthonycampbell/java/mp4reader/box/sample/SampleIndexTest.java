@@ -0,0 +1,187 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+
+/**
+ * Small test suite to test the sample index against a sample table.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class SampleIndexTest {
+
+	// Frame blocks: first chunk, samples per chunk
+	private static final int[][] FRAME_BLOCKS = { { 1, 3 }, { 3, 0 }, { 4, 1 }, { 6, 5 } };
+	private static final int NUMBER_OF_CHUNKS = 8;
+	private static final int NUMBER_OF_SAMPLES = 23;
+
+	@Test
+	public void testSampleIndex() throws IOException {
+		assertSampleIndex(false);
+	}
+
+	@Test
+	public void testLargeChunkOffsets() throws IOException {
+		assertSampleIndex(true);
+	}
+
+	@Test
+	public void testChunkBoundary() throws IOException {
+		final long[] chunkOffsets = chunkOffsets(false);
+		final SampleIndex index = readSampleTable(chunkOffsets).getSampleIndex();
+
+		// The last sample of the second chunk
+		assertThat(index.getChunk(5), equalTo(1));
+		assertThat(index.getOffset(5), equalTo(chunkOffsets[1] + blockSize(3) + blockSize(4)));
+
+		// The third chunk is empty, so the next sample starts the fourth
+		assertThat(index.getChunk(6), equalTo(3));
+		assertThat(index.getOffset(6), equalTo(chunkOffsets[3]));
+	}
+
+	@Test
+	public void testLastSample() throws IOException {
+		final long[] chunkOffsets = chunkOffsets(false);
+		final SampleIndex index = readSampleTable(chunkOffsets).getSampleIndex();
+		final int last = NUMBER_OF_SAMPLES - 1;
+
+		assertThat(index.getChunk(last), equalTo(NUMBER_OF_CHUNKS - 1));
+		assertThat(index.getOffset(last), equalTo(chunkOffsets[NUMBER_OF_CHUNKS - 1] +
+				blockSize(18) + blockSize(19) + blockSize(20) + blockSize(21)));
+		assertThat(index.getSize(last), equalTo(blockSize(last)));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testSampleBeyondEnd() throws IOException {
+		readSampleTable(chunkOffsets(false)).getSampleIndex().getOffset(NUMBER_OF_SAMPLES);
+	}
+
+	/**
+	 * Helper method to check every sample against the frame blocks.
+	 *
+	 * @param large - whether the chunk offsets are beyond 4 GB.
+	 * @throws IOException - Unable to read the sample table.
+	 */
+	private static void assertSampleIndex(final boolean large) throws IOException {
+		// Expected samples of each chunk
+		final int[] samplesPerChunk = new int[NUMBER_OF_CHUNKS];
+		for (int i = 0; i < FRAME_BLOCKS.length; ++i) {
+			final int lastChunk = (i + 1 < FRAME_BLOCKS.length) ?
+					FRAME_BLOCKS[i + 1][0] - 1 : NUMBER_OF_CHUNKS;
+			for (int chunk = FRAME_BLOCKS[i][0] - 1; chunk < lastChunk; ++chunk) {
+				samplesPerChunk[chunk] = FRAME_BLOCKS[i][1];
+			}
+		}
+
+		final long[] chunkOffsets = chunkOffsets(large);
+		final SampleIndex index = readSampleTable(chunkOffsets).getSampleIndex();
+		assertThat(index.getNumberOfSamples(), equalTo(NUMBER_OF_SAMPLES));
+		assertThat(index.getNumberOfChunks(), equalTo(NUMBER_OF_CHUNKS));
+
+		int sample = 0;
+		for (int chunk = 0; chunk < NUMBER_OF_CHUNKS; ++chunk) {
+			long offset = chunkOffsets[chunk];
+			for (int i = 0; i < samplesPerChunk[chunk]; ++i, ++sample) {
+				assertThat(index.getChunk(sample), equalTo(chunk));
+				assertThat(index.getOffset(sample), equalTo(offset));
+				assertThat(index.getSize(sample), equalTo(blockSize(sample)));
+				offset += blockSize(sample);
+			}
+		}
+		assertThat(sample, equalTo(NUMBER_OF_SAMPLES));
+	}
+
+	/**
+	 * @param large - whether the chunk offsets are beyond 4 GB.
+	 * @return the test chunk offsets.
+	 */
+	private static long[] chunkOffsets(final boolean large) {
+		final long[] chunkOffsets = new long[NUMBER_OF_CHUNKS];
+		for (int chunk = 0; chunk < NUMBER_OF_CHUNKS; ++chunk) {
+			chunkOffsets[chunk] = (large ? 0x100000000L : 0) + (chunk * 100000L);
+		}
+
+		return chunkOffsets;
+	}
+
+	/**
+	 * @param sample - the sample index.
+	 * @return the test size of the provided sample.
+	 */
+	private static long blockSize(final int sample) {
+		return 100 + (sample * 37) % 1000;
+	}
+
+	/**
+	 * Helper method to build and read back a sample table box.
+	 *
+	 * @param chunkOffsets - the chunk offsets, built as co64 when any is beyond 4 GB.
+	 * @return the sample table box.
+	 * @throws IOException - Unable to read the box.
+	 */
+	private static StblBox readSampleTable(final long[] chunkOffsets) throws IOException {
+		final int[] frameBlocks = new int[2 + (FRAME_BLOCKS.length * 3)];
+		frameBlocks[1] = FRAME_BLOCKS.length;
+		for (int i = 0; i < FRAME_BLOCKS.length; ++i) {
+			frameBlocks[2 + (i * 3)] = FRAME_BLOCKS[i][0];
+			frameBlocks[3 + (i * 3)] = FRAME_BLOCKS[i][1];
+			frameBlocks[4 + (i * 3)] = 1;
+		}
+
+		final int[] blockSizes = new int[3 + NUMBER_OF_SAMPLES];
+		blockSizes[2] = NUMBER_OF_SAMPLES;
+		for (int i = 0; i < NUMBER_OF_SAMPLES; ++i) {
+			blockSizes[3 + i] = (int) blockSize(i);
+		}
+
+		// 64-bit offsets are written as high and low pairs
+		final boolean large = chunkOffsets[0] > 0xFFFFFFFFL;
+		final int[] offsets = new int[2 + (chunkOffsets.length * (large ? 2 : 1))];
+		offsets[1] = chunkOffsets.length;
+		for (int i = 0; i < chunkOffsets.length; ++i) {
+			if (large) {
+				offsets[2 + (i * 2)] = (int) (chunkOffsets[i] >>> 32);
+				offsets[3 + (i * 2)] = (int) chunkOffsets[i];
+			} else {
+				offsets[2 + i] = (int) chunkOffsets[i];
+			}
+		}
+
+		final byte[] table = MP4Generator.box("stbl",
+				MP4Generator.box("stsc", MP4Generator.intBytes(frameBlocks)),
+				MP4Generator.box("stsz", MP4Generator.intBytes(blockSizes)),
+				MP4Generator.box(large ? "co64" : "stco", MP4Generator.intBytes(offsets)));
+
+		final MP4Reader reader = new MP4Reader(new BufferSource(ByteBuffer.wrap(table)));
+		try {
+			return (StblBox) reader.nextBox();
+		} finally {
+			reader.close();
+		}
+	}
+}
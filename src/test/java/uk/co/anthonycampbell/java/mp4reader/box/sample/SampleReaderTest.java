@@ -0,0 +1,252 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.movie.MoovBox;
+import uk.co.anthonycampbell.java.mp4reader.box.track.TrakBox;
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+
+/**
+ * Small test suite to test reading sample data through the sample reader. Windows
+ * are smaller than most samples, so samples cross window boundaries.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class SampleReaderTest {
+
+	// Mapped window size
+	private static final int WINDOW_SIZE = 64;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	// Test properties
+	private final MP4Generator generator = new MP4Generator();
+	private File file;
+	private byte[] bytes;
+	private long mediaDataStart;
+
+	@Before
+	public void setUp() throws IOException {
+		this.generator.setTracks(2);
+		this.generator.setSamples(20);
+		this.generator.setSamplesPerChunk(4);
+		this.generator.setSampleSize(50);
+
+		this.file = this.folder.newFile();
+		this.generator.write(this.file);
+
+		// Fill the media data, which ends the file, so every sample differs
+		final long mediaDataSize = this.generator.getMediaDataSize();
+		this.mediaDataStart = this.file.length() - mediaDataSize;
+		final byte[] mediaData = new byte[(int) mediaDataSize];
+		for (int i = 0; i < mediaData.length; ++i) {
+			mediaData[i] = (byte) (i * 7 + (i >> 8));
+		}
+
+		final RandomAccessFile output = new RandomAccessFile(this.file, "rw");
+		try {
+			output.seek(this.mediaDataStart);
+			output.write(mediaData);
+		} finally {
+			output.close();
+		}
+
+		this.bytes = FileUtils.readFileToByteArray(this.file);
+	}
+
+	@Test
+	public void testGetSample() throws IOException {
+		for (final TrakBox trakBox : readMovie(new MP4Reader(this.file)).getTrackSet()) {
+			final int track = (int) trakBox.getTrackId() - 1;
+			final SampleReader sampleReader =
+					new SampleReader(this.file, trakBox.getSampleIndex(), WINDOW_SIZE);
+
+			try {
+				for (int sample = 0; sample < this.generator.getSamples(); ++sample) {
+					final long offset = sampleOffset(track, sample);
+					final int size = this.generator.getSampleSize(track, sample);
+
+					assertThat(trakBox.getSampleIndex().getOffset(sample), equalTo(offset));
+					assertThat(toBytes(sampleReader.getSample(sample)),
+							equalTo(Arrays.copyOfRange(this.bytes, (int) offset, (int) offset + size)));
+				}
+			} finally {
+				sampleReader.close();
+			}
+		}
+	}
+
+	@Test
+	public void testTransferTo() throws IOException {
+		final TrakBox trakBox = readMovie(new MP4Reader(this.file)).getTrackSet().first();
+		final SampleReader sampleReader = trakBox.openSampleReader();
+
+		try {
+			// Samples of a single chunk follow each other in the file
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			assertThat(sampleReader.transferTo(0, 4, Channels.newChannel(output)),
+					equalTo(this.generator.getSampleSizes(0, 0, 4)));
+			assertThat(output.toByteArray(), equalTo(expectedBytes(0, 0, 4)));
+
+			// Chunks of the other track lie between the chunks of this track
+			output = new ByteArrayOutputStream();
+			assertThat(sampleReader.transferTo(2, 11, Channels.newChannel(output)),
+					equalTo(this.generator.getSampleSizes(0, 2, 9)));
+			assertThat(output.toByteArray(), equalTo(expectedBytes(0, 2, 9)));
+
+			output = new ByteArrayOutputStream();
+			sampleReader.transferTo(5, Channels.newChannel(output));
+			assertThat(output.toByteArray(), equalTo(expectedBytes(0, 5, 1)));
+		} finally {
+			sampleReader.close();
+		}
+	}
+
+	@Test
+	public void testSampleOutsideOfFile() throws IOException {
+		final SampleIndex sampleIndex =
+				readMovie(new MP4Reader(this.file)).getTrackSet().first().getSampleIndex();
+
+		// Only the samples of the first chunk of the first track remain
+		final long length = sampleOffset(0, 4);
+		final RandomAccessFile output = new RandomAccessFile(this.file, "rw");
+		try {
+			output.setLength(length);
+		} finally {
+			output.close();
+		}
+
+		final SampleReader sampleReader = new SampleReader(this.file, sampleIndex, WINDOW_SIZE);
+		try {
+			assertThat(sampleReader.getSample(3).remaining(), equalTo(this.generator.getSampleSize(0, 3)));
+
+			try {
+				sampleReader.getSample(4);
+				fail("Sample outside of the file was read!");
+			} catch (final IOException ioe) {
+				assertThat(ioe.getMessage(), containsString("Sample lies outside of the file"));
+			}
+		} finally {
+			sampleReader.close();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testOpenSampleReaderWithoutFile() throws IOException {
+		final MP4Reader reader = new MP4Reader(new BufferSource(ByteBuffer.wrap(this.bytes)));
+
+		readMovie(reader).getTrackSet().first().openSampleReader();
+	}
+
+	/**
+	 * Helper method to read the movie box with the provided reader, closing it.
+	 *
+	 * @param reader - the MP4 reader.
+	 * @return the movie box.
+	 * @throws IOException - Unable to read the movie.
+	 */
+	private static MoovBox readMovie(final MP4Reader reader) throws IOException {
+		try {
+			Box box;
+			while ((box = reader.nextBox()) != null) {
+				if (box instanceof MoovBox) {
+					return (MoovBox) box;
+				}
+			}
+		} finally {
+			reader.close();
+		}
+
+		throw new IOException("Movie box not found!");
+	}
+
+	/**
+	 * Helper method to work out the offset of a sample from the generator layout, the
+	 * chunks of each track interleaved.
+	 *
+	 * @param track - the track index, from zero.
+	 * @param sample - the sample index, from zero.
+	 * @return the file offset of the provided sample.
+	 */
+	private long sampleOffset(final int track, final int sample) {
+		final int samplesPerChunk = this.generator.getSamplesPerChunk();
+		final int chunk = sample / samplesPerChunk;
+
+		long offset = this.mediaDataStart;
+		for (int i = 0; i < this.generator.getTracks(); ++i) {
+			offset += this.generator.getSampleSizes(i, 0, chunk * samplesPerChunk);
+		}
+		for (int i = 0; i < track; ++i) {
+			offset += this.generator.getSampleSizes(i, chunk * samplesPerChunk, samplesPerChunk);
+		}
+
+		return offset + this.generator.getSampleSizes(track, chunk * samplesPerChunk,
+				sample % samplesPerChunk);
+	}
+
+	/**
+	 * Helper method to concatenate the bytes of the provided samples from the file.
+	 *
+	 * @param track - the track index, from zero.
+	 * @param first - the first sample index.
+	 * @param count - the number of samples.
+	 * @return the sample bytes.
+	 */
+	private byte[] expectedBytes(final int track, final int first, final int count) {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		for (int sample = first; sample < first + count; ++sample) {
+			output.write(this.bytes, (int) sampleOffset(track, sample),
+					this.generator.getSampleSize(track, sample));
+		}
+
+		return output.toByteArray();
+	}
+
+	/**
+	 * @param buffer - the buffer to copy.
+	 * @return the remaining bytes of the provided buffer.
+	 */
+	private static byte[] toBytes(final ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+
+		return bytes;
+	}
+}
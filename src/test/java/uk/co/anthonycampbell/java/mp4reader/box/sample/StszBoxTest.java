@@ -0,0 +1,197 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+
+/**
+ * Small test suite to test the packed sample size table.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class StszBoxTest {
+
+	@Test
+	public void testVariableBlockSizes() throws IOException {
+		assertVariableBlockSizes(false);
+	}
+
+	@Test
+	public void testLazyVariableBlockSizes() throws IOException {
+		assertVariableBlockSizes(true);
+	}
+
+	@Test
+	public void testFixedBlockSize() throws IOException {
+		final StszBox box = readBox(1024, new long[0], false);
+
+		assertThat(box.getBlockSize(9), equalTo(1024L));
+		assertThat(box.getBlockOffset(9), equalTo(9216L));
+		assertThat(box.getTotalBlockSize(), equalTo(10240L));
+	}
+
+	@Test
+	public void testSinglePass() throws IOException {
+		final long[] blockSizes = new long[1000];
+		for (int i = 0; i < blockSizes.length; ++i) {
+			blockSizes[i] = 500 + (i % 7);
+		}
+
+		final CountingSource source = new CountingSource(ByteBuffer.wrap(stszBox(0, blockSizes)));
+		final MP4Reader reader = new MP4Reader(source);
+		try {
+			final StszBox box = (StszBox) reader.nextBox();
+
+			// Every byte of the box is read exactly once
+			assertThat(source.bytesRead, equalTo(box.getTotalSize()));
+			assertThat(box.getBlockSize(999), equalTo(505L));
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Helper method to check random block sizes of different bit widths.
+	 *
+	 * @param lazy - whether the block sizes are decoded lazily.
+	 * @throws IOException - Unable to write or read the box.
+	 */
+	private void assertVariableBlockSizes(final boolean lazy) throws IOException {
+		final Random random = new Random(42);
+
+		for (final int range : new int[] { 1, 2, 1000, 1 << 17, Integer.MAX_VALUE }) {
+			final long[] blockSizes = new long[1000];
+			for (int i = 0; i < blockSizes.length; ++i) {
+				blockSizes[i] = 500 + random.nextInt(range);
+			}
+			blockSizes[blockSizes.length - 1] = 0xFFFFFFFFL;
+
+			final StszBox box = readBox(0, blockSizes, lazy);
+			assertThat(box.getNumberOfBlocks(), equalTo((long) blockSizes.length));
+
+			long offset = 0;
+			for (int i = 0; i < blockSizes.length; ++i) {
+				assertThat(box.getBlockOffset(i), equalTo(offset));
+				assertThat(box.getBlockSize(i), equalTo(blockSizes[i]));
+				offset += blockSizes[i];
+			}
+			assertThat(box.getBlockOffset(blockSizes.length), equalTo(offset));
+			assertThat(box.getTotalBlockSize(), equalTo(offset));
+		}
+	}
+
+	/**
+	 * Helper method to build and read back a sample size box.
+	 *
+	 * @param fixedBlockSize - the fixed block size, zero for variable sizes.
+	 * @param blockSizes - the variable block sizes.
+	 * @param lazy - whether the block sizes are decoded lazily.
+	 * @return the sample size box.
+	 * @throws IOException - Unable to read the box.
+	 */
+	private static StszBox readBox(final long fixedBlockSize, final long[] blockSizes,
+			final boolean lazy) throws IOException {
+		final MP4Reader reader =
+				new MP4Reader(new BufferSource(ByteBuffer.wrap(stszBox(fixedBlockSize, blockSizes))));
+		reader.setLazySampleTables(lazy);
+		try {
+			return (StszBox) reader.nextBox();
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Helper method to build a sample size box. Fixed size boxes hold ten blocks.
+	 *
+	 * @param fixedBlockSize - the fixed block size, zero for variable sizes.
+	 * @param blockSizes - the variable block sizes.
+	 * @return the box bytes.
+	 * @throws IOException - Unable to build the box.
+	 */
+	private static byte[] stszBox(final long fixedBlockSize, final long[] blockSizes)
+			throws IOException {
+		final int[] values = new int[3 + blockSizes.length];
+		values[1] = (int) fixedBlockSize;
+		values[2] = (fixedBlockSize != 0) ? 10 : blockSizes.length;
+		for (int i = 0; i < blockSizes.length; ++i) {
+			values[3 + i] = (int) blockSizes[i];
+		}
+
+		return MP4Generator.box("stsz", MP4Generator.intBytes(values));
+	}
+
+	/**
+	 * Buffer source counting the number of bytes read, excluding skipped bytes.
+	 */
+	private static class CountingSource extends BufferSource {
+
+		// Declare properties
+		private long bytesRead;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param buffer - the buffer to read.
+		 */
+		CountingSource(final ByteBuffer buffer) {
+			super(buffer);
+		}
+
+		@Override
+		public byte readByte() throws IOException {
+			this.bytesRead += 1;
+			return super.readByte();
+		}
+
+		@Override
+		public short readShort() throws IOException {
+			this.bytesRead += 2;
+			return super.readShort();
+		}
+
+		@Override
+		public int readInt() throws IOException {
+			this.bytesRead += 4;
+			return super.readInt();
+		}
+
+		@Override
+		public long readLong() throws IOException {
+			this.bytesRead += 8;
+			return super.readLong();
+		}
+
+		@Override
+		public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+			final int read = super.read(bytes, offset, length);
+			this.bytesRead += Math.max(0, read);
+			return read;
+		}
+	}
+}
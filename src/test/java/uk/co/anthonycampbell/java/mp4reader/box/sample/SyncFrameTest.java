@@ -0,0 +1,179 @@
+package uk.co.anthonycampbell.java.mp4reader.box.sample;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+
+/**
+ * Small test suite to test the sync frame lookup against a sample table.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class SyncFrameTest {
+
+	// Frame timing: frame count, duration
+	private static final int[][] FRAME_TIMING = { { 10, 100 }, { 5, 300 }, { 10, 100 } };
+	private static final int[] SYNC_FRAMES = { 1, 8, 13, 21 };
+	private static final int NUMBER_OF_FRAMES = 25;
+	private static final long TOTAL_DURATION = 3500;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testFindSyncFrame() throws IOException {
+		assertSyncFrames(readSampleTable(SYNC_FRAMES, false));
+	}
+
+	@Test
+	public void testLazyFindSyncFrame() throws IOException {
+		assertSyncFrames(readSampleTable(SYNC_FRAMES, true));
+	}
+
+	@Test
+	public void testLastFrame() throws IOException {
+		final StblBox sampleTable = readSampleTable(SYNC_FRAMES, false);
+		final long last = NUMBER_OF_FRAMES - 1;
+
+		assertThat(sampleTable.getFramingTiming().getFrameTime(last), equalTo(TOTAL_DURATION - 100));
+		assertThat(sampleTable.findSyncFrame(TOTAL_DURATION - 1), equalTo(20L));
+		assertThat(sampleTable.getSyncFrames().isSyncFrame(20), equalTo(true));
+		assertThat(sampleTable.getSyncFrames().isSyncFrame(last), equalTo(false));
+	}
+
+	@Test
+	public void testTimeBeyondEnd() throws IOException {
+		final StblBox sampleTable = readSampleTable(SYNC_FRAMES, false);
+
+		// The last sync frame still applies
+		assertThat(sampleTable.findSyncFrame(TOTAL_DURATION), equalTo(20L));
+		assertThat(sampleTable.findSyncFrame(TOTAL_DURATION + 1000), equalTo(20L));
+	}
+
+	@Test
+	public void testNoSyncFrames() throws IOException {
+		final StblBox sampleTable = readSampleTable(new int[0], false);
+
+		assertThat(sampleTable.getSyncFrames().getNumberOfEntries(), equalTo(0));
+		assertThat(sampleTable.findSyncFrame(1200), equalTo(-1L));
+		assertThat(sampleTable.getSyncFrames().isSyncFrame(0), equalTo(false));
+	}
+
+	@Test
+	public void testWithoutSyncFrameTable() throws IOException {
+		final StblBox sampleTable = readSampleTable(null, false);
+
+		// Every frame is a sync frame
+		assertThat(sampleTable.getSyncFrames(), nullValue());
+		assertThat(sampleTable.findSyncFrame(1200), equalTo(10L));
+	}
+
+	/**
+	 * Helper method to check the decode time, presentation time and sync frame of
+	 * every frame.
+	 *
+	 * @param sampleTable - the sample table box.
+	 */
+	private static void assertSyncFrames(final StblBox sampleTable) {
+		final SttsBox framingTiming = sampleTable.getFramingTiming();
+		assertThat(framingTiming.getTotalFrameCount(), equalTo((long) NUMBER_OF_FRAMES));
+		assertThat(framingTiming.getTotalDuration(), equalTo(TOTAL_DURATION));
+
+		long time = 0;
+		int frame = 0;
+		int syncFrame = 0;
+		for (final int[] timing : FRAME_TIMING) {
+			for (int i = 0; i < timing[0]; ++i, ++frame) {
+				for (final int sync : SYNC_FRAMES) {
+					if (sync - 1 <= frame) {
+						syncFrame = sync - 1;
+					}
+				}
+				assertThat(framingTiming.getFrameTime(frame), equalTo(time));
+				assertThat(framingTiming.getFrame(time), equalTo((long) frame));
+				assertThat(sampleTable.findSyncFrame(time), equalTo((long) syncFrame));
+				assertThat(sampleTable.findSyncFrame(time + timing[1] - 1), equalTo((long) syncFrame));
+				assertThat(sampleTable.getFrameTime(frame), equalTo(time + (frame % 2) * 200));
+				time += timing[1];
+			}
+		}
+	}
+
+	/**
+	 * Helper method to build and read back a sample table box. Lazy sample tables
+	 * are decoded from the file, so the box is written to one.
+	 *
+	 * @param syncFrames - the sync frames, numbered from one, or null for no sync
+	 * 		frame box.
+	 * @param lazy - whether the sample tables are decoded lazily.
+	 * @return the sample table box.
+	 * @throws IOException - Unable to write or read the box.
+	 */
+	private StblBox readSampleTable(final int[] syncFrames, final boolean lazy)
+			throws IOException {
+		final int[] timing = new int[2 + (FRAME_TIMING.length * 2)];
+		timing[1] = FRAME_TIMING.length;
+		for (int i = 0; i < FRAME_TIMING.length; ++i) {
+			timing[2 + (i * 2)] = FRAME_TIMING[i][0];
+			timing[3 + (i * 2)] = FRAME_TIMING[i][1];
+		}
+
+		// Composition offsets, alternating 0 and 200
+		final int[] offsets = new int[2 + (NUMBER_OF_FRAMES * 2)];
+		offsets[1] = NUMBER_OF_FRAMES;
+		for (int i = 0; i < NUMBER_OF_FRAMES; ++i) {
+			offsets[2 + (i * 2)] = 1;
+			offsets[3 + (i * 2)] = (i % 2) * 200;
+		}
+
+		final byte[] syncFrameBox;
+		if (syncFrames != null) {
+			final int[] entries = new int[2 + syncFrames.length];
+			entries[1] = syncFrames.length;
+			System.arraycopy(syncFrames, 0, entries, 2, syncFrames.length);
+			syncFrameBox = MP4Generator.box("stss", MP4Generator.intBytes(entries));
+		} else {
+			syncFrameBox = new byte[0];
+		}
+
+		final File file = this.folder.newFile();
+		FileUtils.writeByteArrayToFile(file, MP4Generator.box("stbl",
+				MP4Generator.box("stts", MP4Generator.intBytes(timing)),
+				syncFrameBox,
+				MP4Generator.box("ctts", MP4Generator.intBytes(offsets))));
+
+		final MP4Reader reader = new MP4Reader(file);
+		reader.setLazySampleTables(lazy);
+		try {
+			return (StblBox) reader.nextBox();
+		} finally {
+			reader.close();
+		}
+	}
+}
@@ -0,0 +1,936 @@
+package uk.co.anthonycampbell.java.mp4reader.generator;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Deterministic generator of synthetic MP4 files, for the tests and benchmarks which
+ * need realistic layouts without shipping media. The same settings always write the
+ * same boxes.
+ * <p>
+ * Only the boxes are written, the media data is left as a hole in the file, so a
+ * multi gigabyte movie only costs the size of its sample tables on most file systems.
+ * Every track is video, its sample sizes vary slightly from sample to sample and its
+ * chunks are interleaved with the chunks of the other tracks.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MP4Generator {
+
+	// Media time scale and the sample duration of the first time to sample entry
+	public static final int TIME_SCALE = 600;
+	public static final int SAMPLE_DURATION = 24;
+
+	// Largest value of an unsigned 32-bit size or offset
+	private static final long MAX_UNSIGNED_INT = 0xFFFFFFFFL;
+
+	// Declare generator properties
+	private int tracks = 1;
+	private int samples = 1000;
+	private int timeEntries = 1;
+	private int samplesPerChunk = 10;
+	private int sampleSize = 1024;
+	private boolean movieFirst = true;
+	private boolean largeMediaData = false;
+	private int fragments = 0;
+	private int people = 4;
+	private int coverSize = 0;
+	private int descriptionLength = 0;
+
+	/**
+	 * Write the movie to the provided file, replacing its content.
+	 * 
+	 * @param file - the file to write.
+	 * @throws IOException - Unable to write the file.
+	 */
+	public void write(final File file) throws IOException {
+		final RandomAccessFile output = new RandomAccessFile(file, "rw");
+
+		try {
+			output.setLength(0);
+			output.write(box("ftyp", new byte[] { 'M', '4', 'V', ' ', 0, 0, 2, 0,
+					'i', 's', 'o', 'm', 'i', 's', 'o', '6', 'M', '4', 'V', ' ' }));
+
+			if (this.fragments > 0) {
+				writeFragments(output);
+			} else {
+				writeMovie(output);
+			}
+
+			output.setLength(output.getFilePointer());
+		} finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Write the movie box and a single media data box holding every sample.
+	 * 
+	 * @param output - the file output.
+	 * @throws IOException - Unable to write the file.
+	 */
+	private void writeMovie(final RandomAccessFile output) throws IOException {
+		final long mediaDataSize = getMediaDataSize();
+		final byte[] mediaDataHeader = mediaDataHeader(mediaDataSize);
+
+		final long start = output.getFilePointer() + mediaDataHeader.length;
+		byte[] movie = movie(chunkOffsets(start));
+
+		if (this.movieFirst) {
+			// Moving the chunks past the movie box may need 64-bit chunk offsets, so a
+			// larger movie box, so build it until its size settles
+			int size;
+			do {
+				size = movie.length;
+				movie = movie(chunkOffsets(start + size));
+			} while (movie.length != size);
+
+			output.write(movie);
+		}
+
+		output.write(mediaDataHeader);
+		output.seek(output.getFilePointer() + mediaDataSize);
+
+		if (!this.movieFirst) {
+			output.write(movie);
+		}
+	}
+
+	/**
+	 * Write the movie box with empty sample tables, a movie fragment and media data
+	 * box pair per fragment and the movie fragment random access box.
+	 * 
+	 * @param output - the file output.
+	 * @throws IOException - Unable to write the file.
+	 */
+	private void writeFragments(final RandomAccessFile output) throws IOException {
+		output.write(movie(null));
+
+		final int samplesPerFragment = (this.samples + this.fragments - 1) / this.fragments;
+		final long[] fragmentOffsets = new long[this.fragments];
+
+		for (int fragment = 0; fragment < this.fragments; ++fragment) {
+			final int first = Math.min(this.samples, fragment * samplesPerFragment);
+			final int count = Math.min(this.samples, first + samplesPerFragment) - first;
+
+			long mediaDataSize = 0;
+			for (int track = 0; track < this.tracks; ++track) {
+				mediaDataSize += getSampleSizes(track, first, count);
+			}
+			final byte[] mediaDataHeader = mediaDataHeader(mediaDataSize);
+
+			// Sample data offsets are relative to the movie fragment box
+			final int size = movieFragment(fragment, first, count, 0).length;
+			fragmentOffsets[fragment] = output.getFilePointer();
+			output.write(movieFragment(fragment, first, count, size + mediaDataHeader.length));
+			output.write(mediaDataHeader);
+			output.seek(output.getFilePointer() + mediaDataSize);
+		}
+
+		output.write(fragmentRandomAccess(fragmentOffsets, samplesPerFragment));
+	}
+
+	/**
+	 * Build the media data box header, using the 64-bit size when requested or when
+	 * the 32-bit size is too small.
+	 * 
+	 * @param mediaDataSize - the media data size, excluding the header.
+	 * @return the header.
+	 * @throws IOException - Unable to write the header.
+	 */
+	private byte[] mediaDataHeader(final long mediaDataSize) throws IOException {
+		final ByteArrayOutputStream header = new ByteArrayOutputStream();
+		final DataOutputStream output = new DataOutputStream(header);
+
+		if (this.largeMediaData || mediaDataSize + 8 > MAX_UNSIGNED_INT) {
+			output.writeInt(1);
+			output.writeBytes("mdat");
+			output.writeLong(mediaDataSize + 16);
+		} else {
+			output.writeInt((int) (mediaDataSize + 8));
+			output.writeBytes("mdat");
+		}
+
+		return header.toByteArray();
+	}
+
+	/**
+	 * Build the chunk offsets of every track, the chunks of each track interleaved.
+	 * 
+	 * @param mediaDataStart - the offset of the first sample.
+	 * @return the chunk offsets, by track.
+	 */
+	private long[][] chunkOffsets(final long mediaDataStart) {
+		final int chunks = getNumberOfChunks();
+		final long[][] chunkOffsets = new long[this.tracks][chunks];
+
+		long offset = mediaDataStart;
+		for (int chunk = 0; chunk < chunks; ++chunk) {
+			final int first = chunk * this.samplesPerChunk;
+			final int count = Math.min(this.samplesPerChunk, this.samples - first);
+
+			for (int track = 0; track < this.tracks; ++track) {
+				chunkOffsets[track][chunk] = offset;
+				offset += getSampleSizes(track, first, count);
+			}
+		}
+
+		return chunkOffsets;
+	}
+
+	/**
+	 * Build the movie box (moov).
+	 * 
+	 * @param chunkOffsets - the chunk offsets by track, or null for a fragmented movie.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	private byte[] movie(final long[][] chunkOffsets) throws IOException {
+		final ByteArrayOutputStream mvhd = new ByteArrayOutputStream();
+		final DataOutputStream mvhdOutput = new DataOutputStream(mvhd);
+		mvhdOutput.write(new byte[12]);
+		mvhdOutput.writeInt(TIME_SCALE);
+		mvhdOutput.writeInt((int) getDuration());
+		mvhdOutput.writeInt(0x00010000);
+		mvhdOutput.writeShort(0x0100);
+		mvhdOutput.write(new byte[10]);
+		writeMatrix(mvhdOutput);
+		mvhdOutput.write(new byte[24]);
+		mvhdOutput.writeInt(this.tracks + 1);
+
+		final ByteArrayOutputStream moov = new ByteArrayOutputStream();
+		moov.write(box("mvhd", mvhd.toByteArray()));
+
+		// Chunk offsets past 32-bits need the 64-bit chunk offset box
+		boolean largeOffsets = false;
+		if (chunkOffsets != null) {
+			for (final long[] trackOffsets : chunkOffsets) {
+				largeOffsets |= trackOffsets.length > 0 &&
+						trackOffsets[trackOffsets.length - 1] > MAX_UNSIGNED_INT;
+			}
+		}
+
+		for (int track = 0; track < this.tracks; ++track) {
+			moov.write(track(track, (chunkOffsets != null) ? chunkOffsets[track] : null, largeOffsets));
+		}
+
+		if (chunkOffsets == null) {
+			final ByteArrayOutputStream mvex = new ByteArrayOutputStream();
+			for (int track = 0; track < this.tracks; ++track) {
+				final ByteArrayOutputStream trex = new ByteArrayOutputStream();
+				final DataOutputStream trexOutput = new DataOutputStream(trex);
+				trexOutput.writeInt(0);
+				trexOutput.writeInt(track + 1);
+				trexOutput.writeInt(1);
+				trexOutput.writeInt(SAMPLE_DURATION);
+				trexOutput.writeInt(0);
+				trexOutput.writeInt(0);
+				mvex.write(box("trex", trex.toByteArray()));
+			}
+			moov.write(box("mvex", mvex.toByteArray()));
+		}
+
+		moov.write(box("udta", box("meta", new byte[4], box("hdlr", handler("mdir", "")), itemListBox())));
+
+		return box("moov", moov.toByteArray());
+	}
+
+	/**
+	 * Build a track box (trak).
+	 * 
+	 * @param track - the track index, from zero.
+	 * @param chunkOffsets - the chunk offsets, or null for empty sample tables.
+	 * @param largeOffsets - whether to use the 64-bit chunk offset box.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	private byte[] track(final int track, final long[] chunkOffsets, final boolean largeOffsets)
+			throws IOException {
+		final ByteArrayOutputStream tkhd = new ByteArrayOutputStream();
+		final DataOutputStream tkhdOutput = new DataOutputStream(tkhd);
+		tkhdOutput.writeInt(0x000003);
+		tkhdOutput.write(new byte[8]);
+		tkhdOutput.writeInt(track + 1);
+		tkhdOutput.writeInt(0);
+		tkhdOutput.writeInt((int) getDuration());
+		tkhdOutput.write(new byte[16]);
+		writeMatrix(tkhdOutput);
+		tkhdOutput.writeInt(1920 << 16);
+		tkhdOutput.writeInt(1080 << 16);
+
+		final ByteArrayOutputStream mdhd = new ByteArrayOutputStream();
+		final DataOutputStream mdhdOutput = new DataOutputStream(mdhd);
+		mdhdOutput.write(new byte[12]);
+		mdhdOutput.writeInt(TIME_SCALE);
+		mdhdOutput.writeInt((int) getDuration());
+		mdhdOutput.writeShort(0x55C4);
+		mdhdOutput.writeShort(0);
+
+		// Visual sample entry
+		final ByteArrayOutputStream avc1 = new ByteArrayOutputStream();
+		final DataOutputStream avc1Output = new DataOutputStream(avc1);
+		avc1Output.write(new byte[6]);
+		avc1Output.writeShort(1);
+		avc1Output.write(new byte[16]);
+		avc1Output.writeShort(1920);
+		avc1Output.writeShort(1080);
+		avc1Output.writeInt(0x00480000);
+		avc1Output.writeInt(0x00480000);
+		avc1Output.writeInt(0);
+		avc1Output.writeShort(1);
+		avc1Output.write(new byte[32]);
+		avc1Output.writeShort(24);
+		avc1Output.writeShort(-1);
+
+		final byte[] stbl;
+		if (chunkOffsets != null) {
+			stbl = box("stbl", box("stsd", new byte[] { 0, 0, 0, 0, 0, 0, 0, 1 }, box("avc1", avc1.toByteArray())),
+					timeToSampleBox(), sampleToChunkBox(), sampleSizeBox(track),
+					chunkOffsetBox(chunkOffsets, largeOffsets));
+		} else {
+			stbl = box("stbl", box("stsd", new byte[] { 0, 0, 0, 0, 0, 0, 0, 1 }, box("avc1", avc1.toByteArray())),
+					box("stts", new byte[8]), box("stsc", new byte[8]), box("stsz", new byte[12]),
+					box("stco", new byte[8]));
+		}
+
+		return box("trak", box("tkhd", tkhd.toByteArray()), box("mdia", box("mdhd", mdhd.toByteArray()),
+				box("hdlr", handler("vide", "VideoHandler")), box("minf", stbl)));
+	}
+
+	/**
+	 * Build a movie fragment box (moof) with a track fragment per track.
+	 * 
+	 * @param fragment - the fragment index, from zero.
+	 * @param first - the first sample of the fragment.
+	 * @param count - the number of samples in the fragment.
+	 * @param dataOffset - the offset of the fragment samples from the start of the box.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	private byte[] movieFragment(final int fragment, final int first, final int count,
+			final int dataOffset) throws IOException {
+		final ByteArrayOutputStream moof = new ByteArrayOutputStream();
+		moof.write(box("mfhd", new byte[4], intBytes(fragment + 1)));
+
+		long trackDataOffset = dataOffset;
+		for (int track = 0; track < this.tracks; ++track) {
+			// Base data offset is the movie fragment
+			final ByteArrayOutputStream tfdt = new ByteArrayOutputStream();
+			final DataOutputStream tfdtOutput = new DataOutputStream(tfdt);
+			tfdtOutput.writeInt(0x01000000);
+			tfdtOutput.writeLong((long) first * SAMPLE_DURATION);
+
+			// Data offset and sample sizes present
+			final ByteArrayOutputStream trun = new ByteArrayOutputStream();
+			final DataOutputStream trunOutput = new DataOutputStream(trun);
+			trunOutput.writeInt(0x000201);
+			trunOutput.writeInt(count);
+			trunOutput.writeInt((int) trackDataOffset);
+			for (int sample = first; sample < first + count; ++sample) {
+				trunOutput.writeInt(getSampleSize(track, sample));
+			}
+
+			moof.write(box("traf", box("tfhd", intBytes(0x020000), intBytes(track + 1)),
+					box("tfdt", tfdt.toByteArray()), box("trun", trun.toByteArray())));
+			trackDataOffset += getSampleSizes(track, first, count);
+		}
+
+		return box("moof", moof.toByteArray());
+	}
+
+	/**
+	 * Build the movie fragment random access box (mfra), with an entry per fragment for
+	 * every track.
+	 * 
+	 * @param fragmentOffsets - the file offset of each movie fragment box.
+	 * @param samplesPerFragment - the number of samples in each fragment.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	private byte[] fragmentRandomAccess(final long[] fragmentOffsets, final int samplesPerFragment)
+			throws IOException {
+		final boolean largeOffsets = fragmentOffsets[fragmentOffsets.length - 1] > MAX_UNSIGNED_INT;
+
+		final ByteArrayOutputStream mfra = new ByteArrayOutputStream();
+		for (int track = 0; track < this.tracks; ++track) {
+			final ByteArrayOutputStream tfra = new ByteArrayOutputStream();
+			final DataOutputStream tfraOutput = new DataOutputStream(tfra);
+			tfraOutput.writeInt(largeOffsets ? 0x01000000 : 0);
+			tfraOutput.writeInt(track + 1);
+			tfraOutput.writeInt(0);
+			tfraOutput.writeInt(fragmentOffsets.length);
+
+			for (int fragment = 0; fragment < fragmentOffsets.length; ++fragment) {
+				final long time = (long) fragment * samplesPerFragment * SAMPLE_DURATION;
+				if (largeOffsets) {
+					tfraOutput.writeLong(time);
+					tfraOutput.writeLong(fragmentOffsets[fragment]);
+				} else {
+					tfraOutput.writeInt((int) time);
+					tfraOutput.writeInt((int) fragmentOffsets[fragment]);
+				}
+				tfraOutput.write(new byte[] { (byte) (track + 1), 1, 1 });
+			}
+
+			mfra.write(box("tfra", tfra.toByteArray()));
+		}
+
+		// Random access offset box closes the movie fragment random access box
+		return box("mfra", mfra.toByteArray(), box("mfro", new byte[4], intBytes(mfra.size() + 24)));
+	}
+
+	/**
+	 * Build the time to sample box (stts), the samples split evenly over the time
+	 * entries, the duration of each entry cycling from {@link #SAMPLE_DURATION}.
+	 * 
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	public byte[] timeToSampleBox() throws IOException {
+		final ByteArrayOutputStream stts = new ByteArrayOutputStream(8 + this.timeEntries * 8);
+		final DataOutputStream output = new DataOutputStream(stts);
+		output.writeInt(0);
+		output.writeInt(this.timeEntries);
+		for (int entry = 0; entry < this.timeEntries; ++entry) {
+			output.writeInt(getFrameCount(entry));
+			output.writeInt(getSampleDuration(entry));
+		}
+
+		return box("stts", stts.toByteArray());
+	}
+
+	/**
+	 * Build the sample to chunk box (stsc): full chunks, then the last chunk when it
+	 * holds fewer samples.
+	 * 
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	public byte[] sampleToChunkBox() throws IOException {
+		final int chunks = getNumberOfChunks();
+		final int lastChunkSamples = this.samples - (chunks - 1) * this.samplesPerChunk;
+
+		final ByteArrayOutputStream stsc = new ByteArrayOutputStream();
+		final DataOutputStream output = new DataOutputStream(stsc);
+		output.writeInt(0);
+		if (chunks == 0) {
+			output.writeInt(0);
+		} else if (lastChunkSamples == this.samplesPerChunk) {
+			output.writeInt(1);
+			output.write(intBytes(1, this.samplesPerChunk, 1));
+		} else {
+			output.writeInt(2);
+			output.write(intBytes(1, this.samplesPerChunk, 1));
+			output.write(intBytes(chunks, lastChunkSamples, 1));
+		}
+
+		return box("stsc", stsc.toByteArray());
+	}
+
+	/**
+	 * Build the sample size box (stsz) of the provided track.
+	 * 
+	 * @param track - the track index, from zero.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	public byte[] sampleSizeBox(final int track) throws IOException {
+		final ByteArrayOutputStream stsz = new ByteArrayOutputStream(12 + this.samples * 4);
+		final DataOutputStream output = new DataOutputStream(stsz);
+		output.writeInt(0);
+		output.writeInt(0);
+		output.writeInt(this.samples);
+		for (int sample = 0; sample < this.samples; ++sample) {
+			output.writeInt(getSampleSize(track, sample));
+		}
+
+		return box("stsz", stsz.toByteArray());
+	}
+
+	/**
+	 * Build a chunk offset box (stco or co64).
+	 * 
+	 * @param chunkOffsets - the chunk offsets.
+	 * @param largeOffsets - whether to use the 64-bit chunk offset box.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	private static byte[] chunkOffsetBox(final long[] chunkOffsets, final boolean largeOffsets)
+			throws IOException {
+		final ByteArrayOutputStream offsets =
+				new ByteArrayOutputStream(8 + chunkOffsets.length * (largeOffsets ? 8 : 4));
+		final DataOutputStream output = new DataOutputStream(offsets);
+		output.writeInt(0);
+		output.writeInt(chunkOffsets.length);
+		for (final long chunkOffset : chunkOffsets) {
+			if (largeOffsets) {
+				output.writeLong(chunkOffset);
+			} else {
+				output.writeInt((int) chunkOffset);
+			}
+		}
+
+		return box(largeOffsets ? "co64" : "stco", offsets.toByteArray());
+	}
+
+	/**
+	 * Build the item list box (ilst): the common text items, the cover and the iTunes
+	 * movie property list (iTunMOVI) when configured.
+	 * 
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	public byte[] itemListBox() throws IOException {
+		final ByteArrayOutputStream ilst = new ByteArrayOutputStream();
+		ilst.write(item("\u00A9nam", "Title"));
+		ilst.write(item("\u00A9ART", "Artist"));
+		ilst.write(item("\u00A9day", "2011-07-22T07:00:00Z"));
+		ilst.write(item("\u00A9gen", "Drama"));
+		ilst.write(item("desc", (this.descriptionLength > 0) ? StringUtils.left(StringUtils.repeat(
+				"Description ", this.descriptionLength / 12 + 1), this.descriptionLength) : "Description"));
+		ilst.write(item("tvsh", "Show"));
+
+		if (this.coverSize > 0) {
+			// JPEG start and end markers around a repeating pattern
+			final byte[] cover = new byte[Math.max(4, this.coverSize)];
+			for (int i = 0; i < cover.length; ++i) {
+				cover[i] = (byte) i;
+			}
+			cover[0] = (byte) 0xFF;
+			cover[1] = (byte) 0xD8;
+			cover[cover.length - 2] = (byte) 0xFF;
+			cover[cover.length - 1] = (byte) 0xD9;
+			ilst.write(box("covr", box("data", intBytes(13, 0), cover)));
+		}
+
+		if (this.people > 0) {
+			final StringBuilder plist = new StringBuilder();
+			plist.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			plist.append("<!DOCTYPE plist PUBLIC \"-//Apple//DTD PLIST 1.0//EN\" ");
+			plist.append("\"http://www.apple.com/DTDs/PropertyList-1.0.dtd\">\n");
+			plist.append("<plist version=\"1.0\">\n<dict>\n");
+			for (final String role : new String[] { "cast", "directors", "producers", "screenwriters" }) {
+				plist.append("\t<key>").append(role).append("</key>\n\t<array>\n");
+				for (int i = 0; i < this.people; ++i) {
+					plist.append("\t\t<dict>\n\t\t\t<key>name</key>\n\t\t\t<string>");
+					plist.append(role).append(' ').append(i).append("</string>\n\t\t</dict>\n");
+				}
+				plist.append("\t</array>\n");
+			}
+			plist.append("</dict>\n</plist>\n");
+
+			ilst.write(box("----", box("mean", new byte[4], "com.apple.iTunes".getBytes(StandardCharsets.UTF_8)),
+					box("name", new byte[4], "iTunMOVI".getBytes(StandardCharsets.UTF_8)),
+					data(plist.toString())));
+		}
+
+		return box("ilst", ilst.toByteArray());
+	}
+
+	/**
+	 * Build a text item box.
+	 * 
+	 * @param boxName - the item box type.
+	 * @param value - the item text.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	private static byte[] item(final String boxName, final String value) throws IOException {
+		return box(boxName, data(value));
+	}
+
+	/**
+	 * Build a data box holding UTF-8 text.
+	 * 
+	 * @param value - the text.
+	 * @return the box.
+	 * @throws IOException - Unable to write the box.
+	 */
+	private static byte[] data(final String value) throws IOException {
+		return box("data", intBytes(1, 0), value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Build a handler reference box payload.
+	 * 
+	 * @param handlerType - the handler type.
+	 * @param name - the handler name.
+	 * @return the payload.
+	 * @throws IOException - Unable to write the payload.
+	 */
+	private static byte[] handler(final String handlerType, final String name) throws IOException {
+		final ByteArrayOutputStream hdlr = new ByteArrayOutputStream();
+		final DataOutputStream output = new DataOutputStream(hdlr);
+		output.write(new byte[8]);
+		output.writeBytes(handlerType);
+		output.write(new byte[12]);
+		output.writeBytes(name);
+		output.writeByte(0);
+
+		return hdlr.toByteArray();
+	}
+
+	/**
+	 * Write the unity transformation matrix of the movie and track headers.
+	 * 
+	 * @param output - the header output.
+	 * @throws IOException - Unable to write the matrix.
+	 */
+	private static void writeMatrix(final DataOutputStream output) throws IOException {
+		output.write(intBytes(0x00010000, 0, 0, 0, 0x00010000, 0, 0, 0, 0x40000000));
+	}
+
+	/**
+	 * Helper method to convert the provided values to big endian bytes.
+	 * 
+	 * @param values - the 32-bit values.
+	 * @return the bytes.
+	 */
+	public static byte[] intBytes(final int... values) {
+		final byte[] bytes = new byte[values.length * 4];
+		for (int i = 0; i < values.length; ++i) {
+			bytes[i * 4] = (byte) (values[i] >> 24);
+			bytes[i * 4 + 1] = (byte) (values[i] >> 16);
+			bytes[i * 4 + 2] = (byte) (values[i] >> 8);
+			bytes[i * 4 + 3] = (byte) values[i];
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Helper method to concatenate the provided boxes.
+	 * 
+	 * @param boxes - the box bytes.
+	 * @return the concatenated bytes.
+	 * @throws IOException - Unable to write the boxes.
+	 */
+	public static byte[] concat(final byte[]... boxes) throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		for (final byte[] box : boxes) {
+			output.write(box);
+		}
+
+		return output.toByteArray();
+	}
+
+	/**
+	 * Helper method to wrap the provided payload in a box header.
+	 * 
+	 * @param boxName - the box type name.
+	 * @param payload - the box payload, concatenated.
+	 * @return the box bytes.
+	 * @throws IOException - Unable to write the box.
+	 */
+	public static byte[] box(final String boxName, final byte[]... payload) throws IOException {
+		final byte[] bytes = concat(payload);
+		final ByteArrayOutputStream box = new ByteArrayOutputStream(bytes.length + 8);
+		final DataOutputStream output = new DataOutputStream(box);
+		output.writeInt(bytes.length + 8);
+		output.write(boxName.getBytes(StandardCharsets.ISO_8859_1));
+		output.write(bytes);
+
+		return box.toByteArray();
+	}
+
+	/**
+	 * @param track - the track index, from zero.
+	 * @param sample - the sample index, from zero.
+	 * @return the size of the provided sample, in bytes.
+	 */
+	public int getSampleSize(final int track, final int sample) {
+		return this.sampleSize + ((sample * 31 + track * 17) & 0x3F);
+	}
+
+	/**
+	 * @param track - the track index, from zero.
+	 * @param first - the first sample index.
+	 * @param count - the number of samples.
+	 * @return the total size of the provided samples, in bytes.
+	 */
+	public long getSampleSizes(final int track, final int first, final int count) {
+		long size = 0;
+		for (int sample = first; sample < first + count; ++sample) {
+			size += getSampleSize(track, sample);
+		}
+
+		return size;
+	}
+
+	/**
+	 * @return the size of every sample of every track, in bytes.
+	 */
+	public long getMediaDataSize() {
+		long size = 0;
+		for (int track = 0; track < this.tracks; ++track) {
+			size += getSampleSizes(track, 0, this.samples);
+		}
+
+		return size;
+	}
+
+	/**
+	 * @param entry - the time to sample entry index, from zero.
+	 * @return the number of samples of the provided time to sample entry.
+	 */
+	public int getFrameCount(final int entry) {
+		return this.samples / this.timeEntries + ((entry < this.samples % this.timeEntries) ? 1 : 0);
+	}
+
+	/**
+	 * @param entry - the time to sample entry index, from zero.
+	 * @return the sample duration of the provided time to sample entry.
+	 */
+	public int getSampleDuration(final int entry) {
+		return SAMPLE_DURATION + (entry % 3);
+	}
+
+	/**
+	 * @return the duration of the movie, in the media time scale. Fragmented movies
+	 * 		use {@link #SAMPLE_DURATION} for every sample.
+	 */
+	public long getDuration() {
+		if (this.fragments > 0) {
+			return (long) this.samples * SAMPLE_DURATION;
+		}
+
+		long duration = 0;
+		for (int entry = 0; entry < this.timeEntries; ++entry) {
+			duration += (long) getFrameCount(entry) * getSampleDuration(entry);
+		}
+
+		return duration;
+	}
+
+	/**
+	 * @return the number of chunks of each track.
+	 */
+	public int getNumberOfChunks() {
+		return (this.samples + this.samplesPerChunk - 1) / this.samplesPerChunk;
+	}
+
+	/**
+	 * @return the number of tracks.
+	 */
+	public int getTracks() {
+		return this.tracks;
+	}
+
+	/**
+	 * @param tracks - the number of tracks.
+	 */
+	public void setTracks(final int tracks) {
+		if (tracks < 1) {
+			throw new IllegalArgumentException("Provided number of tracks is invalid! (tracks=" +
+					tracks + ")");
+		}
+
+		this.tracks = tracks;
+	}
+
+	/**
+	 * @return the number of samples in each track.
+	 */
+	public int getSamples() {
+		return this.samples;
+	}
+
+	/**
+	 * @param samples - the number of samples in each track.
+	 */
+	public void setSamples(final int samples) {
+		if (samples < 0) {
+			throw new IllegalArgumentException("Provided number of samples is invalid! (samples=" +
+					samples + ")");
+		}
+
+		this.samples = samples;
+	}
+
+	/**
+	 * @return the number of time to sample entries.
+	 */
+	public int getTimeEntries() {
+		return this.timeEntries;
+	}
+
+	/**
+	 * @param timeEntries - the number of time to sample entries, each of a different
+	 * 		sample duration to its neighbours.
+	 */
+	public void setTimeEntries(final int timeEntries) {
+		if (timeEntries < 1) {
+			throw new IllegalArgumentException("Provided number of time entries is invalid! " +
+					"(timeEntries=" + timeEntries + ")");
+		}
+
+		this.timeEntries = timeEntries;
+	}
+
+	/**
+	 * @return the number of samples in each chunk.
+	 */
+	public int getSamplesPerChunk() {
+		return this.samplesPerChunk;
+	}
+
+	/**
+	 * @param samplesPerChunk - the number of samples in each chunk.
+	 */
+	public void setSamplesPerChunk(final int samplesPerChunk) {
+		if (samplesPerChunk < 1) {
+			throw new IllegalArgumentException("Provided number of samples per chunk is invalid! " +
+					"(samplesPerChunk=" + samplesPerChunk + ")");
+		}
+
+		this.samplesPerChunk = samplesPerChunk;
+	}
+
+	/**
+	 * @return the smallest sample size, in bytes.
+	 */
+	public int getSampleSize() {
+		return this.sampleSize;
+	}
+
+	/**
+	 * @param sampleSize - the smallest sample size, in bytes. Sample sizes vary up to
+	 * 		63 bytes above it.
+	 */
+	public void setSampleSize(final int sampleSize) {
+		if (sampleSize < 0) {
+			throw new IllegalArgumentException("Provided sample size is invalid! (sampleSize=" +
+					sampleSize + ")");
+		}
+
+		this.sampleSize = sampleSize;
+	}
+
+	/**
+	 * @return whether the movie box is written before the media data box.
+	 */
+	public boolean isMovieFirst() {
+		return this.movieFirst;
+	}
+
+	/**
+	 * @param movieFirst - whether the movie box is written before the media data box.
+	 */
+	public void setMovieFirst(final boolean movieFirst) {
+		this.movieFirst = movieFirst;
+	}
+
+	/**
+	 * @return whether the media data boxes always use the 64-bit box size.
+	 */
+	public boolean isLargeMediaData() {
+		return this.largeMediaData;
+	}
+
+	/**
+	 * @param largeMediaData - whether the media data boxes always use the 64-bit box size,
+	 * 		otherwise only when required.
+	 */
+	public void setLargeMediaData(final boolean largeMediaData) {
+		this.largeMediaData = largeMediaData;
+	}
+
+	/**
+	 * @return the number of movie fragments, zero for an unfragmented movie.
+	 */
+	public int getFragments() {
+		return this.fragments;
+	}
+
+	/**
+	 * @param fragments - the number of movie fragments, zero for an unfragmented movie.
+	 */
+	public void setFragments(final int fragments) {
+		if (fragments < 0) {
+			throw new IllegalArgumentException("Provided number of fragments is invalid! " +
+					"(fragments=" + fragments + ")");
+		}
+
+		this.fragments = fragments;
+	}
+
+	/**
+	 * @return the number of people listed under each role of the iTunes movie property list.
+	 */
+	public int getPeople() {
+		return this.people;
+	}
+
+	/**
+	 * @param people - the number of people listed under each role of the iTunes movie
+	 * 		property list, zero for no property list.
+	 */
+	public void setPeople(final int people) {
+		if (people < 0) {
+			throw new IllegalArgumentException("Provided number of people is invalid! (people=" +
+					people + ")");
+		}
+
+		this.people = people;
+	}
+
+	/**
+	 * @return the cover size, in bytes.
+	 */
+	public int getCoverSize() {
+		return this.coverSize;
+	}
+
+	/**
+	 * @param coverSize - the cover size, in bytes, zero for no cover.
+	 */
+	public void setCoverSize(final int coverSize) {
+		if (coverSize < 0) {
+			throw new IllegalArgumentException("Provided cover size is invalid! (coverSize=" +
+					coverSize + ")");
+		}
+
+		this.coverSize = coverSize;
+	}
+
+	/**
+	 * @return the description length.
+	 */
+	public int getDescriptionLength() {
+		return this.descriptionLength;
+	}
+
+	/**
+	 * @param descriptionLength - the description length, zero for a short description.
+	 */
+	public void setDescriptionLength(final int descriptionLength) {
+		if (descriptionLength < 0) {
+			throw new IllegalArgumentException("Provided description length is invalid! " +
+					"(descriptionLength=" + descriptionLength + ")");
+		}
+
+		this.descriptionLength = descriptionLength;
+	}
+}
@@ -0,0 +1,205 @@
+package uk.co.anthonycampbell.java.mp4reader.generator;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MoofBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrafBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrunBox;
+import uk.co.anthonycampbell.java.mp4reader.box.media.MdatBox;
+import uk.co.anthonycampbell.java.mp4reader.box.movie.MoovBox;
+import uk.co.anthonycampbell.java.mp4reader.box.sample.SampleIndex;
+import uk.co.anthonycampbell.java.mp4reader.box.track.TrakBox;
+import uk.co.anthonycampbell.java.mp4reader.reader.FragmentListener;
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4Reader;
+
+/**
+ * Small test suite to test the MP4 reader against generated MP4 files.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MP4GeneratorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testMovie() throws IOException {
+		for (final boolean movieFirst : new boolean[] { false, true }) {
+			for (final boolean largeMediaData : new boolean[] { false, true }) {
+				final MP4Generator generator = new MP4Generator();
+				generator.setTracks(2);
+				generator.setSamples(1003);
+				generator.setTimeEntries(7);
+				generator.setMovieFirst(movieFirst);
+				generator.setLargeMediaData(largeMediaData);
+				generator.setCoverSize(4096);
+
+				final File file = this.folder.newFile();
+				generator.write(file);
+				assertMovie(generator, file);
+			}
+		}
+	}
+
+	@Test
+	public void testLargeMovie() throws IOException {
+		// Over 4GB of media data, so 64-bit media data size and chunk offsets
+		final MP4Generator generator = new MP4Generator();
+		generator.setSamples(1 << 22);
+		generator.setMovieFirst(false);
+
+		final File file = this.folder.newFile();
+		generator.write(file);
+		assertThat(file.length(), greaterThan(0x100000000L));
+
+		final MoovBox moovBox = assertMovie(generator, file);
+		assertThat(moovBox.getTrackSet().first().getSampleTable().getChunkOffsets().isLarge(), equalTo(true));
+	}
+
+	@Test
+	public void testFragments() throws IOException {
+		final MP4Generator generator = new MP4Generator();
+		generator.setTracks(2);
+		generator.setSamples(100);
+		generator.setFragments(3);
+
+		final File file = this.folder.newFile();
+		generator.write(file);
+
+		final MP4Reader reader = new MP4Reader(file);
+		try {
+			final List<MoofBox> fragments = new ArrayList<MoofBox>();
+			final long count = reader.parseFragments(new FragmentListener() {
+				@Override
+				public void movie(final MoovBox movie) {
+					assertThat(movie.getMovieExtends().getTrackExtends().size(), equalTo(2));
+				}
+
+				@Override
+				public void fragment(final MoofBox fragment) {
+					fragments.add(fragment);
+				}
+			});
+			assertThat(count, equalTo(3L));
+
+			// Samples of each fragment are contiguous, track by track
+			int sample = 0;
+			for (final MoofBox moofBox : fragments) {
+				long offset = moofBox.getDataOffset(moofBox.getTrackFragments().get(0),
+						moofBox.getTrackFragments().get(0).getTrackRuns().get(0));
+				int runSamples = 0;
+
+				for (final TrafBox trafBox : moofBox.getTrackFragments()) {
+					final int track = (int) trafBox.getTrackId() - 1;
+					final TrunBox trunBox = trafBox.getTrackRuns().get(0);
+					assertThat(moofBox.getDataOffset(trafBox, trunBox), equalTo(offset));
+					assertThat(trafBox.getBaseMediaDecodeTime(),
+							equalTo((long) sample * MP4Generator.SAMPLE_DURATION));
+
+					for (int i = 0; i < trunBox.getSampleCount(); ++i) {
+						final long size = trafBox.getSampleSize(trunBox, i, null);
+						assertThat(size, equalTo((long) generator.getSampleSize(track, sample + i)));
+						offset += size;
+					}
+					runSamples = (int) trunBox.getSampleCount();
+				}
+				sample += runSamples;
+			}
+			assertThat(sample, equalTo(100));
+
+			// Random access to the fragment holding the last sample
+			reader.reset();
+			assertThat(reader.readFragmentRandomAccess().findFragment(2, 99 * MP4Generator.SAMPLE_DURATION),
+					equalTo(fragments.get(2).getStartPosition()));
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Helper method to read the provided generated movie, asserting its tracks, sample
+	 * tables and meta data match the generator.
+	 *
+	 * @param generator - the generator which wrote the movie.
+	 * @param file - the movie file.
+	 * @return the movie box.
+	 * @throws IOException - Unable to read the movie.
+	 */
+	private static MoovBox assertMovie(final MP4Generator generator, final File file) throws IOException {
+		final MP4Reader reader = new MP4Reader(file);
+
+		try {
+			MoovBox moovBox = null;
+			long mediaDataStart = 0;
+
+			Box box;
+			while ((box = reader.nextBox()) != null) {
+				if (box instanceof MoovBox) {
+					moovBox = (MoovBox) box;
+				} else if (box instanceof MdatBox) {
+					mediaDataStart = box.getStartPosition() +
+							((generator.isLargeMediaData() || generator.getMediaDataSize() > 0xFFFFFFF7L) ? 16 : 8);
+				}
+			}
+			assertThat(reader.remaining(), equalTo(0L));
+			assertThat(moovBox.getDuration(), equalTo(BigInteger.valueOf(generator.getDuration())));
+			assertThat(moovBox.getTrackSet().size(), equalTo(generator.getTracks()));
+
+			// First chunk of every track follows the previous track's, the last sample
+			// of the last track ends the file or the media data
+			long offset = mediaDataStart;
+			for (final TrakBox trakBox : moovBox.getTrackSet()) {
+				final int track = (int) trakBox.getTrackId() - 1;
+				final SampleIndex index = trakBox.getSampleIndex();
+				assertThat(index.getNumberOfSamples(), equalTo(generator.getSamples()));
+				assertThat(index.getNumberOfChunks(), equalTo(generator.getNumberOfChunks()));
+				assertThat(index.getOffset(0), equalTo(offset));
+				assertThat(index.getSize(0), equalTo((long) generator.getSampleSize(track, 0)));
+				assertThat(trakBox.getSampleTable().getFramingTiming().getTotalDuration(),
+						equalTo(generator.getDuration()));
+				offset += generator.getSampleSizes(track, 0, generator.getSamplesPerChunk());
+			}
+
+			final int lastSample = generator.getSamples() - 1;
+			final SampleIndex index = moovBox.getTrackSet().last().getSampleIndex();
+			assertThat(index.getOffset(lastSample) + index.getSize(lastSample),
+					equalTo(mediaDataStart + generator.getMediaDataSize()));
+
+			assertThat(moovBox.getMetaData().getTitle(), equalTo("Title"));
+			assertThat(moovBox.getMetaData().getActors().size(), equalTo(generator.getPeople()));
+			assertThat(moovBox.getMetaData().getCovers().size(), equalTo((generator.getCoverSize() > 0) ? 1 : 0));
+
+			return moovBox;
+		} finally {
+			reader.close();
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+
+/**
+ * Small test suite to test the box type fourcc lookup.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class BoxTypeTest {
+
+	@Test
+	public void testForFourcc() {
+		for (final BoxType boxType : BoxType.values()) {
+			assertThat(BoxType.forFourcc(boxType.getFourcc()), sameInstance(boxType));
+			assertThat(boxType.getFactory(), notNullValue());
+			assertThat(BoxType.toName(boxType.getFourcc()), equalTo(boxType.getName()));
+		}
+	}
+
+	@Test
+	public void testAppleItemFourcc() {
+		assertThat(BoxType.forFourcc(0xA96E616D), equalTo(BoxType.APPLE_ITEM_NAME));
+		assertThat(BoxType.forFourcc(0x6E616D65), equalTo(BoxType.APPLE_ITEM_ADDITIONAL_NAME));
+	}
+
+	@Test
+	public void testUnknownFourcc() {
+		assertThat(BoxType.forFourcc(BoxType.toFourcc("zzzz")), nullValue());
+		assertThat(BoxType.forFourcc(0), nullValue());
+	}
+}
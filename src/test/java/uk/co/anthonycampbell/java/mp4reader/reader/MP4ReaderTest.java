@@ -0,0 +1,824 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+import static uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator.box;
+import static uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator.concat;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MfraBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MoofBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.MvexBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrafBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrexBox;
+import uk.co.anthonycampbell.java.mp4reader.box.fragment.TrunBox;
+import uk.co.anthonycampbell.java.mp4reader.box.item.CoverArt;
+import uk.co.anthonycampbell.java.mp4reader.box.item.CoverBox;
+import uk.co.anthonycampbell.java.mp4reader.box.movie.MoovBox;
+import uk.co.anthonycampbell.java.mp4reader.box.movie.MvhdBox;
+import uk.co.anthonycampbell.java.mp4reader.box.type.FtypBox;
+import uk.co.anthonycampbell.java.mp4reader.generator.MP4Generator;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.BufferSource;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.SourceType;
+
+/**
+ * Small test suite to test the MP4 reader against minimal MP4 files.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MP4ReaderTest {
+
+	// Size of the media data payload
+	private static final int MEDIA_DATA_SIZE = 1 << 20;
+
+	// Fragmented file properties, one second of samples per fragment
+	private static final int FRAGMENTS = 5;
+	private static final int SAMPLES_PER_FRAGMENT = 3;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testParse() throws IOException {
+		for (final SourceType sourceType : SourceType.values()) {
+			final MP4Reader reader = new MP4Reader(writeFile(false), sourceType);
+
+			try {
+				final MP4 mp4 = reader.parse();
+
+				assertThat(mp4.containerType, equalTo("M4V "));
+				assertThat(mp4.duration, equalTo(BigInteger.valueOf(60000)));
+				assertThat(reader.remaining(), equalTo(0L));
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	@Test
+	public void testParseMetaDataMovieLast() throws IOException {
+		for (final SourceType sourceType : SourceType.values()) {
+			final MP4Reader reader = new MP4Reader(writeFile(false), sourceType);
+
+			try {
+				final MP4 mp4 = reader.parseMetaData();
+
+				assertThat(mp4.containerType, equalTo("M4V "));
+				assertThat(mp4.duration, equalTo(BigInteger.valueOf(60000)));
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	@Test
+	public void testParseMetaDataMovieFirst() throws IOException {
+		for (final SourceType sourceType : SourceType.values()) {
+			final MP4Reader reader = new MP4Reader(writeFile(true), sourceType);
+
+			try {
+				final MP4 mp4 = reader.parseMetaData();
+
+				assertThat(mp4.containerType, equalTo("M4V "));
+				assertThat(mp4.duration, equalTo(BigInteger.valueOf(60000)));
+
+				// Media data is never reached
+				assertThat(reader.remaining(), greaterThan((long) MEDIA_DATA_SIZE));
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	@Test
+	public void testParseAll() throws Exception {
+		final List<Path> paths = new ArrayList<Path>();
+		for (int i = 0; i < 8; ++i) {
+			paths.add(writeFile(i % 2 == 0).toPath());
+		}
+		final Path missing = new File(this.folder.getRoot(), "missing.m4v").toPath();
+		paths.add(missing);
+
+		// A duplicate path is parsed once
+		final List<Path> duplicated = new ArrayList<Path>(paths);
+		duplicated.add(paths.get(0));
+
+		final Map<Path, CompletableFuture<MP4>> results =
+				MP4Reader.parseAll(duplicated, 2, SourceType.MAPPED);
+
+		assertThat(new ArrayList<Path>(results.keySet()), equalTo(paths));
+		for (final Path path : paths) {
+			if (path == missing) {
+				try {
+					results.get(path).get(10, TimeUnit.SECONDS);
+					fail("Missing file parsed!");
+				} catch (final ExecutionException ee) {
+					assertThat(ee.getCause(), instanceOf(IllegalArgumentException.class));
+				}
+			} else {
+				final MP4 mp4 = results.get(path).get(10, TimeUnit.SECONDS);
+				assertThat(mp4.duration, equalTo(BigInteger.valueOf(60000)));
+			}
+		}
+	}
+
+	@Test
+	public void testParseAllCancel() throws Exception {
+		final File slow = this.folder.newFile();
+		final int boxes = 500000;
+		final DataOutputStream output =
+				new DataOutputStream(new BufferedOutputStream(new FileOutputStream(slow)));
+
+		try {
+			output.writeInt(8 + boxes * 16);
+			output.writeBytes("moov");
+			for (int i = 0; i < boxes; ++i) {
+				output.writeInt(16);
+				output.writeBytes("free");
+				output.writeLong(0);
+			}
+		} finally {
+			output.close();
+		}
+
+		// Links to the slow file queue far more parsing than the wait below
+		final List<Path> paths = new ArrayList<Path>();
+		for (int i = 0; i < 100; ++i) {
+			paths.add(Files.createLink(new File(this.folder.getRoot(), i + ".m4v").toPath(),
+					slow.toPath()));
+		}
+		final Path last = writeFile(true).toPath();
+		paths.add(last);
+
+		final Map<Path, CompletableFuture<MP4>> results =
+				MP4Reader.parseAll(paths, 1, SourceType.STREAM);
+		for (final Path path : paths.subList(0, paths.size() - 1)) {
+			results.get(path).cancel(true);
+		}
+
+		// Interrupted and queued parses give way to the last file
+		final MP4 mp4 = results.get(last).get(2, TimeUnit.SECONDS);
+		assertThat(mp4.duration, equalTo(BigInteger.valueOf(60000)));
+		for (final Path path : paths.subList(0, paths.size() - 1)) {
+			assertThat(results.get(path).isCancelled(), is(true));
+		}
+	}
+
+	@Test
+	public void testAccept() throws IOException {
+		final MP4Reader reader = new MP4Reader(writeFile(true));
+
+		try {
+			for (final boolean skipMovie : new boolean[] { false, true }) {
+				final List<String> events = new ArrayList<String>();
+				final long[] timeScale = new long[1];
+
+				reader.accept(new BoxVisitorAdapter() {
+					@Override
+					public Action onBoxStart(final int fourcc, final long offset, final long size) {
+						events.add("<" + BoxType.toName(fourcc));
+						return (skipMovie && BoxType.MOVIE_HEADER.getFourcc() == fourcc) ?
+								Action.SKIP : Action.CONTINUE;
+					}
+
+					@Override
+					public void onBoxEnd(final int fourcc, final long offset, final long size) {
+						events.add(BoxType.toName(fourcc) + ">");
+					}
+
+					@Override
+					public void onMovieHeader(final MvhdBox box) {
+						timeScale[0] = box.getTimeScale();
+					}
+				});
+
+				if (skipMovie) {
+					assertThat(events, equalTo(Arrays.asList("<ftyp", "ftyp>", "<moov", "<free", "free>",
+							"<mdat", "mdat>")));
+					assertThat(timeScale[0], equalTo(0L));
+				} else {
+					assertThat(events, equalTo(Arrays.asList("<ftyp", "ftyp>", "<moov", "<mvhd", "mvhd>", "moov>",
+							"<free", "free>", "<mdat", "mdat>")));
+					assertThat(timeScale[0], equalTo(600L));
+				}
+				assertThat(reader.remaining(), equalTo(0L));
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testCoverArt() throws IOException {
+		final byte[] jpeg = new byte[] { (byte) 0xFF, (byte) 0xD8, 1, 2, 3 };
+		final byte[] png = new byte[] { (byte) 0x89, 'P', 'N', 'G' };
+		final byte[] data = box("ilst", box("covr", concat(box("data", concat(new byte[] { 0, 0, 0, 13 },
+				new byte[4], jpeg)), box("data", concat(new byte[] { 0, 0, 0, 14 }, new byte[4], png)))));
+		final File file = this.folder.newFile("cover.m4a");
+		FileUtils.writeByteArrayToFile(file, data);
+
+		// Read from a file the images are only located, otherwise they are copied
+		for (final MP4Reader reader : new MP4Reader[] { new MP4Reader(file),
+				new MP4Reader(new BufferSource(ByteBuffer.wrap(data))) }) {
+			final List<CoverArt> covers = new ArrayList<CoverArt>();
+
+			try {
+				reader.accept(new BoxVisitorAdapter() {
+					@Override
+					public void onCover(final CoverBox box) {
+						covers.addAll(box.getCovers());
+					}
+				});
+			} finally {
+				reader.close();
+			}
+
+			assertThat(covers.size(), equalTo(2));
+			assertThat(covers.get(0).getFile(), equalTo(reader.getFile()));
+			assertThat(covers.get(0).getFormat(), equalTo(CoverArt.Format.JPEG));
+			assertThat(covers.get(0).getOffset(), equalTo(32L));
+			assertThat(covers.get(0).getBytes(), equalTo(jpeg));
+			assertThat(covers.get(1).getFormat(), equalTo(CoverArt.Format.PNG));
+			assertThat(covers.get(1).getLength(), equalTo(png.length));
+			assertThat(covers.get(1).getBuffer(), equalTo(ByteBuffer.wrap(png)));
+		}
+	}
+
+	@Test
+	public void testPushParser() throws IOException {
+		for (final boolean movieFirst : new boolean[] { false, true }) {
+			final byte[] data = FileUtils.readFileToByteArray(writeFile(movieFirst));
+			final List<Box> boxes = new ArrayList<Box>();
+			final MP4PushParser parser = new MP4PushParser(new BoxListener() {
+				@Override
+				public void parsed(final Box box) {
+					boxes.add(box);
+				}
+			}, 4096);
+
+			// Feed in uneven chunks, as received from the network
+			int position = 0;
+			for (int chunk = 1; position < data.length; chunk = (chunk * 7) % 1021 + 1) {
+				final int length = Math.min(chunk, data.length - position);
+				parser.feed(ByteBuffer.wrap(data, position, length));
+				position += length;
+			}
+			parser.finish();
+
+			assertThat(parser.getPosition(), equalTo((long) data.length));
+			assertThat(boxes.size(), equalTo(2));
+			assertThat(boxes.get(0), instanceOf(FtypBox.class));
+			assertThat(boxes.get(1), instanceOf(MoovBox.class));
+			assertThat(boxes.get(1).getStartPosition(), equalTo(movieFirst ? 24L : data.length - 116L));
+			assertThat(parser.getMp4Instance().containerType, equalTo("M4V "));
+			assertThat(parser.getMp4Instance().duration, equalTo(BigInteger.valueOf(60000)));
+		}
+	}
+
+	@Test
+	public void testPushParserEmptyBoxes() throws IOException {
+		final byte[] data = concat(box("ftyp", new byte[] { 'M', '4', 'V', ' ', 0, 0, 2, 0 }),
+				box("moov"), box("udta"), box("free"));
+
+		// Pulled boxes, padding aside
+		final List<String> expected = new ArrayList<String>();
+		final MP4Reader reader = new MP4Reader(new BufferSource(ByteBuffer.wrap(data)));
+		try {
+			Box box;
+			while ((box = reader.nextBox()) != null) {
+				if (box.getBoxType() != BoxType.FREE) {
+					expected.add(box.getBoxName() + "@" + box.getStartPosition());
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		assertThat(expected, equalTo(Arrays.asList("ftyp@0", "moov@16", "udta@24")));
+
+		// Fed whole, and a byte at a time so headers complete at the end of a feed
+		for (final int chunk : new int[] { data.length, 1 }) {
+			final List<String> pushed = new ArrayList<String>();
+			final MP4PushParser parser = new MP4PushParser(new BoxListener() {
+				@Override
+				public void parsed(final Box box) {
+					pushed.add(box.getBoxName() + "@" + box.getStartPosition());
+				}
+			});
+
+			for (int position = 0; position < data.length; position += chunk) {
+				parser.feed(ByteBuffer.wrap(data, position, Math.min(chunk, data.length - position)));
+			}
+			parser.finish();
+
+			assertThat(pushed, equalTo(expected));
+		}
+	}
+
+	@Test
+	public void testBoxTypeFilter() throws IOException {
+		final MP4Reader reader = new MP4Reader(writeFragmentedFile());
+
+		try {
+			reader.setBoxTypeFilter(EnumSet.of(BoxType.TRACK_FRAGMENT_HEADER));
+			assertThat(reader.getBoxTypeFilter(), equalTo((Set<BoxType>) EnumSet.of(BoxType.MOVIE_FRAGMENT,
+					BoxType.TRACK_FRAGMENT, BoxType.TRACK_FRAGMENT_HEADER)));
+
+			final List<Box> boxes = new ArrayList<Box>();
+			final long count = reader.parseFragments(new FragmentListener() {
+				@Override
+				public void movie(final MoovBox movie) {
+					boxes.add(movie);
+				}
+
+				@Override
+				public void fragment(final MoofBox fragment) {
+					boxes.add(fragment);
+				}
+			});
+
+			// Only the fragments and their headers are built
+			assertThat(count, equalTo((long) FRAGMENTS));
+			assertThat(boxes.size(), equalTo(FRAGMENTS));
+			for (final Box box : boxes) {
+				final MoofBox moofBox = (MoofBox) box;
+				assertThat(moofBox.getSequenceNumber(), equalTo(0L));
+
+				final TrafBox trafBox = moofBox.getTrackFragments().get(0);
+				assertThat(trafBox.getTrackId(), equalTo(1L));
+				assertThat(trafBox.getDecodeTime(), nullValue());
+				assertThat(trafBox.getTrackRuns().isEmpty(), equalTo(true));
+			}
+
+			// Without a filter every box is built again
+			reader.setBoxTypeFilter(null);
+			reader.reset();
+			assertThat(reader.getBoxTypeFilter(), nullValue());
+			assertThat(reader.parseFragments(new FragmentListener() {
+				@Override
+				public void movie(final MoovBox movie) {
+					assertThat(movie.getMovieExtends(), notNullValue());
+				}
+
+				@Override
+				public void fragment(final MoofBox fragment) {
+					assertThat(fragment.getTrackFragments().get(0).getTrackRuns().size(), equalTo(1));
+				}
+			}), equalTo((long) FRAGMENTS));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testParseStatistics() throws IOException {
+		final MP4Generator generator = new MP4Generator();
+		generator.setTracks(2);
+		generator.setMovieFirst(false);
+		final File file = this.folder.newFile();
+		generator.write(file);
+
+		for (final SourceType sourceType : SourceType.values()) {
+			final MP4Reader reader = new MP4Reader(file, sourceType);
+			final ParseStatistics statistics = new ParseStatistics();
+
+			try {
+				reader.setParseStatistics(statistics);
+				reader.parseMetaData();
+				reader.parse();
+			} finally {
+				reader.close();
+			}
+
+			// Media data is only ever skipped, every byte is counted once per parse
+			assertThat(statistics.getParses(), equalTo(2L));
+			assertThat(statistics.getBytesSkipped(), greaterThanOrEqualTo(2 * generator.getMediaDataSize()));
+			assertThat(statistics.getBytesDecoded() + statistics.getBytesSkipped(),
+					equalTo(2 * file.length()));
+			assertThat(statistics.getBytesDecoded(), lessThan(file.length()));
+			assertThat(statistics.getIoCalls(), greaterThan(0L));
+			assertThat(statistics.getPeakAllocatedBytes(), lessThanOrEqualTo(statistics.getAllocatedBytes()));
+
+			assertThat(statistics.getCount(BoxType.MOVIE_HEADER), equalTo(2L));
+			assertThat(statistics.getCount(BoxType.TRACK), equalTo(4L));
+			assertThat(statistics.getCount(BoxType.MEDIA_DATA), equalTo(1L));
+			assertThat(statistics.getCount(null), equalTo(0L));
+			assertThat(statistics.getNanos(BoxType.MOVIE_HEADER),
+					greaterThanOrEqualTo(statistics.getNanos(BoxType.TRACK)));
+			assertThat(statistics.getBoxTypes().contains(BoxType.SAMPLE_FRAME_BLOCK_SIZE), equalTo(true));
+		}
+	}
+
+	@Test
+	public void testParseStatisticsFailure() throws IOException {
+		final File file = writeFile(true);
+		final MP4Reader reader = new MP4Reader(file);
+		final ParseStatistics statistics = new ParseStatistics();
+
+		try {
+			reader.setParseStatistics(statistics);
+			try {
+				reader.accept(new BoxVisitorAdapter() {
+					@Override
+					public Action onBoxStart(final int fourcc, final long offset, final long size) {
+						throw new IllegalStateException("Visitor failed!");
+					}
+				});
+				fail("Visitor failure ignored!");
+			} catch (final IllegalStateException ise) {
+				assertThat(ise.getMessage(), equalTo("Visitor failed!"));
+			}
+
+			// The failed parse is finished, so the next one starts afresh
+			assertThat(statistics.getParses(), equalTo(1L));
+			assertThat(statistics.getIoCalls(), greaterThan(0L));
+
+			reader.parse();
+		} finally {
+			reader.close();
+		}
+
+		assertThat(statistics.getParses(), equalTo(2L));
+		assertThat(statistics.getBytesDecoded() + statistics.getBytesSkipped(),
+				greaterThanOrEqualTo(file.length()));
+	}
+
+	@Test
+	public void testParseStatisticsBackwardSeek() throws IOException {
+		final MP4Reader reader = new MP4Reader(new BufferSource(ByteBuffer.allocate(64)));
+		final ParseStatistics statistics = new ParseStatistics();
+
+		try {
+			reader.setParseStatistics(statistics);
+			statistics.start(reader);
+
+			// Bytes 8 to 16 are read twice, 0 to 24 are skipped over again
+			reader.readBytes(16);
+			reader.seek(8);
+			reader.readBytes(16);
+			reader.skip(8);
+			reader.seek(0);
+			reader.skip(40);
+			reader.readBytes(4);
+
+			statistics.finish(reader);
+		} finally {
+			reader.close();
+		}
+
+		assertThat(statistics.getBytesDecoded(), equalTo(28L));
+		assertThat(statistics.getBytesSkipped(), equalTo(16L));
+	}
+
+	@Test
+	public void testFlightRecorderEvents() throws IOException {
+		final MP4Generator generator = new MP4Generator();
+		generator.setMovieFirst(false);
+		final File file = this.folder.newFile();
+		generator.write(file);
+		final File dump = this.folder.newFile();
+
+		assertThat(MP4Reader.isFlightRecorderAvailable(), equalTo(true));
+
+		final Recording recording = new Recording();
+		try {
+			recording.enable("uk.co.anthonycampbell.mp4reader.Parse");
+			recording.enable("uk.co.anthonycampbell.mp4reader.Box");
+			recording.enable("uk.co.anthonycampbell.mp4reader.Skip");
+			assertThat(BoxEvent.isRecording(), equalTo(false));
+			recording.start();
+			assertThat(BoxEvent.isRecording(), equalTo(true));
+
+			final MP4Reader reader = new MP4Reader(file);
+			try {
+				reader.parse();
+				reader.accept(new BoxVisitorAdapter());
+			} finally {
+				reader.close();
+			}
+
+			recording.stop();
+			recording.dump(dump.toPath());
+		} finally {
+			recording.close();
+		}
+
+		final List<String> methods = new ArrayList<String>();
+		boolean movie = false;
+		long skipped = 0;
+		for (final RecordedEvent event : RecordingFile.readAllEvents(dump.toPath())) {
+			final String name = event.getEventType().getName();
+			assertThat(event.getString("path"), equalTo(file.getPath()));
+
+			if (name.endsWith(".Parse")) {
+				assertThat(event.getLong("size"), equalTo(file.length()));
+				methods.add(event.getString("method"));
+			} else if (name.endsWith(".Box") && "moov".equals(event.getString("fourcc"))) {
+				assertThat(event.getLong("offset") + event.getLong("size"), lessThanOrEqualTo(file.length()));
+				movie = true;
+			} else if (name.endsWith(".Skip")) {
+				skipped = Math.max(skipped, event.getLong("size"));
+			}
+		}
+
+		assertThat(methods, equalTo(Arrays.asList("parse", "accept")));
+		assertThat(movie, equalTo(true));
+		assertThat(skipped, greaterThanOrEqualTo(generator.getMediaDataSize()));
+	}
+
+	@Test
+	public void testFlightRecorderFailedParse() throws IOException {
+		final File file = this.folder.newFile();
+		new MP4Generator().write(file);
+		final File dump = this.folder.newFile();
+
+		final Recording recording = new Recording();
+		try {
+			recording.enable("uk.co.anthonycampbell.mp4reader.Parse");
+			recording.enable("uk.co.anthonycampbell.mp4reader.Box");
+			recording.start();
+
+			// The source fails part way through the movie box
+			final MP4Reader reader = new MP4Reader(
+					new BufferSource(ByteBuffer.wrap(FileUtils.readFileToByteArray(file))) {
+						@Override
+						public int readInt() throws IOException {
+							if (position() > 200) {
+								throw new IOException("Read failed!");
+							}
+							return super.readInt();
+						}
+					});
+			try {
+				reader.parse();
+				fail("Read failure ignored!");
+			} catch (final IOException ioe) {
+				assertThat(ioe.getMessage(), equalTo("Read failed!"));
+			} finally {
+				reader.close();
+			}
+
+			recording.stop();
+			recording.dump(dump.toPath());
+		} finally {
+			recording.close();
+		}
+
+		final List<String> events = new ArrayList<String>();
+		for (final RecordedEvent event : RecordingFile.readAllEvents(dump.toPath())) {
+			final String name = event.getEventType().getName();
+
+			if (name.endsWith(".Parse")) {
+				events.add(event.getString("method"));
+			} else if (name.endsWith(".Box")) {
+				events.add(event.getString("fourcc"));
+			}
+		}
+
+		assertThat(events, hasItem("parse"));
+		assertThat(events, hasItem("moov"));
+	}
+
+	@Test
+	public void testParseFragments() throws IOException {
+		final File file = writeFragmentedFile();
+
+		for (final SourceType sourceType : SourceType.values()) {
+			final MP4Reader reader = new MP4Reader(file, sourceType);
+
+			try {
+				final byte[] data = FileUtils.readFileToByteArray(file);
+				final List<MoofBox> fragments = new ArrayList<MoofBox>();
+				final MvexBox[] movieExtends = new MvexBox[1];
+
+				final long count = reader.parseFragments(new FragmentListener() {
+					@Override
+					public void movie(final MoovBox movie) {
+						movieExtends[0] = movie.getMovieExtends();
+					}
+
+					@Override
+					public void fragment(final MoofBox fragment) {
+						fragments.add(fragment);
+					}
+				});
+
+				assertThat(count, equalTo((long) FRAGMENTS));
+				assertThat(movieExtends[0], notNullValue());
+				final TrexBox trexBox = movieExtends[0].getTrackExtends(1);
+
+				for (int i = 0; i < FRAGMENTS; ++i) {
+					final MoofBox moofBox = fragments.get(i);
+					assertThat(moofBox.getSequenceNumber(), equalTo(i + 1L));
+
+					final TrafBox trafBox = moofBox.getTrackFragments().get(0);
+					final TrunBox trunBox = trafBox.getTrackRuns().get(0);
+					assertThat(trafBox.getBaseMediaDecodeTime(), equalTo(i * SAMPLES_PER_FRAGMENT * 1000L));
+					assertThat(trunBox.getSampleCount(), equalTo((long) SAMPLES_PER_FRAGMENT));
+
+					// Every byte of a sample holds its number
+					long offset = moofBox.getDataOffset(trafBox, trunBox);
+					for (int sample = 0; sample < SAMPLES_PER_FRAGMENT; ++sample) {
+						final long size = trafBox.getSampleSize(trunBox, sample, trexBox);
+						assertThat(size, equalTo((long) (sample + 1) * 10));
+						assertThat(trafBox.getSampleDuration(trunBox, sample, trexBox), equalTo(1000L));
+						assertThat(data[(int) offset], equalTo((byte) ((i * SAMPLES_PER_FRAGMENT) + sample)));
+						assertThat(data[(int) (offset + size - 1)],
+								equalTo((byte) ((i * SAMPLES_PER_FRAGMENT) + sample)));
+						offset += size;
+					}
+				}
+
+				// Random access to the fragment of the fourth second
+				reader.reset();
+				final MfraBox mfraBox = reader.readFragmentRandomAccess();
+				assertThat(reader.bytesRead(), equalTo(0L));
+				assertThat(mfraBox, notNullValue());
+				assertThat(mfraBox.findFragment(1, 4500), equalTo(fragments.get(1).getStartPosition()));
+				assertThat(mfraBox.findFragment(2, 4500), equalTo(-1L));
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Helper method to write a minimal MP4 file: ftyp, moov (mvhd) and mdat.
+	 *
+	 * @param movieFirst - whether the moov box is written before the mdat box.
+	 * @return the written file.
+	 * @throws IOException - Unable to write the file.
+	 */
+	private File writeFile(final boolean movieFirst) throws IOException {
+		final File file = this.folder.newFile();
+		final DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+
+		try {
+			// File type
+			output.write(box("ftyp", new byte[] { 'M', '4', 'V', ' ', 0, 0, 2, 0,
+					'i', 's', 'o', 'm', 'M', '4', 'V', ' ' }));
+
+			// Movie header, version 0
+			final ByteArrayOutputStream mvhd = new ByteArrayOutputStream();
+			final DataOutputStream mvhdOutput = new DataOutputStream(mvhd);
+			mvhdOutput.writeInt(0);
+			mvhdOutput.writeInt(0);
+			mvhdOutput.writeInt(0);
+			mvhdOutput.writeInt(600);
+			mvhdOutput.writeInt(60000);
+			mvhdOutput.writeInt(0x00010000);
+			mvhdOutput.writeShort(0x0100);
+			mvhdOutput.write(new byte[10 + 36 + 24]);
+			mvhdOutput.writeInt(2);
+			final byte[] moov = box("moov", box("mvhd", mvhd.toByteArray()));
+
+			if (movieFirst) {
+				output.write(moov);
+			}
+
+			output.write(box("free", new byte[64]));
+			output.write(box("mdat", new byte[MEDIA_DATA_SIZE]));
+
+			if (!movieFirst) {
+				output.write(moov);
+			}
+		} finally {
+			output.close();
+		}
+
+		return file;
+	}
+
+	/**
+	 * Helper method to write a minimal fragmented MP4 file: ftyp, moov (mvhd, mvex),
+	 * a moof and mdat pair per fragment, and mfra.
+	 * 
+	 * @return the written file.
+	 * @throws IOException - Unable to write the file.
+	 */
+	private File writeFragmentedFile() throws IOException {
+		final ByteArrayOutputStream file = new ByteArrayOutputStream();
+		file.write(box("ftyp", new byte[] { 'i', 's', 'o', '6', 0, 0, 2, 0 }));
+
+		// Movie header and track extends, default duration 1000
+		final ByteArrayOutputStream mvhd = new ByteArrayOutputStream();
+		final DataOutputStream mvhdOutput = new DataOutputStream(mvhd);
+		mvhdOutput.write(new byte[12]);
+		mvhdOutput.writeInt(1000);
+		mvhdOutput.writeInt(0);
+		mvhdOutput.write(new byte[80]);
+		final ByteArrayOutputStream trex = new ByteArrayOutputStream();
+		final DataOutputStream trexOutput = new DataOutputStream(trex);
+		trexOutput.writeInt(0);
+		trexOutput.writeInt(1);
+		trexOutput.writeInt(1);
+		trexOutput.writeInt(1000);
+		trexOutput.writeInt(0);
+		trexOutput.writeInt(0);
+		file.write(box("moov", concat(box("mvhd", mvhd.toByteArray()),
+				box("mvex", box("trex", trex.toByteArray())))));
+
+		final ByteArrayOutputStream tfra = new ByteArrayOutputStream();
+		final DataOutputStream tfraOutput = new DataOutputStream(tfra);
+		tfraOutput.writeInt(0);
+		tfraOutput.writeInt(1);
+		tfraOutput.writeInt(0);
+		tfraOutput.writeInt(FRAGMENTS);
+
+		for (int i = 0; i < FRAGMENTS; ++i) {
+			final ByteArrayOutputStream mdat = new ByteArrayOutputStream();
+			final ByteArrayOutputStream trun = new ByteArrayOutputStream();
+			final DataOutputStream trunOutput = new DataOutputStream(trun);
+			trunOutput.writeInt(0x000201);
+			trunOutput.writeInt(SAMPLES_PER_FRAGMENT);
+			trunOutput.writeInt(0);
+			for (int sample = 0; sample < SAMPLES_PER_FRAGMENT; ++sample) {
+				final byte[] payload = new byte[(sample + 1) * 10];
+				Arrays.fill(payload, (byte) ((i * SAMPLES_PER_FRAGMENT) + sample));
+				mdat.write(payload);
+				trunOutput.writeInt(payload.length);
+			}
+
+			final ByteArrayOutputStream tfdt = new ByteArrayOutputStream();
+			final DataOutputStream tfdtOutput = new DataOutputStream(tfdt);
+			tfdtOutput.writeInt(0x01000000);
+			tfdtOutput.writeLong(i * SAMPLES_PER_FRAGMENT * 1000L);
+
+			// Data offset from the start of the moof, past the mdat header
+			byte[] moof = null;
+			for (int pass = 0; pass < 2; ++pass) {
+				final byte[] trunBytes = trun.toByteArray();
+				final int dataOffset = (moof != null) ? moof.length + 8 : 0;
+				trunBytes[8] = (byte) (dataOffset >> 24);
+				trunBytes[9] = (byte) (dataOffset >> 16);
+				trunBytes[10] = (byte) (dataOffset >> 8);
+				trunBytes[11] = (byte) dataOffset;
+				moof = box("moof", concat(box("mfhd", new byte[] { 0, 0, 0, 0, 0, 0, 0, (byte) (i + 1) }),
+						box("traf", concat(box("tfhd", new byte[] { 0, 2, 0, 0, 0, 0, 0, 1 }),
+								box("tfdt", tfdt.toByteArray()), box("trun", trunBytes)))));
+			}
+
+			tfraOutput.writeInt(i * SAMPLES_PER_FRAGMENT * 1000);
+			tfraOutput.writeInt(file.size());
+			tfraOutput.write(new byte[] { 1, 1, 1 });
+
+			file.write(moof);
+			file.write(box("mdat", mdat.toByteArray()));
+		}
+
+		final byte[] mfro = box("mfro", new byte[8]);
+		final byte[] mfra = box("mfra", concat(box("tfra", tfra.toByteArray()), mfro));
+		mfra[mfra.length - 1] = (byte) mfra.length;
+		file.write(mfra);
+
+		final File fragmentedFile = this.folder.newFile();
+		FileUtils.writeByteArrayToFile(fragmentedFile, file.toByteArray());
+
+		return fragmentedFile;
+	}
+}
@@ -0,0 +1,151 @@
+package uk.co.anthonycampbell.java.mp4reader.reader;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.anthonycampbell.java.mp4reader.box.common.Box;
+import uk.co.anthonycampbell.java.mp4reader.box.free.FreeBox;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.SourceType;
+
+/**
+ * Allocation guard for reading box headers with {@link MP4Reader#nextBox()}. Fails if
+ * the header path allocates anything beyond the box instance itself, measured by
+ * building the same free boxes directly. The measurement proper is
+ * NextBoxBenchmark#nextFreeBox of the benchmarks, run with the GC profiler.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class NextBoxAllocationTest {
+
+	// Log
+	private static final Logger log = LoggerFactory.getLogger(NextBoxAllocationTest.class.getName());
+
+	// Benchmark properties
+	private static final int BOXES = 20000;
+	private static final int ROUNDS = 10;
+
+	// Keeps the boxes reachable so they are not optimised away
+	private static volatile Box sink;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testAllocationPerBox() throws IOException {
+		final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+
+		final com.sun.management.ThreadMXBean allocationBean =
+				(com.sun.management.ThreadMXBean) threadBean;
+		assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+		allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+		final MP4Reader reader = new MP4Reader(writeFile(), SourceType.MAPPED);
+
+		try {
+			final long baselineBytesPerBox = bytesPerBox(allocationBean, reader, true);
+			final long bytesPerBox = bytesPerBox(allocationBean, reader, false);
+
+			log.info("nextBox() allocated " + bytesPerBox + " bytes per box, a free box " +
+					baselineBytesPerBox + " bytes");
+			assertThat(bytesPerBox, lessThanOrEqualTo(baselineBytesPerBox));
+
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Helper method to measure the bytes allocated per box, keeping the best round so
+	 * warm up and one-off allocations are ignored.
+	 *
+	 * @param allocationBean - the thread management bean counting allocations.
+	 * @param reader - the reader of the free boxes.
+	 * @param baseline - whether to skip the headers and build the free boxes directly.
+	 * @return the bytes allocated per box.
+	 * @throws IOException - Unable to read the boxes.
+	 */
+	private static long bytesPerBox(final com.sun.management.ThreadMXBean allocationBean,
+			final MP4Reader reader, final boolean baseline) throws IOException {
+		final long threadId = Thread.currentThread().getId();
+		long bytesPerBox = Long.MAX_VALUE;
+
+		for (int round = 0; round < ROUNDS; ++round) {
+			reader.reset();
+
+			final long start = allocationBean.getThreadAllocatedBytes(threadId);
+			int boxes = 0;
+			if (baseline) {
+				for (; boxes < BOXES; ++boxes) {
+					reader.skip(8);
+					sink = new FreeBox(reader, 8, BoxType.FREE.getName(), BoxType.FREE);
+				}
+			} else {
+				Box box;
+				while ((box = reader.nextBox()) != null && box.getTotalSize() > 0) {
+					sink = box;
+					boxes++;
+				}
+			}
+			final long allocated = allocationBean.getThreadAllocatedBytes(threadId) - start;
+
+			assertThat(boxes, equalTo(BOXES));
+			bytesPerBox = Math.min(bytesPerBox, allocated / boxes);
+		}
+
+		return bytesPerBox;
+	}
+
+	/**
+	 * Helper method to write a file of small free boxes.
+	 *
+	 * @return the written file.
+	 * @throws IOException - Unable to write the file.
+	 */
+	private File writeFile() throws IOException {
+		final File file = this.folder.newFile();
+		final DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+
+		try {
+			for (int i = 0; i < BOXES; ++i) {
+				output.writeInt(16);
+				output.writeBytes("free");
+				output.writeLong(i);
+			}
+		} finally {
+			output.close();
+		}
+
+		return file;
+	}
+}
@@ -0,0 +1,161 @@
+package uk.co.anthonycampbell.java.mp4reader.reader.source;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Small test suite to make sure every MP4 source reads the same values.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class MP4SourceTest {
+
+	// Number of records written to the test file
+	private static final int RECORDS = 100;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	// Test data
+	private File file;
+
+	/**
+	 * Prepare test file of big-endian primitives.
+	 *
+	 * @throws Exception - Unable to prepare test file.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.file = this.folder.newFile("source.bin");
+
+		final DataOutputStream output = new DataOutputStream(new FileOutputStream(this.file));
+		try {
+			for (int i = 0; i < RECORDS; ++i) {
+				output.writeByte(i);
+				output.writeShort(-i);
+				output.writeInt(i * 100000);
+				output.writeLong(i * 10000000000L);
+				output.write(new byte[] { 'f', 'r', 'e', 'e' });
+			}
+		} finally {
+			output.close();
+		}
+	}
+
+	@Test
+	public void testStreamSource() throws IOException {
+		assertSource(new StreamSource(this.file));
+	}
+
+	@Test
+	public void testMappedSource() throws IOException {
+		assertSource(new MappedSource(this.file));
+	}
+
+	@Test
+	public void testMappedSourceRemapsAcrossWindows() throws IOException {
+		// Window smaller than a record so most values straddle a window boundary
+		assertSource(new MappedSource(this.file, 9));
+	}
+
+	@Test
+	public void testStreamSourceRefillsAcrossBuffers() throws IOException {
+		// Buffer smaller than a record so most values straddle a refill
+		assertSource(new StreamSource(this.file, 9));
+	}
+
+	@Test
+	public void testStreamSourceSkip() throws IOException {
+		assertSkip(new StreamSource(this.file, 16));
+	}
+
+	@Test
+	public void testMappedSourceSkip() throws IOException {
+		assertSkip(new MappedSource(this.file, 16));
+	}
+
+	/**
+	 * Helper method to validate skipping and seeking with the provided source.
+	 *
+	 * @param source - the source to validate.
+	 * @throws IOException - Unable to read from the source.
+	 */
+	private static void assertSkip(final MP4Source source) throws IOException {
+		try {
+			source.skip(19 * 50);
+			assertThat(source.position(), equalTo(19L * 50));
+			assertThat(source.readByte(), equalTo((byte) 50));
+
+			// Skip within the current buffer
+			source.skip(2);
+			assertThat(source.readInt(), equalTo(5000000));
+
+			source.position(19 * 3 + 3);
+			assertThat(source.readInt(), equalTo(300000));
+
+			source.skip(Long.MAX_VALUE / 2);
+			assertThat(source.position(), equalTo(source.size()));
+			assertThat(source.read(new byte[4], 0, 4), equalTo(-1));
+
+		} finally {
+			source.close();
+		}
+	}
+
+	/**
+	 * Helper method to read back the test file with the provided source.
+	 *
+	 * @param source - the source to validate.
+	 * @throws IOException - Unable to read from the source.
+	 */
+	private static void assertSource(final MP4Source source) throws IOException {
+		try {
+			assertThat(source.size(), equalTo(19L * RECORDS));
+
+			for (int i = 0; i < RECORDS; ++i) {
+				assertThat(source.readByte(), equalTo((byte) i));
+				assertThat(source.readShort(), equalTo((short) -i));
+				assertThat(source.readInt(), equalTo(i * 100000));
+				assertThat(source.readLong(), equalTo(i * 10000000000L));
+
+				final byte[] bytes = new byte[4];
+				assertThat(source.read(bytes, 0, 4), equalTo(4));
+				assertThat(new String(bytes, "US-ASCII"), equalTo("free"));
+				assertThat(source.position(), equalTo(19L * (i + 1)));
+			}
+
+			// Rewind
+			source.position(19);
+			assertThat(source.readByte(), equalTo((byte) 1));
+
+		} finally {
+			source.close();
+		}
+	}
+}
@@ -0,0 +1,284 @@
+package uk.co.anthonycampbell.java.mp4reader.scanner;
+
+/**
+ * Copyright 2011 Anthony Campbell (anthonycampbell.co.uk)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.co.anthonycampbell.java.mp4reader.reader.MP4;
+import uk.co.anthonycampbell.java.mp4reader.reader.source.SourceType;
+
+/**
+ * Small test suite to test the library scanner against a directory tree.
+ *
+ * @author Anthony Campbell - anthonycampbell.co.uk
+ */
+public class LibraryScannerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testScan() throws IOException, InterruptedException {
+		final File root = this.folder.getRoot();
+		final File nested = this.folder.newFolder("a", "b");
+		final Set<File> expected = new HashSet<File>();
+
+		for (int i = 0; i < 20; ++i) {
+			expected.add(writeFile(new File((i % 2 == 0) ? root : nested, i + ".m4v")));
+		}
+		writeFile(new File(nested, "ignored.txt"));
+
+		final Set<File> parsed = Collections.synchronizedSet(new HashSet<File>());
+		final Set<File> failed = Collections.synchronizedSet(new HashSet<File>());
+
+		final long found = new LibraryScanner(3, 5000, SourceType.MAPPED).scan(root,
+				new ScanListener() {
+					@Override
+					public void parsed(final File file, final MP4 mp4) {
+						parsed.add(file);
+					}
+
+					@Override
+					public void failed(final File file, final Throwable cause) {
+						failed.add(file);
+					}
+				});
+
+		assertThat(found, equalTo(20L));
+		assertThat(failed.isEmpty(), is(true));
+		assertThat(parsed, equalTo(expected));
+	}
+
+	@Test
+	public void testTimeout() throws IOException, InterruptedException {
+		final File root = this.folder.getRoot();
+		final File slow = writeSlowFile(new File(root, "slow.m4v"));
+
+		final Set<File> parsed = Collections.synchronizedSet(new HashSet<File>());
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		final long found = new LibraryScanner(1, 1, SourceType.STREAM).scan(root,
+				new ScanListener() {
+					@Override
+					public void parsed(final File file, final MP4 mp4) {
+						parsed.add(file);
+					}
+
+					@Override
+					public void failed(final File file, final Throwable cause) {
+						assertThat(file, equalTo(slow));
+						failure.set(cause);
+					}
+				});
+
+		assertThat(found, equalTo(1L));
+		assertThat(parsed.isEmpty(), is(true));
+		assertThat(failure.get(), instanceOf(TimeoutException.class));
+	}
+
+	@Test
+	public void testBackPressure() throws IOException, InterruptedException {
+		final int parallelism = 2;
+		final File root = this.folder.getRoot();
+
+		for (int i = 0; i < 20; ++i) {
+			writeFile(new File(root, i + ".m4v"));
+		}
+
+		// Count the files submitted to the workers
+		final AtomicInteger submitted = new AtomicInteger();
+		final LibraryScanner scanner = new LibraryScanner(parallelism, 5000, SourceType.STREAM) {
+			@Override
+			ExecutorService newWorkers() {
+				return new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+						new LinkedBlockingQueue<Runnable>()) {
+					@Override
+					public void execute(final Runnable command) {
+						submitted.incrementAndGet();
+						super.execute(command);
+					}
+				};
+			}
+		};
+
+		// Hold the workers in the listener, so no file completes until released
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicLong parsed = new AtomicLong();
+		final AtomicLong found = new AtomicLong();
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+
+		final Thread walker = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					found.set(scanner.scan(root, new ScanListener() {
+						@Override
+						public void parsed(final File file, final MP4 mp4) {
+							parsed.incrementAndGet();
+							await(release);
+						}
+
+						@Override
+						public void failed(final File file, final Throwable cause) {
+							error.set(cause);
+						}
+					}));
+				} catch (final Throwable t) {
+					error.set(t);
+				}
+			}
+		});
+		walker.start();
+
+		// Once every worker is held the walk blocks waiting for a free slot
+		while (walker.getState() != Thread.State.WAITING || parsed.get() < parallelism) {
+			Thread.sleep(10);
+		}
+		assertThat(submitted.get(), equalTo(2 * parallelism));
+
+		release.countDown();
+		walker.join();
+
+		assertThat(error.get(), nullValue());
+		assertThat(found.get(), equalTo(20L));
+		assertThat(parsed.get(), equalTo(20L));
+		assertThat(submitted.get(), equalTo(20));
+	}
+
+	@Test
+	public void testListenerFailure() throws IOException, InterruptedException {
+		final File file = writeFile(new File(this.folder.getRoot(), "0.m4v"));
+		final AtomicInteger parsed = new AtomicInteger();
+		final AtomicInteger failed = new AtomicInteger();
+
+		new LibraryScanner(1, 5000, SourceType.STREAM).scan(this.folder.getRoot(), new ScanListener() {
+			@Override
+			public void parsed(final File parsedFile, final MP4 mp4) {
+				assertThat(parsedFile, equalTo(file));
+				parsed.incrementAndGet();
+				throw new IllegalStateException("Listener failure");
+			}
+
+			@Override
+			public void failed(final File failedFile, final Throwable cause) {
+				failed.incrementAndGet();
+			}
+		});
+
+		// Reported once, the listener failure is only logged
+		assertThat(parsed.get(), equalTo(1));
+		assertThat(failed.get(), equalTo(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidParallelism() {
+		new LibraryScanner(0, 5000, SourceType.STREAM);
+	}
+
+	/**
+	 * Helper method to wait for the provided latch, ignoring interrupts.
+	 *
+	 * @param latch - the latch to wait for.
+	 */
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (final InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Helper method to write a file type box and a movie box holding enough free boxes
+	 * that parsing it takes far longer than a millisecond.
+	 *
+	 * @param file - the file to write.
+	 * @return the written file.
+	 * @throws IOException - Unable to write the file.
+	 */
+	private static File writeSlowFile(final File file) throws IOException {
+		final int boxes = 500000;
+		final DataOutputStream output =
+				new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+		try {
+			output.writeInt(16);
+			output.writeBytes("ftypM4V ");
+			output.writeInt(0x200);
+			output.writeInt(8 + boxes * 16);
+			output.writeBytes("moov");
+			for (int i = 0; i < boxes; ++i) {
+				output.writeInt(16);
+				output.writeBytes("free");
+				output.writeLong(i);
+			}
+		} finally {
+			output.close();
+		}
+
+		return file;
+	}
+
+	/**
+	 * Helper method to write a file type box, an empty movie box and a free box.
+	 *
+	 * @param file - the file to write.
+	 * @return the written file.
+	 * @throws IOException - Unable to write the file.
+	 */
+	private static File writeFile(final File file) throws IOException {
+		final DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+
+		try {
+			output.writeInt(16);
+			output.writeBytes("ftypM4V ");
+			output.writeInt(0x200);
+			output.writeInt(8);
+			output.writeBytes("moov");
+			output.writeInt(16);
+			output.writeBytes("free");
+			output.writeLong(0);
+		} finally {
+			output.close();
+		}
+
+		return file;
+	}
+}
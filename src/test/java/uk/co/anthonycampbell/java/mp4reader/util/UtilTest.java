@@ -21,6 +21,8 @@ import static org.hamcrest.Matchers.*;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
+import java.math.BigInteger;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -72,4 +74,49 @@ public class UtilTest {
 		assertThat(result.isEmpty(), not(equalTo(true)));
 		assertThat(result.keySet().size(), equalTo(4));
 	}
+
+	@Test
+	public void testToInstant() {
+		assertThat(Util.toInstant(0), equalTo(Instant.parse("1904-01-01T00:00:00Z")));
+		assertThat(Util.toInstant(Util.MP4_EPOCH_OFFSET), equalTo(Instant.EPOCH));
+		assertThat(Util.generateDate(BigInteger.valueOf(Util.MP4_EPOCH_OFFSET + 1)).getTime(), equalTo(1000L));
+	}
+
+	@Test
+	public void testParseDate() {
+		assertThat(Util.parseDate("2010-06-18T07:00:00Z"), equalTo(Instant.parse("2010-06-18T07:00:00Z")));
+		assertThat(Util.parseDate("2010-06-18T07:00:00+01:00"), equalTo(Instant.parse("2010-06-18T06:00:00Z")));
+		assertThat(Util.parseDate("2010-06-18T07:00:00"), equalTo(Instant.parse("2010-06-18T07:00:00Z")));
+		assertThat(Util.parseDate("2010-06-18"), equalTo(Instant.parse("2010-06-18T00:00:00Z")));
+		assertThat(Util.parseDate("2010"), equalTo(Instant.parse("2010-01-01T00:00:00Z")));
+		assertThat(Util.parseDate("June 2010"), nullValue());
+	}
+
+	@Test
+	public void testPrintFields() {
+		assertThat(Util.printFields(new Described()), equalTo("name=test size=3 "));
+		assertThat(Describer.forClass(Described.class), sameInstance(Describer.forClass(Described.class)));
+	}
+
+	/**
+	 * Class with described properties, plus a field without a getter and an overloaded
+	 * getter.
+	 */
+	public static class Described {
+		private final String name = "test";
+		private final int size = 3;
+		private final int hidden = 4;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getSize() {
+			return this.size;
+		}
+
+		public int getSize(final int scale) {
+			return this.size * scale + this.hidden;
+		}
+	}
 }